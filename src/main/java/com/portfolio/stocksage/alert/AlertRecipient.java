@@ -0,0 +1,13 @@
+package com.portfolio.stocksage.alert;
+
+import lombok.Value;
+
+/**
+ * One role held by a user who receives stock alerts
+ */
+@Value
+public class AlertRecipient {
+    Long userId;
+    String email;
+    String roleName;
+}
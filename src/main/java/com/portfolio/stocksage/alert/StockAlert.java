@@ -0,0 +1,43 @@
+package com.portfolio.stocksage.alert;
+
+import lombok.Value;
+
+/**
+ * A stock condition detected for one product, before deduplication and digesting
+ */
+@Value
+public class StockAlert {
+
+    Long productId;
+    String productName;
+    StockAlertType type;
+    int currentStock;
+    int threshold;
+
+    public static StockAlert lowStock(Long productId, String productName, int currentStock, int threshold) {
+        return new StockAlert(productId, productName, StockAlertType.LOW_STOCK, currentStock, threshold);
+    }
+
+    public static StockAlert outOfStock(Long productId, String productName) {
+        return new StockAlert(productId, productName, StockAlertType.OUT_OF_STOCK, 0, 0);
+    }
+
+    /**
+     * Alerts with the same key within the deduplication window are delivered once
+     */
+    String dedupKey() {
+        return dedupKey(productId, type);
+    }
+
+    static String dedupKey(Long productId, StockAlertType type) {
+        return productId + ":" + type;
+    }
+
+    String describe() {
+        if (type == StockAlertType.OUT_OF_STOCK) {
+            return String.format("'%s' (ID: %d) is out of stock", productName, productId);
+        }
+        return String.format("'%s' (ID: %d) is low on stock: %d left (threshold: %d)",
+                productName, productId, currentStock, threshold);
+    }
+}
@@ -0,0 +1,270 @@
+package com.portfolio.stocksage.alert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.stocksage.repository.NotificationRepository;
+import com.portfolio.stocksage.repository.UserRepository;
+import com.portfolio.stocksage.util.EmailUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivery stage for stock alerts, shared by every check that detects low or out-of-stock products.
+ * <p>
+ * Alerts are deduplicated by product and alert type within a window, so overlapping checks report each
+ * condition once. Accepted alerts are queued and periodically combined into one digest per recipient,
+ * sent on the notification executor as a single in-app notification insert and one batched email
+ * dispatch per distinct digest. A token bucket per recipient caps how many digests one user gets.
+ */
+@Component
+@Slf4j
+public class StockAlertPipeline {
+
+    private static final String NOTIFICATION_TYPE = "INVENTORY_ALERT";
+    // Notification messages are stored in a 1000 character column
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final EmailUtils emailUtils;
+    private final Executor notificationExecutor;
+    private final boolean emailEnabled;
+    private final int bucketCapacity;
+    private final int bucketRefillPerHour;
+
+    private final Cache<String, Boolean> recentAlerts;
+    private final Queue<StockAlert> pending = new ConcurrentLinkedQueue<>();
+    private final Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Counter queued;
+    private final Counter duplicates;
+    private final Counter rateLimited;
+    private final Counter delivered;
+    private final Counter digests;
+
+    public StockAlertPipeline(UserRepository userRepository,
+                              NotificationRepository notificationRepository,
+                              EmailUtils emailUtils,
+                              @Qualifier("notificationExecutor") Executor notificationExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.email.enabled:false}") boolean emailEnabled,
+                              @Value("${app.alerts.dedup-window-minutes:240}") int dedupWindowMinutes,
+                              @Value("${app.alerts.rate-limit.capacity:10}") int bucketCapacity,
+                              @Value("${app.alerts.rate-limit.refill-per-hour:10}") int bucketRefillPerHour) {
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.emailUtils = emailUtils;
+        this.notificationExecutor = notificationExecutor;
+        this.emailEnabled = emailEnabled;
+        this.bucketCapacity = bucketCapacity;
+        this.bucketRefillPerHour = bucketRefillPerHour;
+
+        this.recentAlerts = Caffeine.newBuilder()
+                .expireAfterWrite(dedupWindowMinutes, TimeUnit.MINUTES)
+                .build();
+
+        this.queued = meterRegistry.counter("stock.alerts.queued");
+        this.duplicates = meterRegistry.counter("stock.alerts.suppressed", "reason", "duplicate");
+        this.rateLimited = meterRegistry.counter("stock.alerts.suppressed", "reason", "rate_limited");
+        this.delivered = meterRegistry.counter("stock.alerts.delivered");
+        this.digests = meterRegistry.counter("stock.alerts.digests");
+        meterRegistry.gaugeCollectionSize("stock.alerts.pending", Collections.emptyList(), pending);
+    }
+
+    /**
+     * Queue an alert for the next digest, unless the same alert was accepted within the deduplication window
+     *
+     * @return true if the alert was queued, false if it was suppressed as a duplicate
+     */
+    public boolean submit(StockAlert alert) {
+        if (recentAlerts.asMap().putIfAbsent(alert.dedupKey(), Boolean.TRUE) != null) {
+            duplicates.increment();
+            return false;
+        }
+
+        pending.add(alert);
+        queued.increment();
+        return true;
+    }
+
+    /**
+     * Forget an earlier alert once its condition has cleared, so a recurrence is reported right away
+     */
+    public void reset(Long productId, StockAlertType type) {
+        recentAlerts.invalidate(StockAlert.dedupKey(productId, type));
+    }
+
+    /**
+     * Hand the queued alerts to the notification executor as one digest batch - runs every minute by default
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.digest-interval-ms:60000}",
+            initialDelayString = "${app.alerts.digest-interval-ms:60000}")
+    public void flush() {
+        List<StockAlert> batch = new ArrayList<>();
+        for (StockAlert alert = pending.poll(); alert != null; alert = pending.poll()) {
+            batch.add(alert);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            notificationExecutor.execute(() -> deliver(batch));
+        } catch (RejectedExecutionException e) {
+            // Executor saturated; retry with the next digest
+            log.warn("Notification executor busy, deferring {} stock alerts", batch.size());
+            pending.addAll(batch);
+        }
+    }
+
+    void deliver(List<StockAlert> batch) {
+        try {
+            Set<String> roles = batch.stream()
+                    .flatMap(alert -> alert.getType().getRecipientRoles().stream())
+                    .collect(Collectors.toSet());
+
+            // Recipients with the same set of alert types get the same digest
+            Map<Set<StockAlertType>, List<Recipient>> recipientsByTypes = new HashMap<>();
+            for (Recipient recipient : loadRecipients(roles)) {
+                Set<StockAlertType> types = EnumSet.noneOf(StockAlertType.class);
+                for (StockAlert alert : batch) {
+                    if (recipient.receives(alert.getType())) {
+                        types.add(alert.getType());
+                    }
+                }
+                if (types.isEmpty()) {
+                    continue;
+                }
+
+                if (!buckets.computeIfAbsent(recipient.userId,
+                        id -> new TokenBucket(bucketCapacity, bucketRefillPerHour)).tryAcquire()) {
+                    rateLimited.increment(batch.stream().filter(alert -> types.contains(alert.getType())).count());
+                    continue;
+                }
+                recipientsByTypes.computeIfAbsent(types, key -> new ArrayList<>()).add(recipient);
+            }
+
+            recipientsByTypes.forEach((types, recipients) -> {
+                List<StockAlert> alerts = batch.stream()
+                        .filter(alert -> types.contains(alert.getType()))
+                        .collect(Collectors.toList());
+                send(alerts, recipients);
+            });
+        } catch (Exception e) {
+            // Let the next check report these conditions again instead of suppressing them for the whole window
+            batch.forEach(alert -> recentAlerts.invalidate(alert.dedupKey()));
+            log.error("Failed to deliver {} stock alerts", batch.size(), e);
+        }
+    }
+
+    private void send(List<StockAlert> alerts, List<Recipient> recipients) {
+        String title = title(alerts);
+        String message = message(alerts);
+
+        List<Long> userIds = recipients.stream().map(recipient -> recipient.userId).collect(Collectors.toList());
+        notificationRepository.insertForUsers(title, message, NOTIFICATION_TYPE, userIds, LocalDateTime.now());
+
+        if (emailEnabled) {
+            List<String> emails = recipients.stream()
+                    .map(recipient -> recipient.email)
+                    .filter(email -> email != null && !email.isEmpty())
+                    .collect(Collectors.toList());
+            emailUtils.sendBulkEmail(emails, title, message);
+        }
+
+        digests.increment(recipients.size());
+        delivered.increment((double) alerts.size() * recipients.size());
+        log.info("Sent stock alert digest of {} alerts to {} recipients", alerts.size(), recipients.size());
+    }
+
+    private Collection<Recipient> loadRecipients(Set<String> roles) {
+        Map<Long, Recipient> recipients = new LinkedHashMap<>();
+        for (AlertRecipient row : userRepository.findAlertRecipients(roles)) {
+            recipients.computeIfAbsent(row.getUserId(), id -> new Recipient(id, row.getEmail()))
+                    .roles.add(row.getRoleName());
+        }
+        return recipients.values();
+    }
+
+    private static String title(List<StockAlert> alerts) {
+        if (alerts.size() == 1) {
+            StockAlert alert = alerts.get(0);
+            return alert.getType() == StockAlertType.OUT_OF_STOCK ? "STOCK OUT ALERT" : "Low Stock Alert";
+        }
+
+        long outOfStock = alerts.stream().filter(alert -> alert.getType() == StockAlertType.OUT_OF_STOCK).count();
+        long lowStock = alerts.size() - outOfStock;
+        List<String> parts = new ArrayList<>();
+        if (outOfStock > 0) {
+            parts.add(outOfStock + " out of stock");
+        }
+        if (lowStock > 0) {
+            parts.add(lowStock + " low on stock");
+        }
+        return "Stock alerts: " + String.join(", ", parts);
+    }
+
+    private static String message(List<StockAlert> alerts) {
+        if (alerts.size() == 1) {
+            return "Product " + alerts.get(0).describe() + ".";
+        }
+
+        // Out-of-stock first, then low stock
+        List<StockAlert> ordered = new ArrayList<>(alerts);
+        ordered.sort((a, b) -> a.getType().compareTo(b.getType()));
+
+        StringBuilder message = new StringBuilder("The following products need attention:\n\n");
+        for (int i = 0; i < ordered.size(); i++) {
+            String line = "• " + ordered.get(i).describe() + "\n";
+            String more = "… and " + (ordered.size() - i) + " more";
+            if (message.length() + line.length() + more.length() > MAX_MESSAGE_LENGTH) {
+                message.append(more);
+                break;
+            }
+            message.append(line);
+        }
+        return message.toString();
+    }
+
+    /**
+     * A user receiving alerts, with the roles that select which alert types they get
+     */
+    private static final class Recipient {
+        private final Long userId;
+        private final String email;
+        private final Set<String> roles = new HashSet<>();
+
+        private Recipient(Long userId, String email) {
+            this.userId = userId;
+            this.email = email;
+        }
+
+        private boolean receives(StockAlertType type) {
+            return type.getRecipientRoles().stream().anyMatch(roles::contains);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.stocksage.alert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kinds of stock alerts and the roles that receive them
+ */
+public enum StockAlertType {
+
+    OUT_OF_STOCK("out of stock", "INVENTORY_MANAGER", "ADMIN"),
+    LOW_STOCK("low on stock", "INVENTORY_MANAGER");
+
+    private final String description;
+    private final List<String> recipientRoles;
+
+    StockAlertType(String description, String... recipientRoles) {
+        this.description = description;
+        this.recipientRoles = Collections.unmodifiableList(Arrays.asList(recipientRoles));
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getRecipientRoles() {
+        return recipientRoles;
+    }
+}
@@ -0,0 +1,45 @@
+package com.portfolio.stocksage.alert;
+
+import com.portfolio.stocksage.catalog.CatalogEntry;
+import com.portfolio.stocksage.catalog.ProductCatalogIndex;
+import com.portfolio.stocksage.inventory.StockLevelCrossedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Raises stock alerts as soon as a stock change that crosses a threshold commits
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockLevelAlertListener {
+
+    private final StockAlertPipeline stockAlertPipeline;
+    private final ProductCatalogIndex catalogIndex;
+
+    @TransactionalEventListener
+    public void onStockLevelCrossed(StockLevelCrossedEvent event) {
+        Long productId = event.getProductId();
+        // Product names come from the in-memory catalog, keeping the commit path free of queries
+        String productName = catalogIndex.find(productId)
+                .map(CatalogEntry::getName)
+                .orElse("Product " + productId);
+
+        if (event.isOutOfStock()) {
+            stockAlertPipeline.submit(StockAlert.outOfStock(productId, productName));
+        } else if (event.isLowStock()) {
+            stockAlertPipeline.submit(StockAlert.lowStock(
+                    productId, productName, event.getCurrentUnits(), event.getLowStockThreshold()));
+        }
+
+        if (event.isBackInStock()) {
+            stockAlertPipeline.reset(productId, StockAlertType.OUT_OF_STOCK);
+        }
+        if (event.isRestocked()) {
+            stockAlertPipeline.reset(productId, StockAlertType.LOW_STOCK);
+            log.debug("Product {} restocked to {} units", productId, event.getCurrentUnits());
+        }
+    }
+}
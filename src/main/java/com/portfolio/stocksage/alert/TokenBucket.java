@@ -0,0 +1,35 @@
+package com.portfolio.stocksage.alert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting how many alert digests a single recipient gets: up to {@code capacity} at once,
+ * refilled continuously at {@code refillPerHour}
+ */
+class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(int capacity, int refillPerHour) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerHour / (double) TimeUnit.HOURS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.portfolio.stocksage.catalog;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact product summary held by {@link ProductCatalogIndex}
+ */
+@Value
+public class CatalogEntry {
+    Long id;
+    String sku;
+    String name;
+    BigDecimal unitPrice;
+    boolean active;
+}
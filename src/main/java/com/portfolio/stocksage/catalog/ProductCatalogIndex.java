@@ -0,0 +1,222 @@
+package com.portfolio.stocksage.catalog;
+
+import com.portfolio.stocksage.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process index of the product catalog for barcode scans and typeahead.
+ * <p>
+ * Holds a compact {@link CatalogEntry} per product, keyed by ID and by SKU, plus sorted term maps over
+ * SKUs and the words of product names that answer prefix queries with a range scan. Reads never lock.
+ * The index is built on startup, kept current from {@link ProductChangedEvent}s once their transaction
+ * commits, and rebuilt periodically to pick up changes made by other instances. Events that arrive while
+ * a rebuild reads the database are replayed onto the new index before it replaces the old one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogIndex {
+
+    private final ProductRepository productRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot());
+    private final Object rebuildLock = new Object();
+
+    // Events applied while a rebuild is reading the database, guarded by this; null when no rebuild runs
+    private List<ProductChangedEvent> eventsDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to build product catalog index, suggestions stay empty until the next refresh", e);
+        }
+    }
+
+    /**
+     * Rebuild the index from the database - runs every 5 minutes by default
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${app.catalog.refresh-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            synchronized (this) {
+                eventsDuringRebuild = new ArrayList<>();
+            }
+
+            try {
+                Snapshot fresh = new Snapshot();
+                productRepository.findCatalogEntries().forEach(fresh::put);
+
+                int replayed;
+                synchronized (this) {
+                    // The read may have missed any of these, so apply them again in the order they arrived
+                    replayed = eventsDuringRebuild.size();
+                    eventsDuringRebuild.forEach(event -> apply(fresh, event));
+                    current.set(fresh);
+                }
+                log.info("Product catalog index rebuilt in {} ms ({} products, {} changes replayed)",
+                        System.currentTimeMillis() - started, fresh.byId.size(), replayed);
+            } finally {
+                synchronized (this) {
+                    eventsDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        apply(current.get(), event);
+        if (eventsDuringRebuild != null) {
+            eventsDuringRebuild.add(event);
+        }
+    }
+
+    /**
+     * Look up a product's summary by ID
+     */
+    public Optional<CatalogEntry> find(Long productId) {
+        return Optional.ofNullable(current.get().byId.get(productId));
+    }
+
+    /**
+     * Suggest products for a typeahead query: an exact SKU match first, then SKU prefix matches, then
+     * products whose name has a word starting with each word of the query
+     */
+    public List<CatalogEntry> suggest(String query, int limit, boolean includeInactive) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Snapshot snapshot = current.get();
+        Map<Long, CatalogEntry> results = new LinkedHashMap<>();
+
+        CatalogEntry exact = snapshot.bySku.get(normalized);
+        if (exact != null && (includeInactive || exact.isActive())) {
+            results.put(exact.getId(), exact);
+        }
+
+        collect(snapshot, snapshot.skuTerms, normalized, null, limit, includeInactive, results);
+
+        String[] words = words(normalized);
+        if (words.length > 0) {
+            collect(snapshot, snapshot.nameTerms, words[0], words, limit, includeInactive, results);
+        }
+
+        return new ArrayList<>(results.values());
+    }
+
+    private static void collect(Snapshot snapshot, NavigableMap<String, Long> terms, String prefix, String[] allWords,
+                                int limit, boolean includeInactive, Map<Long, CatalogEntry> results) {
+        for (Long id : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (results.size() >= limit) {
+                return;
+            }
+
+            CatalogEntry entry = snapshot.byId.get(id);
+            if (entry != null && (includeInactive || entry.isActive())
+                    && (allWords == null || nameMatches(entry, allWords))) {
+                results.putIfAbsent(id, entry);
+            }
+        }
+    }
+
+    private static void apply(Snapshot snapshot, ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            snapshot.remove(event.getProductId());
+        } else {
+            snapshot.put(event.getEntry());
+        }
+    }
+
+    private static boolean nameMatches(CatalogEntry entry, String[] queryWords) {
+        String[] nameWords = words(normalize(entry.getName()));
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String nameWord : nameWords) {
+                if (nameWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] words(String value) {
+        // Leading punctuation makes split return an empty first word, which would match every name term
+        return Arrays.stream(value.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * One generation of the index; writers serialize on the snapshot, readers use the concurrent maps directly
+     */
+    private static final class Snapshot {
+
+        // Separates a term from the product ID in term map keys, sorting before every other character
+        private static final char SEPARATOR = '\u0000';
+
+        private final Map<Long, CatalogEntry> byId = new ConcurrentHashMap<>();
+        private final Map<String, CatalogEntry> bySku = new ConcurrentHashMap<>();
+        private final NavigableMap<String, Long> skuTerms = new ConcurrentSkipListMap<>();
+        private final NavigableMap<String, Long> nameTerms = new ConcurrentSkipListMap<>();
+
+        synchronized void put(CatalogEntry entry) {
+            remove(entry.getId());
+
+            String sku = normalize(entry.getSku());
+            byId.put(entry.getId(), entry);
+            bySku.put(sku, entry);
+            skuTerms.put(sku + SEPARATOR + entry.getId(), entry.getId());
+            for (String word : words(normalize(entry.getName()))) {
+                nameTerms.put(word + SEPARATOR + entry.getId(), entry.getId());
+            }
+        }
+
+        synchronized void remove(Long id) {
+            CatalogEntry previous = byId.remove(id);
+            if (previous == null) {
+                return;
+            }
+
+            String sku = normalize(previous.getSku());
+            bySku.remove(sku, previous);
+            skuTerms.remove(sku + SEPARATOR + id);
+            for (String word : words(normalize(previous.getName()))) {
+                nameTerms.remove(word + SEPARATOR + id);
+            }
+        }
+    }
+}
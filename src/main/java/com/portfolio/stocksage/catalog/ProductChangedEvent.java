@@ -0,0 +1,28 @@
+package com.portfolio.stocksage.catalog;
+
+import com.portfolio.stocksage.entity.Product;
+import lombok.Value;
+
+/**
+ * Published by the product service when a product is saved or deleted
+ */
+@Value
+public class ProductChangedEvent {
+
+    Long productId;
+    // Null when the product was deleted
+    CatalogEntry entry;
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), new CatalogEntry(
+                product.getId(), product.getSku(), product.getName(), product.getUnitPrice(), product.isActive()));
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return entry == null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.portfolio.stocksage.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -57,4 +58,22 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Configure a dedicated, bounded task executor for background report jobs.
+     * Each running job holds a database connection, so the pool is kept small.
+     */
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${app.reports.jobs.threads:2}") int threads,
+            @Value("${app.reports.jobs.queue-capacity:20}") int queueCapacity) {
+        log.info("Creating Report Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("Report-");
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
@@ -1,44 +1,62 @@
 package com.portfolio.stocksage.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
+@Slf4j
 public class CacheConfig {
 
     /**
-     * Define cache manager with Caffeine
+     * Default Caffeine spec per cache, overridable with app.cache.spec.&lt;name&gt;.
+     * Entries that embed live counts (stock levels, product counts) get short TTLs.
+     */
+    private static final Map<String, String> DEFAULT_SPECS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_SPECS.put("products", "maximumSize=5000,expireAfterWrite=10m");
+        DEFAULT_SPECS.put("categories", "maximumSize=500,expireAfterWrite=30m");
+        DEFAULT_SPECS.put("suppliers", "maximumSize=500,expireAfterWrite=10m");
+        DEFAULT_SPECS.put("warehouses", "maximumSize=200,expireAfterWrite=1m");
+        DEFAULT_SPECS.put("userRoles", "maximumSize=100,expireAfterWrite=1h");
+        DEFAULT_SPECS.put("userDetails", "maximumSize=10000,expireAfterWrite=10m");
+        DEFAULT_SPECS.put("settings", "maximumSize=200,expireAfterWrite=1h");
+        DEFAULT_SPECS.put("inventorySummary", "maximumSize=100,expireAfterWrite=1m");
+        DEFAULT_SPECS.put("lowStockItems", "maximumSize=100,expireAfterWrite=1m");
+        DEFAULT_SPECS.put("outOfStockItems", "maximumSize=100,expireAfterWrite=1m");
+        DEFAULT_SPECS.put("topSellingProducts", "maximumSize=100,expireAfterWrite=15m");
+    }
+
+    /**
+     * Define cache manager with one Caffeine cache per name, each with its own size and TTL.
+     * Puts and evictions made inside a transaction are applied only once it commits, so a
+     * concurrent read can't repopulate a cache with data the transaction is about to replace.
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(Environment environment) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(500)
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .recordStats());
-
-        // Define all cache names used in the application
-        cacheManager.setCacheNames(Arrays.asList(
-                "products",
-                "categories",
-                "suppliers",
-                "warehouses",
-                "inventorySummary",
-                "lowStockItems",
-                "outOfStockItems",
-                "topSellingProducts",
-                "userRoles"
-        ));
-
-        return cacheManager;
+        // Static mode: only the caches registered below exist, and an unknown cache name fails fast
+        cacheManager.setCacheNames(Collections.emptyList());
+
+        DEFAULT_SPECS.forEach((name, defaultSpec) -> {
+            String spec = environment.getProperty("app.cache.spec." + name, defaultSpec);
+            // Stats feed the cache.gets/cache.puts/cache.evictions metrics exposed through Actuator
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+            log.debug("Cache '{}' configured with spec: {}", name, spec);
+        });
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,7 @@
 package com.portfolio.stocksage.config;
 
-import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.entity.Transaction;
-import com.portfolio.stocksage.service.InventoryService;
 import com.portfolio.stocksage.service.NotificationService;
-import com.portfolio.stocksage.service.ProductService;
 import com.portfolio.stocksage.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,61 +18,9 @@ import java.util.List;
 @Slf4j
 public class ScheduledTasksConfig {
 
-    private final InventoryService inventoryService;
     private final NotificationService notificationService;
-    private final ProductService productService;
     private final TransactionService transactionService;
 
-    private static final int LOW_STOCK_THRESHOLD = 10;
-
-    /**
-     * Daily check for low stock items at 7:00 AM
-     */
-    @Scheduled(cron = "0 0 7 * * ?")
-    public void checkLowStockItems() {
-        log.info("Running scheduled low stock check");
-        List<InventoryDTO> lowStockItems = inventoryService.getLowInventory(LOW_STOCK_THRESHOLD);
-
-        if (!lowStockItems.isEmpty()) {
-            log.info("Found {} low stock items", lowStockItems.size());
-
-            // Send notifications for each low stock item
-            for (InventoryDTO item : lowStockItems) {
-                notificationService.sendLowStockAlert(
-                        item.getProduct().getId(),
-                        item.getProduct().getName(),
-                        item.getQuantity(),
-                        LOW_STOCK_THRESHOLD
-                );
-            }
-        } else {
-            log.info("No low stock items found");
-        }
-    }
-
-    /**
-     * Check for out of stock items every 4 hours
-     */
-    @Scheduled(fixedRate = 4 * 60 * 60 * 1000)
-    public void checkOutOfStockItems() {
-        log.info("Running scheduled out of stock check");
-        List<InventoryDTO> outOfStockItems = inventoryService.getOutOfStockItems();
-
-        if (!outOfStockItems.isEmpty()) {
-            log.info("Found {} out of stock items", outOfStockItems.size());
-
-            // Send notifications for each out of stock item
-            for (InventoryDTO item : outOfStockItems) {
-                notificationService.sendStockOutAlert(
-                        item.getProduct().getId(),
-                        item.getProduct().getName()
-                );
-            }
-        } else {
-            log.info("No out of stock items found");
-        }
-    }
-
     /**
      * Auto-cancel pending transactions older than 7 days at midnight
      */
@@ -44,6 +44,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/api-docs/**").permitAll()
                 .antMatchers("/swagger-ui/**").permitAll()
                 .antMatchers("/swagger-ui.html").permitAll()
+                // Actuator endpoints (health, metrics, cache stats)
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/**").hasRole("ADMIN")
                 // Static resources
                 .antMatchers("/", "/favicon.ico", "/css/**", "/js/**", "/images/**").permitAll()
                 // Web pages accessible without login
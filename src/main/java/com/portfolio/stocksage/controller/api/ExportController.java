@@ -1 +1,97 @@
-package com.portfolio.stocksage.controller.api; 
+package com.portfolio.stocksage.controller.api;
+
+import com.portfolio.stocksage.export.ExportFormat;
+import com.portfolio.stocksage.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk exports. Documents are written straight to the response while rows are read from the database,
+ * so neither the rows nor the rendered document are held in memory.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Tag(name = "Export API", description = "Endpoints for exporting data as CSV, Excel, PDF or JSON")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/products")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Export products", description = "Streams all products in the specified format")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Export format (csv, excel, pdf, json)")
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return streaming(exportFormat, "products", out -> exportService.exportProducts(exportFormat, out));
+    }
+
+    @GetMapping("/inventory")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Export inventory", description = "Streams all inventory records in the specified format")
+    public ResponseEntity<StreamingResponseBody> exportInventory(
+            @Parameter(description = "Export format (csv, excel, pdf, json)")
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return streaming(exportFormat, "inventory", out -> exportService.exportInventory(exportFormat, out));
+    }
+
+    @GetMapping("/transactions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Export transactions", description = "Streams the transactions for the specified period")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Export format (csv, excel, pdf, json)")
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return streaming(exportFormat, "transactions",
+                out -> exportService.exportTransactions(exportFormat, startDate, endDate, out));
+    }
+
+    @GetMapping("/suppliers")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Export suppliers", description = "Streams all suppliers in the specified format")
+    public ResponseEntity<StreamingResponseBody> exportSuppliers(
+            @Parameter(description = "Export format (csv, excel, pdf, json)")
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return streaming(exportFormat, "suppliers", out -> exportService.exportSuppliers(exportFormat, out));
+    }
+
+    /**
+     * Helper method to wrap a streaming body with the content type and file name of the format
+     */
+    private ResponseEntity<StreamingResponseBody> streaming(ExportFormat format, String name, StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "." + format.getFileExtension())
+                .build());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+}
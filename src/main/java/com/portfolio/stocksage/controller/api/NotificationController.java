@@ -1,5 +1,6 @@
 package com.portfolio.stocksage.controller.api;
 
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
 import com.portfolio.stocksage.entity.Notification;
 import com.portfolio.stocksage.security.SecurityUtils;
 import com.portfolio.stocksage.service.NotificationService;
@@ -47,6 +48,20 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll user notifications", description = "Returns the current user's notifications newest first, one page per cursor")
+    public ResponseEntity<CursorPageDTO<Notification>> scrollUserNotifications(
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Include only unread notifications")
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+
+        Long currentUserId = securityUtils.getCurrentUserId();
+        return ResponseEntity.ok(notificationService.scrollUserNotifications(currentUserId, unreadOnly, cursor, size));
+    }
+
     @GetMapping("/system")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get system notifications", description = "Returns a paginated list of system-wide notifications")
@@ -2,6 +2,7 @@ package com.portfolio.stocksage.controller.api;
 
 import com.portfolio.stocksage.dto.request.ProductCreateDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ProductSuggestionDTO;
 import com.portfolio.stocksage.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -100,6 +101,18 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products", description = "Returns products whose SKU or name starts with the query, for typeahead and barcode scans")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @Parameter(description = "SKU or name prefix", required = true)
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+
+        List<ProductSuggestionDTO> suggestions = productService.suggestProducts(q, limit, includeInactive);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
     @Operation(summary = "Update a product", description = "Updates an existing product with the provided information")
@@ -1,19 +1,25 @@
 package com.portfolio.stocksage.controller.api;
 
 import com.portfolio.stocksage.dto.response.ReportDTO;
+import com.portfolio.stocksage.export.ExportFormat;
 import com.portfolio.stocksage.report.ReportType;
 import com.portfolio.stocksage.service.ReportService;
+import com.portfolio.stocksage.util.FileTransferUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -159,52 +165,23 @@ public class ReportController {
     @GetMapping("/{id}/export")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
     @Operation(summary = "Export report", description = "Exports a report in the specified format")
-    public ResponseEntity<byte[]> exportReport(
+    public void exportReport(
             @Parameter(description = "Report ID", required = true)
             @PathVariable Long id,
-            @Parameter(description = "Export format (pdf, excel, csv)", required = true)
-            @RequestParam String format) {
-
-        byte[] reportBytes = reportService.exportReport(id, format);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(getMediaType(format));
-        headers.setContentDispositionFormData("attachment", "report." + getFileExtension(format));
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(reportBytes);
-    }
-
-    /**
-     * Helper method to get media type based on format
-     */
-    private MediaType getMediaType(String format) {
-        switch (format.toLowerCase()) {
-            case "pdf":
-                return MediaType.APPLICATION_PDF;
-            case "excel":
-                return MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            case "csv":
-                return MediaType.parseMediaType("text/csv");
-            default:
-                return MediaType.APPLICATION_OCTET_STREAM;
-        }
-    }
-
-    /**
-     * Helper method to get file extension based on format
-     */
-    private String getFileExtension(String format) {
-        switch (format.toLowerCase()) {
-            case "pdf":
-                return "pdf";
-            case "excel":
-                return "xlsx";
-            case "csv":
-                return "csv";
-            default:
-                return "bin";
-        }
+            @Parameter(description = "Export format (pdf, excel, csv, json)", required = true)
+            @RequestParam String format,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        Path file = reportService.exportReport(id, exportFormat);
+
+        // Rendered reports are cached on disk, so the file is sent as is instead of being read into memory
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("report-" + id + "." + exportFormat.getFileExtension())
+                .build()
+                .toString());
+        FileTransferUtils.send(file, request, response);
     }
 }
\ No newline at end of file
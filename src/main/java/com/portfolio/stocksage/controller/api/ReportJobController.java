@@ -0,0 +1,175 @@
+package com.portfolio.stocksage.controller.api;
+
+import com.portfolio.stocksage.dto.response.ReportDTO;
+import com.portfolio.stocksage.dto.response.ReportJobDTO;
+import com.portfolio.stocksage.report.ReportType;
+import com.portfolio.stocksage.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Background report generation. A submitted report is generated on the report executor while the client polls
+ * the job for its progress, then fetches the finished report from the job's result endpoint.
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Report Job API", description = "Endpoints for generating reports in the background")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping("/sales")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Submit sales report", description = "Queues a sales report for the specified period")
+    public ResponseEntity<ReportJobDTO> submitSalesReport(
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "How to group results (day, week, month)")
+            @RequestParam(required = false, defaultValue = "day") String groupBy,
+            @Parameter(description = "Product ID to filter by")
+            @RequestParam(required = false) Long productId,
+            @Parameter(description = "Warehouse ID to filter by")
+            @RequestParam(required = false) Long warehouseId) {
+
+        Map<String, Object> parameters = dateRange(startDate, endDate);
+        parameters.put("groupBy", groupBy);
+        parameters.put("productId", productId);
+        parameters.put("warehouseId", warehouseId);
+
+        return submit(ReportType.SALES, parameters);
+    }
+
+    @PostMapping("/purchases")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Submit purchase report", description = "Queues a purchase report for the specified period")
+    public ResponseEntity<ReportJobDTO> submitPurchaseReport(
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "How to group results (day, week, month)")
+            @RequestParam(required = false, defaultValue = "day") String groupBy,
+            @Parameter(description = "Product ID to filter by")
+            @RequestParam(required = false) Long productId,
+            @Parameter(description = "Supplier ID to filter by")
+            @RequestParam(required = false) Long supplierId) {
+
+        Map<String, Object> parameters = dateRange(startDate, endDate);
+        parameters.put("groupBy", groupBy);
+        parameters.put("productId", productId);
+        parameters.put("supplierId", supplierId);
+
+        return submit(ReportType.PURCHASE, parameters);
+    }
+
+    @PostMapping("/product-performance")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Submit product performance report", description = "Queues a report of product performance metrics")
+    public ResponseEntity<ReportJobDTO> submitProductPerformanceReport(
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Category ID to filter by")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Number of top products to include")
+            @RequestParam(required = false, defaultValue = "10") Integer topN) {
+
+        Map<String, Object> parameters = dateRange(startDate, endDate);
+        parameters.put("categoryId", categoryId);
+        parameters.put("topN", topN);
+
+        return submit(ReportType.PRODUCT_PERFORMANCE, parameters);
+    }
+
+    @PostMapping("/supplier-performance")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Submit supplier performance report", description = "Queues a report of supplier performance metrics")
+    public ResponseEntity<ReportJobDTO> submitSupplierPerformanceReport(
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Supplier ID to filter by")
+            @RequestParam(required = false) Long supplierId) {
+
+        Map<String, Object> parameters = dateRange(startDate, endDate);
+        parameters.put("supplierId", supplierId);
+
+        return submit(ReportType.SUPPLIER_PERFORMANCE, parameters);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Get report jobs", description = "Returns the current user's report jobs, or all jobs for an admin")
+    public ResponseEntity<List<ReportJobDTO>> getJobs() {
+        return ResponseEntity.ok(reportJobService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Get report job", description = "Returns the status and progress of a report job")
+    public ResponseEntity<ReportJobDTO> getJob(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable String id) {
+
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/result")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Get report job result",
+            description = "Returns the generated report, or the job with status 202 while it is still in progress")
+    public ResponseEntity<?> getJobResult(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable String id) {
+
+        Optional<ReportDTO> report = reportJobService.getJobResult(id);
+        if (report.isPresent()) {
+            return ResponseEntity.ok(report.get());
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.getJob(id));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Cancel report job", description = "Cancels a queued or running report job")
+    public ResponseEntity<ReportJobDTO> cancelJob(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable String id) {
+
+        return ResponseEntity.ok(reportJobService.cancelJob(id));
+    }
+
+    /**
+     * Helper method to queue a job and answer with its status
+     */
+    private ResponseEntity<ReportJobDTO> submit(ReportType reportType, Map<String, Object> parameters) {
+        ReportJobDTO job = reportJobService.submitJob(reportType, parameters);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    private static Map<String, Object> dateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("startDate", startDate);
+        parameters.put("endDate", endDate);
+        return parameters;
+    }
+}
@@ -1 +1,56 @@
-package com.portfolio.stocksage.controller.api; 
+package com.portfolio.stocksage.controller.api;
+
+import com.portfolio.stocksage.dto.request.TransactionBatchCreateDTO;
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
+import com.portfolio.stocksage.dto.response.TransactionBatchResultDTO;
+import com.portfolio.stocksage.dto.response.TransactionDTO;
+import com.portfolio.stocksage.security.SecurityUtils;
+import com.portfolio.stocksage.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/transactions")
+@RequiredArgsConstructor
+@Tag(name = "Transaction API", description = "Endpoints for managing transactions")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+    private final SecurityUtils securityUtils;
+
+    @GetMapping
+    @Operation(summary = "Get transactions", description = "Returns transactions newest first, one page per cursor")
+    public ResponseEntity<CursorPageDTO<TransactionDTO>> getTransactions(
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Start date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        return ResponseEntity.ok(transactionService.scrollTransactions(cursor, size, startDate, endDate));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+    @Operation(summary = "Create transactions in bulk",
+            description = "Creates a batch of transactions in a single database transaction; the whole batch is rejected if any entry is invalid")
+    public ResponseEntity<TransactionBatchResultDTO> createTransactions(
+            @Valid @RequestBody TransactionBatchCreateDTO transactionBatchCreateDTO) {
+        TransactionBatchResultDTO result = transactionService.createTransactions(
+                transactionBatchCreateDTO.getTransactions(), securityUtils.getCurrentUsername());
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+}
@@ -221,6 +221,7 @@ public class WebReportController {
         formatOptions.put("pdf", "PDF");
         formatOptions.put("excel", "Excel");
         formatOptions.put("csv", "CSV");
+        formatOptions.put("json", "JSON");
         model.addAttribute("formatOptions", formatOptions);
 
         return "report/download-options";
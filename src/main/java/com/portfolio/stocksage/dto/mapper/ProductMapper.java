@@ -30,5 +30,6 @@ public interface ProductMapper {
     @Mapping(target = "suppliers", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "unitsInStock", ignore = true)
     void updateEntityFromDto(ProductCreateDTO dto, @MappingTarget Product entity);
 }
\ No newline at end of file
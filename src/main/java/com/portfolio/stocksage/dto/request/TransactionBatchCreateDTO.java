@@ -0,0 +1,22 @@
+package com.portfolio.stocksage.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchCreateDTO {
+
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 5000, message = "A batch cannot contain more than 5000 transactions")
+    private List<@Valid TransactionCreateDTO> transactions;
+}
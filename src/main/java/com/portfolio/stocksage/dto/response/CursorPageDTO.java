@@ -0,0 +1,49 @@
+package com.portfolio.stocksage.dto.response;
+
+import com.portfolio.stocksage.util.AppConstants;
+import com.portfolio.stocksage.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // Pass back as the cursor parameter to get the next page; null on the last page
+    private String nextCursor;
+
+    /**
+     * Limit a requested page size to between 1 and {@link AppConstants#MAX_CURSOR_PAGE_SIZE}
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, AppConstants.MAX_CURSOR_PAGE_SIZE));
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of one more than the page size, so the extra row
+     * tells whether another page exists without a count query
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> rows, int pageSize,
+                                             Function<E, KeysetCursor> position, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageDTO.<T>builder()
+                .content(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .size(pageRows.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? position.apply(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -67,6 +67,20 @@ public class DashboardDTO {
         private BigDecimal totalValue;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class WarehouseSummaryDTO {
+        private Long id;
+        private String name;
+        private String location;
+        private Double capacity;
+        private int productCount;
+        private int totalQuantity;
+        private BigDecimal totalValue;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,21 @@
+package com.portfolio.stocksage.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSuggestionDTO {
+
+    private Long id;
+    private String sku;
+    private String name;
+    private BigDecimal unitPrice;
+    private boolean active;
+}
@@ -1,5 +1,7 @@
 package com.portfolio.stocksage.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.portfolio.stocksage.report.ReportTable;
 import com.portfolio.stocksage.report.ReportType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,7 +30,9 @@ public class ReportDTO {
     private LocalDateTime endDate;
     private Map<String, Object> parameters;
     private List<String> columns;
-    private List<Map<String, Object>> data;
+    // Rows are held column by column and serialized as "data" through getData()
+    @JsonIgnore
+    private ReportTable table;
     private Map<String, Object> summary;
     private List<ChartData> charts;
 
@@ -35,11 +40,25 @@ public class ReportDTO {
     {
         parameters = new HashMap<>();
         columns = new ArrayList<>();
-        data = new ArrayList<>();
+        table = new ReportTable();
         summary = new HashMap<>();
         charts = new ArrayList<>();
     }
 
+    /**
+     * Report rows as column name to value maps, backed by the columnar table
+     */
+    public List<Map<String, Object>> getData() {
+        return table != null ? table.asRows() : Collections.emptyList();
+    }
+
+    /**
+     * Replace the report rows, converting them to columnar storage
+     */
+    public void setData(List<Map<String, Object>> data) {
+        this.table = ReportTable.fromRows(data != null ? data : Collections.emptyList(), columns);
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
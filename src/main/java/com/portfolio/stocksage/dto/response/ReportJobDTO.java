@@ -0,0 +1,30 @@
+package com.portfolio.stocksage.dto.response;
+
+import com.portfolio.stocksage.report.ReportJobStatus;
+import com.portfolio.stocksage.report.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobDTO {
+
+    private String id;
+    private ReportType reportType;
+    private ReportJobStatus status;
+    private Map<String, Object> parameters;
+    private long rowsProcessed;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Set once the job has completed; the report is fetched from the job's result endpoint
+    private Long reportId;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.portfolio.stocksage.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchResultDTO {
+
+    private int createdCount;
+    private List<Long> transactionIds;
+    private long durationMillis;
+}
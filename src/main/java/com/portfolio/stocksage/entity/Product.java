@@ -45,7 +45,8 @@ public class Product {
 
     private boolean active;
 
-    @Column(name = "units_in_stock")
+    // Maintained from inventory changes by StockUpdater, never written back from the entity
+    @Column(name = "units_in_stock", updatable = false)
     private Integer unitsInStock;
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
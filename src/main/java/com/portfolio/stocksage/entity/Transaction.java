@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "transaction_number", nullable = false, unique = true)
@@ -0,0 +1,57 @@
+package com.portfolio.stocksage.entity;
+
+import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Completed transaction totals for one day, product, warehouse and transaction type.
+ * Rows are written only through the upsert in TransactionRollupRepository.
+ */
+@Entity
+@Table(name = "transaction_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transaction_daily_rollup",
+                columnNames = {"rollup_date", "product_id", "warehouse_id", "transaction_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "unit_price_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal unitPriceTotal;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Integer transactionCount;
+}
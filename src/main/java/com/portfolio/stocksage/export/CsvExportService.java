@@ -2,14 +2,15 @@ package com.portfolio.stocksage.export;
 
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
 import com.portfolio.stocksage.util.CsvExporter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 /**
  * Service for exporting data to CSV format
@@ -19,26 +20,41 @@ import java.util.List;
 public class CsvExportService implements ExportStrategy {
 
     @Override
-    public byte[] exportProducts(List<ProductDTO> products) throws IOException {
-        log.info("Exporting {} products to CSV", products.size());
-        return CsvExporter.exportProducts(products);
+    public ExportFormat getFormat() {
+        return ExportFormat.CSV;
     }
 
     @Override
-    public byte[] exportInventory(List<InventoryDTO> inventory) throws IOException {
-        log.info("Exporting {} inventory items to CSV", inventory.size());
-        return CsvExporter.exportInventory(inventory);
+    public long exportProducts(Stream<ProductDTO> products, OutputStream out) {
+        long count = CsvExporter.exportProducts(products, out);
+        log.info("Exported {} products to CSV", count);
+        return count;
     }
 
     @Override
-    public byte[] exportTransactions(List<TransactionDTO> transactions) throws IOException {
-        log.info("Exporting {} transactions to CSV", transactions.size());
-        return CsvExporter.exportTransactions(transactions);
+    public long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) {
+        long count = CsvExporter.exportInventory(inventory, out);
+        log.info("Exported {} inventory items to CSV", count);
+        return count;
     }
 
     @Override
-    public byte[] exportSuppliers(List<SupplierDTO> suppliers) throws IOException {
-        log.info("Exporting {} suppliers to CSV", suppliers.size());
-        return CsvExporter.exportSuppliers(suppliers);
+    public long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) {
+        long count = CsvExporter.exportTransactions(transactions, out);
+        log.info("Exported {} transactions to CSV", count);
+        return count;
+    }
+
+    @Override
+    public long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) {
+        long count = CsvExporter.exportSuppliers(suppliers, out);
+        log.info("Exported {} suppliers to CSV", count);
+        return count;
+    }
+
+    @Override
+    public void exportReport(ReportDTO report, OutputStream out) {
+        long count = CsvExporter.exportReportTable(report.getTable(), out);
+        log.info("Exported report {} with {} rows to CSV", report.getId(), count);
     }
 }
@@ -2,204 +2,167 @@ package com.portfolio.stocksage.export;
 
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFFont;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.portfolio.stocksage.report.ReportTable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 @Service
+@Slf4j
 public class ExcelExportService implements ExportStrategy {
 
+    // Rows kept in memory per sheet; older rows are flushed to a temporary file
+    @Value("${app.export.excel.row-window:100}")
+    private int rowWindow;
+
+    // Rows per sheet measured to estimate column widths
+    @Value("${app.export.excel.width-sample-rows:500}")
+    private int widthSampleRows;
+
     @Override
-    public byte[] exportProducts(List<ProductDTO> products) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Products");
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            createHeaderCell(workbook, headerRow, 0, "ID");
-            createHeaderCell(workbook, headerRow, 1, "SKU");
-            createHeaderCell(workbook, headerRow, 2, "Name");
-            createHeaderCell(workbook, headerRow, 3, "Description");
-            createHeaderCell(workbook, headerRow, 4, "Unit Price");
-            createHeaderCell(workbook, headerRow, 5, "Category");
-            createHeaderCell(workbook, headerRow, 6, "Stock");
-            createHeaderCell(workbook, headerRow, 7, "Status");
-
-            // Create data rows
-            int rowNum = 1;
-            for (ProductDTO product : products) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(product.getId());
-                row.createCell(1).setCellValue(product.getSku());
-                row.createCell(2).setCellValue(product.getName());
-                row.createCell(3).setCellValue(product.getDescription() != null ? product.getDescription() : "");
-                row.createCell(4).setCellValue(product.getUnitPrice().doubleValue());
-                row.createCell(5).setCellValue(product.getCategory().getName());
-                row.createCell(6).setCellValue(product.getUnitsInStock());
-                row.createCell(7).setCellValue(product.isActive() ? "Active" : "Inactive");
-            }
+    public ExportFormat getFormat() {
+        return ExportFormat.EXCEL;
+    }
 
-            // Adjust column width
-            for (int i = 0; i < 8; i++) {
-                sheet.autoSizeColumn(i);
+    /**
+     * Open a streaming workbook configured with the export settings; the caller must close it
+     */
+    public ExcelWorkbookWriter newWorkbook() {
+        return new ExcelWorkbookWriter(rowWindow, widthSampleRows);
+    }
+
+    @Override
+    public long exportProducts(Stream<ProductDTO> products, OutputStream out) throws IOException {
+        try (ExcelWorkbookWriter workbook = newWorkbook()) {
+            ExcelSheetWriter sheet = workbook.createSheet("Products",
+                    "ID", "SKU", "Name", "Description", "Unit Price", "Category", "Stock", "Status");
+
+            for (ProductDTO product : (Iterable<ProductDTO>) products::iterator) {
+                sheet.writeRow(
+                        product.getId(),
+                        product.getSku(),
+                        product.getName(),
+                        product.getDescription() != null ? product.getDescription() : "",
+                        product.getUnitPrice(),
+                        product.getCategory().getName(),
+                        product.getUnitsInStock(),
+                        product.isActive() ? "Active" : "Inactive");
             }
 
-            // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            workbook.write(out);
+            log.info("Exported {} products to Excel", sheet.getRowCount());
+            return sheet.getRowCount();
         }
     }
 
     @Override
-    public byte[] exportInventory(List<InventoryDTO> inventory) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Inventory");
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            createHeaderCell(workbook, headerRow, 0, "ID");
-            createHeaderCell(workbook, headerRow, 1, "Product SKU");
-            createHeaderCell(workbook, headerRow, 2, "Product Name");
-            createHeaderCell(workbook, headerRow, 3, "Warehouse");
-            createHeaderCell(workbook, headerRow, 4, "Quantity");
-            createHeaderCell(workbook, headerRow, 5, "Unit Price");
-            createHeaderCell(workbook, headerRow, 6, "Total Value");
-
-            // Create data rows
-            int rowNum = 1;
-            for (InventoryDTO item : inventory) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(item.getId());
-                row.createCell(1).setCellValue(item.getProduct().getSku());
-                row.createCell(2).setCellValue(item.getProduct().getName());
-                row.createCell(3).setCellValue(item.getWarehouse().getName());
-                row.createCell(4).setCellValue(item.getQuantity());
-                row.createCell(5).setCellValue(item.getProduct().getUnitPrice().doubleValue());
-                row.createCell(6).setCellValue(item.getTotalValue().doubleValue());
+    public long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) throws IOException {
+        try (ExcelWorkbookWriter workbook = newWorkbook()) {
+            ExcelSheetWriter sheet = workbook.createSheet("Inventory",
+                    "ID", "Product SKU", "Product Name", "Warehouse", "Quantity", "Unit Price", "Total Value");
+
+            for (InventoryDTO item : (Iterable<InventoryDTO>) inventory::iterator) {
+                sheet.writeRow(
+                        item.getId(),
+                        item.getProduct().getSku(),
+                        item.getProduct().getName(),
+                        item.getWarehouse().getName(),
+                        item.getQuantity(),
+                        item.getProduct().getUnitPrice(),
+                        item.getTotalValue());
             }
 
-            // Adjust column width
-            for (int i = 0; i < 7; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            workbook.write(out);
+            log.info("Exported {} inventory items to Excel", sheet.getRowCount());
+            return sheet.getRowCount();
         }
     }
 
     @Override
-    public byte[] exportTransactions(List<TransactionDTO> transactions) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Transactions");
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            createHeaderCell(workbook, headerRow, 0, "ID");
-            createHeaderCell(workbook, headerRow, 1, "Transaction #");
-            createHeaderCell(workbook, headerRow, 2, "Date");
-            createHeaderCell(workbook, headerRow, 3, "Type");
-            createHeaderCell(workbook, headerRow, 4, "Status");
-            createHeaderCell(workbook, headerRow, 5, "Product");
-            createHeaderCell(workbook, headerRow, 6, "Quantity");
-            createHeaderCell(workbook, headerRow, 7, "Unit Price");
-            createHeaderCell(workbook, headerRow, 8, "Total Amount");
-            createHeaderCell(workbook, headerRow, 9, "Warehouse");
-            createHeaderCell(workbook, headerRow, 10, "Created By");
-
-            // Create data rows
-            int rowNum = 1;
-            for (TransactionDTO transaction : transactions) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(transaction.getId());
-                row.createCell(1).setCellValue(transaction.getTransactionNumber());
-                row.createCell(2).setCellValue(transaction.getTransactionDate().toString());
-                row.createCell(3).setCellValue(transaction.getTransactionType().toString());
-                row.createCell(4).setCellValue(transaction.getStatus().toString());
-                row.createCell(5).setCellValue(transaction.getProduct().getName());
-                row.createCell(6).setCellValue(transaction.getQuantity());
-                row.createCell(7).setCellValue(transaction.getUnitPrice().doubleValue());
-                row.createCell(8).setCellValue(transaction.getTotalAmount().doubleValue());
-                row.createCell(9).setCellValue(transaction.getWarehouse().getName());
-                row.createCell(10).setCellValue(transaction.getCreatedBy().getFullName());
+    public long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) throws IOException {
+        try (ExcelWorkbookWriter workbook = newWorkbook()) {
+            ExcelSheetWriter sheet = workbook.createSheet("Transactions",
+                    "ID", "Transaction #", "Date", "Type", "Status", "Product", "Quantity",
+                    "Unit Price", "Total Amount", "Warehouse", "Created By");
+
+            for (TransactionDTO transaction : (Iterable<TransactionDTO>) transactions::iterator) {
+                sheet.writeRow(
+                        transaction.getId(),
+                        transaction.getTransactionNumber(),
+                        transaction.getTransactionDate(),
+                        transaction.getTransactionType().toString(),
+                        transaction.getStatus().toString(),
+                        transaction.getProduct().getName(),
+                        transaction.getQuantity(),
+                        transaction.getUnitPrice(),
+                        transaction.getTotalAmount(),
+                        transaction.getWarehouse().getName(),
+                        transaction.getCreatedBy().getFullName());
             }
 
-            // Adjust column width
-            for (int i = 0; i < 11; i++) {
-                sheet.autoSizeColumn(i);
+            workbook.write(out);
+            log.info("Exported {} transactions to Excel", sheet.getRowCount());
+            return sheet.getRowCount();
+        }
+    }
+
+    @Override
+    public long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) throws IOException {
+        try (ExcelWorkbookWriter workbook = newWorkbook()) {
+            ExcelSheetWriter sheet = workbook.createSheet("Suppliers",
+                    "ID", "Name", "Contact Name", "Email", "Phone", "Address", "Tax ID", "Status", "Products Count");
+
+            for (SupplierDTO supplier : (Iterable<SupplierDTO>) suppliers::iterator) {
+                sheet.writeRow(
+                        supplier.getId(),
+                        supplier.getName(),
+                        supplier.getContactName() != null ? supplier.getContactName() : "",
+                        supplier.getEmail() != null ? supplier.getEmail() : "",
+                        supplier.getPhone() != null ? supplier.getPhone() : "",
+                        supplier.getAddress() != null ? supplier.getAddress() : "",
+                        supplier.getTaxId() != null ? supplier.getTaxId() : "",
+                        supplier.isActive() ? "Active" : "Inactive",
+                        supplier.getProductCount());
             }
 
-            // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            workbook.write(out);
+            log.info("Exported {} suppliers to Excel", sheet.getRowCount());
+            return sheet.getRowCount();
         }
     }
 
     @Override
-    public byte[] exportSuppliers(List<SupplierDTO> suppliers) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Suppliers");
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            createHeaderCell(workbook, headerRow, 0, "ID");
-            createHeaderCell(workbook, headerRow, 1, "Name");
-            createHeaderCell(workbook, headerRow, 2, "Contact Name");
-            createHeaderCell(workbook, headerRow, 3, "Email");
-            createHeaderCell(workbook, headerRow, 4, "Phone");
-            createHeaderCell(workbook, headerRow, 5, "Address");
-            createHeaderCell(workbook, headerRow, 6, "Tax ID");
-            createHeaderCell(workbook, headerRow, 7, "Status");
-            createHeaderCell(workbook, headerRow, 8, "Products Count");
-
-            // Create data rows
-            int rowNum = 1;
-            for (SupplierDTO supplier : suppliers) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(supplier.getId());
-                row.createCell(1).setCellValue(supplier.getName());
-                row.createCell(2).setCellValue(supplier.getContactName() != null ? supplier.getContactName() : "");
-                row.createCell(3).setCellValue(supplier.getEmail() != null ? supplier.getEmail() : "");
-                row.createCell(4).setCellValue(supplier.getPhone() != null ? supplier.getPhone() : "");
-                row.createCell(5).setCellValue(supplier.getAddress() != null ? supplier.getAddress() : "");
-                row.createCell(6).setCellValue(supplier.getTaxId() != null ? supplier.getTaxId() : "");
-                row.createCell(7).setCellValue(supplier.isActive() ? "Active" : "Inactive");
-                row.createCell(8).setCellValue(supplier.getProductCount());
+    public void exportReport(ReportDTO report, OutputStream out) throws IOException {
+        ReportTable table = report.getTable();
+
+        try (ExcelWorkbookWriter workbook = newWorkbook()) {
+            String sheetName = WorkbookUtil.createSafeSheetName(report.getTitle() != null ? report.getTitle() : "Report");
+            ExcelSheetWriter sheet = workbook.createSheet(sheetName, table.getColumnNames());
+
+            // Reuse one buffer since the sheet writer consumes each row immediately
+            Object[] row = new Object[table.getColumnCount()];
+            for (int rowIndex = 0; rowIndex < table.getRowCount(); rowIndex++) {
+                for (int column = 0; column < row.length; column++) {
+                    row[column] = table.getValue(rowIndex, column);
+                }
+                sheet.writeRow(row);
             }
 
-            // Adjust column width
-            for (int i = 0; i < 9; i++) {
-                sheet.autoSizeColumn(i);
+            if (report.getSummary() != null && !report.getSummary().isEmpty()) {
+                ExcelSheetWriter summary = workbook.createSheet("Summary", "Metric", "Value");
+                report.getSummary().forEach(summary::writeRow);
             }
 
-            // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            workbook.write(out);
+            log.info("Exported report {} with {} rows to Excel", report.getId(), sheet.getRowCount());
         }
     }
-
-    private void createHeaderCell(Workbook workbook, Row row, int column, String value) {
-        CellStyle style = workbook.createCellStyle();
-        XSSFFont font = ((XSSFWorkbook) workbook).createFont();
-        font.setBold(true);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
-        Cell cell = row.createCell(column);
-        cell.setCellValue(value);
-        cell.setCellStyle(style);
-    }
 }
\ No newline at end of file
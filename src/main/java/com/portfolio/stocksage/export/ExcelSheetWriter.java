@@ -0,0 +1,172 @@
+package com.portfolio.stocksage.export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends typed rows to one sheet of an {@link ExcelWorkbookWriter}.
+ * <p>
+ * Column widths are estimated from the character length of the header and the first sampled rows, instead of
+ * measuring every cell with font metrics the way {@code Sheet.autoSizeColumn} does.
+ * <p>
+ * An xlsx sheet holds at most 1,048,576 rows. When a sheet is full, writing continues on a new sheet named
+ * after the first with a part number, e.g. "Transactions (2)", with the same header and column widths.
+ */
+public class ExcelSheetWriter {
+
+    // Column widths are in 1/256ths of a character
+    private static final int CHAR_WIDTH = 256;
+    private static final int MIN_WIDTH_CHARS = 6;
+    private static final int MAX_WIDTH_CHARS = 80;
+    private static final int WIDTH_PADDING_CHARS = 2;
+    private static final int DATE_TIME_CHARS = ExcelStyleRegistry.DATE_TIME_FORMAT.length();
+
+    // Data rows that fit below the header row of one sheet
+    private static final int MAX_DATA_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    private final Workbook workbook;
+    private final String name;
+    private final ExcelStyleRegistry styles;
+    private final List<String> headers;
+    private final int widthSampleRows;
+    private final int[] widthChars;
+    private Sheet sheet;
+    private int sheetCount;
+    private int rowsInSheet;
+    private long rowCount;
+    private boolean widthsApplied;
+
+    ExcelSheetWriter(Workbook workbook, String name, ExcelStyleRegistry styles, List<String> headers,
+                     int widthSampleRows) {
+        this.workbook = workbook;
+        this.name = name;
+        this.styles = styles;
+        this.headers = headers;
+        this.widthSampleRows = widthSampleRows;
+        this.widthChars = new int[headers.size()];
+
+        for (int column = 0; column < headers.size(); column++) {
+            widthChars[column] = headers.get(column).length();
+        }
+        startSheet();
+    }
+
+    /**
+     * Append a row; values are written in header order and null values leave the cell empty
+     */
+    public void writeRow(Object... values) {
+        if (rowsInSheet == MAX_DATA_ROWS_PER_SHEET) {
+            // Far past the width sample by now, so the widths are final
+            finish();
+            startSheet();
+            applyColumnWidths();
+        }
+
+        Row row = sheet.createRow(++rowsInSheet);
+        rowCount++;
+        boolean sampling = rowCount <= widthSampleRows;
+
+        for (int column = 0; column < values.length; column++) {
+            Object value = values[column];
+            if (value == null) {
+                continue;
+            }
+
+            writeCell(row.createCell(column), value);
+            if (sampling && column < widthChars.length) {
+                widthChars[column] = Math.max(widthChars[column], displayLength(value));
+            }
+        }
+
+        if (rowCount == widthSampleRows) {
+            applyColumnWidths();
+        }
+    }
+
+    /**
+     * @return Number of data rows written across all parts of the sheet, excluding the headers
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Set the estimated column widths, unless the sample already filled up and set them
+     */
+    void finish() {
+        if (!widthsApplied) {
+            applyColumnWidths();
+        }
+    }
+
+    private void startSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? name : partName(name, sheetCount));
+        rowsInSheet = 0;
+
+        Row headerRow = sheet.createRow(0);
+        for (int column = 0; column < headers.size(); column++) {
+            Cell cell = headerRow.createCell(column);
+            cell.setCellValue(headers.get(column));
+            cell.setCellStyle(styles.header());
+        }
+    }
+
+    private static String partName(String name, int part) {
+        String suffix = " (" + part + ")";
+        int baseLength = Math.min(name.length(), MAX_SHEET_NAME_LENGTH - suffix.length());
+        return name.substring(0, baseLength) + suffix;
+    }
+
+    private void applyColumnWidths() {
+        for (int column = 0; column < widthChars.length; column++) {
+            int chars = Math.min(MAX_WIDTH_CHARS, Math.max(MIN_WIDTH_CHARS, widthChars[column] + WIDTH_PADDING_CHARS));
+            sheet.setColumnWidth(column, chars * CHAR_WIDTH);
+        }
+        widthsApplied = true;
+    }
+
+    private void writeCell(Cell cell, Object value) {
+        if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            cell.setCellValue(((Number) value).doubleValue());
+            cell.setCellStyle(styles.dataFormat(ExcelStyleRegistry.DECIMAL_FORMAT));
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) value);
+            cell.setCellStyle(styles.dataFormat(ExcelStyleRegistry.DATE_TIME_FORMAT));
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue((LocalDate) value);
+            cell.setCellStyle(styles.dataFormat(ExcelStyleRegistry.DATE_TIME_FORMAT));
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    /**
+     * Approximate number of characters a value takes once formatted in the sheet
+     */
+    private static int displayLength(Object value) {
+        if (value instanceof LocalDateTime || value instanceof LocalDate) {
+            return DATE_TIME_CHARS;
+        }
+        if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            // Two decimals plus a thousands separator every three integer digits
+            long integerPart = Math.abs(((Number) value).longValue());
+            int digits = Long.toString(integerPart).length();
+            return digits + (digits - 1) / 3 + 3;
+        }
+        return value.toString().length();
+    }
+}
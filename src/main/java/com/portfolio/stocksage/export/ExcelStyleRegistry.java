@@ -0,0 +1,55 @@
+package com.portfolio.stocksage.export;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cell styles of one workbook, created on first use and shared by every cell that needs them.
+ * Styles are workbook-level records, so creating one per cell bloats the file and eventually hits the format's style limit.
+ */
+public class ExcelStyleRegistry {
+
+    public static final String DECIMAL_FORMAT = "#,##0.00";
+    public static final String DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    private final Workbook workbook;
+    private final Map<String, CellStyle> dataFormatStyles = new HashMap<>();
+    private CellStyle headerStyle;
+
+    public ExcelStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * Bold header on a grey background
+     */
+    public CellStyle header() {
+        if (headerStyle == null) {
+            Font font = workbook.createFont();
+            font.setBold(true);
+
+            headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(font);
+            headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        return headerStyle;
+    }
+
+    /**
+     * Style applying a number or date format such as {@link #DECIMAL_FORMAT}
+     */
+    public CellStyle dataFormat(String format) {
+        return dataFormatStyles.computeIfAbsent(format, key -> {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat(key));
+            return style;
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.stocksage.export;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming xlsx writer: keeps a bounded window of rows per sheet in memory, flushes older rows to compressed
+ * temporary files, and shares cell styles across the workbook. Close it to delete the temporary files.
+ */
+public class ExcelWorkbookWriter implements Closeable {
+
+    private final SXSSFWorkbook workbook;
+    private final ExcelStyleRegistry styles;
+    private final int widthSampleRows;
+    private final List<ExcelSheetWriter> sheets = new ArrayList<>();
+
+    /**
+     * @param rowWindow Rows kept in memory per sheet before older rows are flushed to disk
+     * @param widthSampleRows Rows per sheet used to estimate column widths
+     */
+    public ExcelWorkbookWriter(int rowWindow, int widthSampleRows) {
+        this.workbook = new SXSSFWorkbook(rowWindow);
+        this.workbook.setCompressTempFiles(true);
+        this.styles = new ExcelStyleRegistry(workbook);
+        this.widthSampleRows = widthSampleRows;
+    }
+
+    public ExcelSheetWriter createSheet(String name, String... headers) {
+        return createSheet(name, Arrays.asList(headers));
+    }
+
+    public ExcelSheetWriter createSheet(String name, List<String> headers) {
+        ExcelSheetWriter sheet = new ExcelSheetWriter(workbook, name, styles, headers, widthSampleRows);
+        sheets.add(sheet);
+        return sheet;
+    }
+
+    public ExcelStyleRegistry getStyles() {
+        return styles;
+    }
+
+    /**
+     * Write the workbook to the stream, which is flushed but not closed
+     */
+    public void write(OutputStream out) throws IOException {
+        for (ExcelSheetWriter sheet : sheets) {
+            sheet.finish();
+        }
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,42 @@
+package com.portfolio.stocksage.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Supported export formats with the response metadata for each
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    PDF("application/pdf", "pdf"),
+    JSON("application/json", "json");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolve a format from a request parameter such as "csv" or "excel"
+     */
+    public static ExportFormat fromString(String format) {
+        for (ExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format) || value.fileExtension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+}
@@ -2,19 +2,73 @@ package com.portfolio.stocksage.export;
 
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Writes exported rows in one format.
+ * <p>
+ * The streaming methods consume their rows one at a time and write straight to the given stream, which they
+ * flush but never close, so a caller can pull rows from a database cursor into a response body without
+ * holding the dataset in memory. The list overloads buffer the document for callers that need the bytes.
+ */
 public interface ExportStrategy {
 
-    byte[] exportProducts(List<ProductDTO> products) throws IOException;
+    ExportFormat getFormat();
 
-    byte[] exportInventory(List<InventoryDTO> inventory) throws IOException;
+    /**
+     * @return Number of rows written
+     */
+    long exportProducts(Stream<ProductDTO> products, OutputStream out) throws IOException;
 
-    byte[] exportTransactions(List<TransactionDTO> transactions) throws IOException;
+    /**
+     * @return Number of rows written
+     */
+    long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) throws IOException;
 
-    byte[] exportSuppliers(List<SupplierDTO> suppliers) throws IOException;
+    /**
+     * @return Number of rows written
+     */
+    long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) throws IOException;
+
+    /**
+     * @return Number of rows written
+     */
+    long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) throws IOException;
+
+    /**
+     * Write a generated report's rows, read straight from its column storage
+     */
+    void exportReport(ReportDTO report, OutputStream out) throws IOException;
+
+    default byte[] exportProducts(List<ProductDTO> products) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportProducts(products.stream(), out);
+        return out.toByteArray();
+    }
+
+    default byte[] exportInventory(List<InventoryDTO> inventory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportInventory(inventory.stream(), out);
+        return out.toByteArray();
+    }
+
+    default byte[] exportTransactions(List<TransactionDTO> transactions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportTransactions(transactions.stream(), out);
+        return out.toByteArray();
+    }
+
+    default byte[] exportSuppliers(List<SupplierDTO> suppliers) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportSuppliers(suppliers.stream(), out);
+        return out.toByteArray();
+    }
 }
\ No newline at end of file
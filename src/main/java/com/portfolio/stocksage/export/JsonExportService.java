@@ -1,17 +1,20 @@
 package com.portfolio.stocksage.export;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 /**
  * Service for exporting data to JSON format
@@ -27,29 +30,70 @@ public class JsonExportService implements ExportStrategy {
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        // Rows are written one by one into a shared generator; flush once at the end rather than per row
+        this.objectMapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Override
-    public byte[] exportProducts(List<ProductDTO> products) throws IOException {
-        log.info("Exporting {} products to JSON", products.size());
-        return objectMapper.writeValueAsBytes(products);
+    public ExportFormat getFormat() {
+        return ExportFormat.JSON;
     }
 
     @Override
-    public byte[] exportInventory(List<InventoryDTO> inventory) throws IOException {
-        log.info("Exporting {} inventory items to JSON", inventory.size());
-        return objectMapper.writeValueAsBytes(inventory);
+    public long exportProducts(Stream<ProductDTO> products, OutputStream out) throws IOException {
+        long count = writeArray(products, out);
+        log.info("Exported {} products to JSON", count);
+        return count;
     }
 
     @Override
-    public byte[] exportTransactions(List<TransactionDTO> transactions) throws IOException {
-        log.info("Exporting {} transactions to JSON", transactions.size());
-        return objectMapper.writeValueAsBytes(transactions);
+    public long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) throws IOException {
+        long count = writeArray(inventory, out);
+        log.info("Exported {} inventory items to JSON", count);
+        return count;
     }
 
     @Override
-    public byte[] exportSuppliers(List<SupplierDTO> suppliers) throws IOException {
-        log.info("Exporting {} suppliers to JSON", suppliers.size());
-        return objectMapper.writeValueAsBytes(suppliers);
+    public long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) throws IOException {
+        long count = writeArray(transactions, out);
+        log.info("Exported {} transactions to JSON", count);
+        return count;
+    }
+
+    @Override
+    public long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) throws IOException {
+        long count = writeArray(suppliers, out);
+        log.info("Exported {} suppliers to JSON", count);
+        return count;
+    }
+
+    @Override
+    public void exportReport(ReportDTO report, OutputStream out) throws IOException {
+        // The report's data property is a view over its column storage, so rows are serialized without being copied
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeValue(generator, report);
+        }
+        log.info("Exported report {} with {} rows to JSON", report.getId(), report.getTable().getRowCount());
+    }
+
+    /**
+     * Write rows as a JSON array one element at a time, so only the current row is ever serialized in memory
+     */
+    private <T> long writeArray(Stream<T> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The caller owns the stream, e.g. a servlet response
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+
+            long count = 0;
+            generator.writeStartArray();
+            for (T row : (Iterable<T>) rows::iterator) {
+                objectMapper.writeValue(generator, row);
+                count++;
+            }
+            generator.writeEndArray();
+            return count;
+        }
     }
 }
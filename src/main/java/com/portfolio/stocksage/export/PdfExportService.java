@@ -2,14 +2,15 @@ package com.portfolio.stocksage.export;
 
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
 import com.portfolio.stocksage.util.PdfExporter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 /**
  * Service for exporting data to PDF format
@@ -19,26 +20,41 @@ import java.util.List;
 public class PdfExportService implements ExportStrategy {
 
     @Override
-    public byte[] exportProducts(List<ProductDTO> products) throws IOException {
-        log.info("Exporting {} products to PDF", products.size());
-        return PdfExporter.exportProducts(products);
+    public ExportFormat getFormat() {
+        return ExportFormat.PDF;
     }
 
     @Override
-    public byte[] exportInventory(List<InventoryDTO> inventory) throws IOException {
-        log.info("Exporting {} inventory items to PDF", inventory.size());
-        return PdfExporter.exportInventory(inventory);
+    public long exportProducts(Stream<ProductDTO> products, OutputStream out) {
+        long count = PdfExporter.exportProducts(products, out);
+        log.info("Exported {} products to PDF", count);
+        return count;
     }
 
     @Override
-    public byte[] exportTransactions(List<TransactionDTO> transactions) throws IOException {
-        log.info("Exporting {} transactions to PDF", transactions.size());
-        return PdfExporter.exportTransactions(transactions);
+    public long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) {
+        long count = PdfExporter.exportInventory(inventory, out);
+        log.info("Exported {} inventory items to PDF", count);
+        return count;
     }
 
     @Override
-    public byte[] exportSuppliers(List<SupplierDTO> suppliers) throws IOException {
-        log.info("Exporting {} suppliers to PDF", suppliers.size());
-        return PdfExporter.exportSuppliers(suppliers);
+    public long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) {
+        long count = PdfExporter.exportTransactions(transactions, out);
+        log.info("Exported {} transactions to PDF", count);
+        return count;
+    }
+
+    @Override
+    public long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) {
+        long count = PdfExporter.exportSuppliers(suppliers, out);
+        log.info("Exported {} suppliers to PDF", count);
+        return count;
+    }
+
+    @Override
+    public void exportReport(ReportDTO report, OutputStream out) {
+        long count = PdfExporter.exportReport(report, out);
+        log.info("Exported report {} with {} rows to PDF", report.getId(), count);
     }
 }
\ No newline at end of file
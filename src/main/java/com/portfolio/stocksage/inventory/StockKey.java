@@ -0,0 +1,19 @@
+package com.portfolio.stocksage.inventory;
+
+import lombok.Value;
+
+/**
+ * Identifies an inventory row by product and warehouse; ordered so rows are always locked in the same order
+ */
+@Value
+public class StockKey implements Comparable<StockKey> {
+
+    Long productId;
+    Long warehouseId;
+
+    @Override
+    public int compareTo(StockKey other) {
+        int byProduct = productId.compareTo(other.productId);
+        return byProduct != 0 ? byProduct : warehouseId.compareTo(other.warehouseId);
+    }
+}
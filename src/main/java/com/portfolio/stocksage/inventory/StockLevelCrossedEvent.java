@@ -0,0 +1,31 @@
+package com.portfolio.stocksage.inventory;
+
+import lombok.Value;
+
+/**
+ * Published when a product's units in stock cross zero or the low-stock threshold, in either direction
+ */
+@Value
+public class StockLevelCrossedEvent {
+
+    Long productId;
+    int previousUnits;
+    int currentUnits;
+    int lowStockThreshold;
+
+    public boolean isOutOfStock() {
+        return currentUnits <= 0 && previousUnits > 0;
+    }
+
+    public boolean isLowStock() {
+        return currentUnits > 0 && currentUnits < lowStockThreshold && previousUnits >= lowStockThreshold;
+    }
+
+    public boolean isBackInStock() {
+        return currentUnits > 0 && previousUnits <= 0;
+    }
+
+    public boolean isRestocked() {
+        return currentUnits >= lowStockThreshold && previousUnits < lowStockThreshold;
+    }
+}
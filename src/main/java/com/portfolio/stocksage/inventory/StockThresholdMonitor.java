@@ -0,0 +1,57 @@
+package com.portfolio.stocksage.inventory;
+
+import com.portfolio.stocksage.service.SettingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches applied stock changes and publishes a {@link StockLevelCrossedEvent} when a product crosses
+ * zero or the low-stock threshold, so alerts are raised as stock moves rather than by periodic scans
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockThresholdMonitor {
+
+    private static final String THRESHOLD_SETTING = "inventory.low_stock_threshold";
+    private static final int DEFAULT_THRESHOLD = 10;
+
+    private final SettingService settingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Check a product's stock change; called for every applied change, so it only publishes on a crossing
+     */
+    public void onStockChanged(Long productId, int previousUnits, int currentUnits) {
+        if (previousUnits == currentUnits) {
+            return;
+        }
+
+        int threshold = getLowStockThreshold();
+        boolean crossedZero = (previousUnits <= 0) != (currentUnits <= 0);
+        boolean crossedThreshold = (previousUnits < threshold) != (currentUnits < threshold);
+
+        if (crossedZero || crossedThreshold) {
+            eventPublisher.publishEvent(new StockLevelCrossedEvent(productId, previousUnits, currentUnits, threshold));
+        }
+    }
+
+    /**
+     * Current low-stock threshold; read through the settings cache
+     */
+    public int getLowStockThreshold() {
+        String value = settingService.getSetting(THRESHOLD_SETTING);
+        if (value == null) {
+            return DEFAULT_THRESHOLD;
+        }
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid low stock threshold value: {}, using default", value);
+            return DEFAULT_THRESHOLD;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.portfolio.stocksage.inventory;
+
+import com.portfolio.stocksage.entity.Inventory;
+import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.metrics.DashboardMetricsStore;
+import com.portfolio.stocksage.repository.InventoryRepository;
+import com.portfolio.stocksage.repository.ProductRepository;
+import com.portfolio.stocksage.repository.projection.AppliedInventoryChange;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Applies stock changes with single atomic statements instead of read-modify-write.
+ * <p>
+ * Inventory quantities are changed in the database under a row lock and clamped at zero, and each call
+ * reports the change that was actually applied. Product units_in_stock is kept in step by adding those
+ * applied changes rather than re-summing every inventory row. Callers that touch several rows in one
+ * transaction should do so in (product, warehouse) order and update products afterwards, so concurrent
+ * writers always take locks in the same order.
+ * <p>
+ * The updates bypass the persistence context, so pending entity changes are flushed first and an Inventory
+ * or Product entity the caller has already loaded is refreshed afterwards. Callers can keep mapping those
+ * entities into responses without reading stale quantities.
+ * <p>
+ * Every inventory change made here is reported to the dashboard metrics. Changes written through the
+ * entity instead (creating, editing or deleting an inventory record) are reported with
+ * {@link #recordInventoryChange}.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class StockUpdater {
+
+    private final InventoryRepository inventoryRepository;
+    private final ProductRepository productRepository;
+    private final StockThresholdMonitor thresholdMonitor;
+    private final DashboardMetricsStore dashboardMetrics;
+    private final EntityManager entityManager;
+
+    /**
+     * Add to the quantity of an existing inventory record, never going below zero
+     *
+     * @return The change actually applied, or empty if there is no inventory record
+     */
+    public Optional<Integer> addToExisting(Long productId, Long warehouseId, int quantityChange) {
+        entityManager.flush();
+        Optional<AppliedInventoryChange> applied = inventoryRepository.addQuantity(productId, warehouseId, quantityChange);
+        applied.ifPresent(change -> {
+            refreshIfLoaded(Inventory.class, change.getInventoryId());
+            recordInventoryChange(productId, warehouseId, change.getAppliedChange());
+        });
+        return applied.map(AppliedInventoryChange::getAppliedChange);
+    }
+
+    /**
+     * Add to the quantity of an inventory record, creating it when stock is added to a product
+     * the warehouse does not hold yet
+     *
+     * @return The change actually applied
+     */
+    public int add(Long productId, Long warehouseId, int quantityChange) {
+        Optional<Integer> applied = addToExisting(productId, warehouseId, quantityChange);
+        if (applied.isPresent()) {
+            return applied.get();
+        }
+        if (quantityChange <= 0) {
+            // Cannot remove from non-existent inventory
+            return 0;
+        }
+        // Nothing can be loaded for a record that does not exist yet, so there is nothing to refresh here
+        if (inventoryRepository.insertIfAbsent(productId, warehouseId, quantityChange) == 1) {
+            recordInventoryChange(productId, warehouseId, quantityChange);
+            return quantityChange;
+        }
+
+        // Another transaction created the record first; add to it instead
+        return addToExisting(productId, warehouseId, quantityChange).orElse(0);
+    }
+
+    /**
+     * Add an applied inventory change to the product's total stock.
+     * The cached product is evicted once the transaction commits, and crossing a stock threshold is reported.
+     */
+    @CacheEvict(value = "products", key = "#productId")
+    public void addUnitsInStock(Long productId, int quantityChange) {
+        if (quantityChange != 0) {
+            entityManager.flush();
+            productRepository.addUnitsInStock(productId, quantityChange).ifPresent(previousUnits -> {
+                refreshIfLoaded(Product.class, productId);
+                thresholdMonitor.onStockChanged(productId, previousUnits, Math.max(0, previousUnits + quantityChange));
+            });
+        }
+    }
+
+    /**
+     * Report an inventory change that was written through the entity rather than by this class
+     */
+    public void recordInventoryChange(Long productId, Long warehouseId, int appliedChange) {
+        if (appliedChange == 0) {
+            return;
+        }
+        // Callers have usually loaded the product already, so this is served from the persistence context
+        BigDecimal unitPrice = productRepository.findById(productId)
+                .map(Product::getUnitPrice)
+                .orElse(BigDecimal.ZERO);
+        dashboardMetrics.recordStockChange(warehouseId, appliedChange, unitPrice);
+    }
+
+    /**
+     * Re-read an entity changed by one of the statements above if the persistence context already holds it.
+     * An entity that was never loaded is left alone, so this costs a select only when a stale copy exists.
+     */
+    private void refreshIfLoaded(Class<?> entityType, Long id) {
+        Object entity = entityManager.getReference(entityType, id);
+        if (Hibernate.isInitialized(entity)) {
+            entityManager.refresh(entity);
+        }
+    }
+}
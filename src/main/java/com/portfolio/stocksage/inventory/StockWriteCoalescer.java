@@ -0,0 +1,408 @@
+package com.portfolio.stocksage.inventory;
+
+import com.portfolio.stocksage.repository.InventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional write-behind path for inventory changes made by transactions.
+ * <p>
+ * When enabled, a change is reserved against an in-memory balance per (product, warehouse) instead of
+ * updating the inventory row straight away. Each key has its own lock-free slot, so callers only contend
+ * on the same SKU, and a removal larger than the balance is rejected before the caller's transaction
+ * commits. Once that transaction commits, the change joins the slot's pending total. A scheduled flush
+ * writes each slot's net total with one statement, so a burst of sales on a hot SKU costs one row lock per
+ * flush instead of one per sale. If the caller's transaction rolls back, the reservation is released.
+ * <p>
+ * Flushes write small chunks of keys, each in its own transaction, and fall back to one key at a time when
+ * a chunk fails. A key that keeps failing is parked: its pending change stays in memory and is retried
+ * after each reconciliation instead of on every flush.
+ * <p>
+ * Balances are loaded from the database the first time a slot is used. Inventory changes that bypass
+ * this class must be reported through {@link #recordDirectChange} so the balances stay in step. A change
+ * that commits while its slot is still loading can be missed, so every slot is also compared with the
+ * database on a schedule and corrected. Committed changes that have not been flushed yet are lost if the
+ * process dies, so the mode is off by default.
+ */
+@Component
+@Slf4j
+public class StockWriteCoalescer {
+
+    private static final int FLUSH_CHUNK_SIZE = 50;
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+    private static final int RECONCILE_CHUNK_SIZE = 100;
+
+    private final InventoryRepository inventoryRepository;
+    private final StockUpdater stockUpdater;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<StockKey, Slot> slots = new ConcurrentHashMap<>();
+    private final Set<StockKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<StockKey> parked = ConcurrentHashMap.newKeySet();
+    // Consecutive failed flushes per key, only touched under the flush lock
+    private final Map<StockKey, Integer> flushFailures = new HashMap<>();
+    // Flushes and reconciliation both move balances between the database and the slots, so they never overlap
+    private final Object flushLock = new Object();
+
+    private final Counter changesCounter;
+    private final Counter writesCounter;
+    private final Counter rejectedCounter;
+    private final Counter driftCounter;
+    private final Timer flushTimer;
+
+    @Value("${app.inventory.write-coalescing.enabled:false}")
+    private boolean enabled;
+
+    public StockWriteCoalescer(InventoryRepository inventoryRepository, StockUpdater stockUpdater,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.inventoryRepository = inventoryRepository;
+        this.stockUpdater = stockUpdater;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.changesCounter = Counter.builder("inventory.coalescing.changes")
+                .description("Committed inventory changes accepted for coalescing")
+                .register(meterRegistry);
+        this.writesCounter = Counter.builder("inventory.coalescing.writes")
+                .description("Inventory rows written by flushes")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("inventory.coalescing.rejected")
+                .description("Inventory changes rejected for insufficient stock")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("inventory.coalescing.drift")
+                .description("Slot balances corrected after comparing them with the database")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("inventory.coalescing.flush")
+                .description("Time taken to flush pending inventory changes")
+                .register(meterRegistry);
+        meterRegistry.gauge("inventory.coalescing.ratio", this,
+                coalescer -> coalescer.writesCounter.count() > 0
+                        ? coalescer.changesCounter.count() / coalescer.writesCounter.count() : 0);
+        meterRegistry.gauge("inventory.coalescing.pending", dirty, Set::size);
+        meterRegistry.gauge("inventory.coalescing.parked", parked, Set::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reserve a set of inventory changes for the current transaction, all or nothing
+     *
+     * @throws IllegalArgumentException If a removal is larger than the available balance
+     */
+    public void reserve(Map<StockKey, Integer> changes) {
+        Map<StockKey, Integer> reserved = new TreeMap<>();
+
+        for (Map.Entry<StockKey, Integer> change : changes.entrySet()) {
+            if (change.getValue() == 0) {
+                continue;
+            }
+            if (!slot(change.getKey()).tryReserve(change.getValue())) {
+                reserved.forEach((key, reservedChange) -> slots.get(key).release(reservedChange));
+                rejectedCounter.increment();
+                throw new IllegalArgumentException("Insufficient stock for product id: " +
+                        change.getKey().getProductId() + " in warehouse id: " + change.getKey().getWarehouseId());
+            }
+            reserved.put(change.getKey(), change.getValue());
+        }
+
+        afterCompletion(committed -> reserved.forEach((key, change) -> {
+            Slot slot = slots.get(key);
+            if (committed) {
+                slot.commit(change);
+                dirty.add(key);
+                changesCounter.increment();
+            } else {
+                slot.release(change);
+            }
+        }));
+    }
+
+    /**
+     * Adjust the in-memory balance for an inventory change written directly to the database.
+     * Call it in the writing transaction, before it commits.
+     */
+    public void recordDirectChange(Long productId, Long warehouseId, int appliedChange) {
+        Slot slot = slots.get(new StockKey(productId, warehouseId));
+        if (slot == null || appliedChange == 0) {
+            // A slot still loading may miss this change; reconciliation corrects it
+            return;
+        }
+        // Marked as unsettled until the transaction ends, so reconciliation leaves the slot alone meanwhile
+        slot.startDirectChange();
+        afterCompletion(committed -> slot.endDirectChange(committed ? appliedChange : 0));
+    }
+
+    /**
+     * Write the net pending change of every dirty slot, one statement per inventory row
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.write-coalescing.flush-interval-ms:50}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            flushTimer.record(this::flushDirty);
+        }
+    }
+
+    /**
+     * Compare every slot with its inventory row and correct any balance that drifted.
+     * A slot is skipped while a direct change to it is in flight; the next run checks it again.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.write-coalescing.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            List<StockKey> keys = new ArrayList<>(slots.keySet());
+            keys.sort(null);
+            for (int from = 0; from < keys.size(); from += RECONCILE_CHUNK_SIZE) {
+                List<StockKey> chunk = keys.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, keys.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> chunk.forEach(this::reconcile));
+                } catch (RuntimeException e) {
+                    log.error("Failed to reconcile {} inventory balances", chunk.size(), e);
+                }
+            }
+
+            // Give each parked key one more attempt; a further failure parks it again
+            for (StockKey key : parked) {
+                parked.remove(key);
+                flushFailures.put(key, MAX_FLUSH_ATTEMPTS - 1);
+                dirty.add(key);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushDirty() {
+        // Sorted so flushes lock rows in the same order as other writers
+        Map<StockKey, Long> changes = new TreeMap<>();
+        for (StockKey key : dirty) {
+            dirty.remove(key);
+            if (parked.contains(key)) {
+                // Left pending until reconciliation gives the key another attempt
+                continue;
+            }
+            long change = slots.get(key).takePending();
+            if (change != 0) {
+                changes.put(key, change);
+            }
+        }
+
+        List<StockKey> keys = new ArrayList<>(changes.keySet());
+        for (int from = 0; from < keys.size(); from += FLUSH_CHUNK_SIZE) {
+            List<StockKey> chunk = keys.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, keys.size()));
+            try {
+                write(chunk, changes);
+            } catch (RuntimeException chunkFailure) {
+                if (chunk.size() == 1) {
+                    flushFailed(chunk.get(0), changes.get(chunk.get(0)), chunkFailure);
+                    continue;
+                }
+                // Retry the keys one by one so a key that cannot be written holds back only itself
+                for (StockKey key : chunk) {
+                    try {
+                        write(List.of(key), changes);
+                    } catch (RuntimeException e) {
+                        flushFailed(key, changes.get(key), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(List<StockKey> keys, Map<StockKey, Long> changes) {
+        Map<StockKey, Integer> appliedChanges = transactionTemplate.execute(status -> {
+            Map<StockKey, Integer> applied = new TreeMap<>();
+            Map<Long, Integer> productChanges = new TreeMap<>();
+            for (StockKey key : keys) {
+                int appliedChange = stockUpdater.add(key.getProductId(), key.getWarehouseId(),
+                        Math.toIntExact(changes.get(key)));
+                applied.put(key, appliedChange);
+                productChanges.merge(key.getProductId(), appliedChange, Integer::sum);
+            }
+            productChanges.forEach(stockUpdater::addUnitsInStock);
+            return applied;
+        });
+        appliedChanges.forEach((key, applied) -> {
+            // The database clamps at zero; a difference means the slot was ahead of it, so follow the database
+            slots.get(key).adjust(applied - changes.get(key));
+            flushFailures.remove(key);
+        });
+        writesCounter.increment(keys.size());
+    }
+
+    private void flushFailed(StockKey key, long change, RuntimeException e) {
+        // Put the change back so it is not lost
+        slots.get(key).restorePending(change);
+        int failures = flushFailures.merge(key, 1, Integer::sum);
+        if (failures < MAX_FLUSH_ATTEMPTS) {
+            dirty.add(key);
+            log.warn("Failed to flush inventory change of {} for product id: {} in warehouse id: {}, attempt {} of {}",
+                    change, key.getProductId(), key.getWarehouseId(), failures, MAX_FLUSH_ATTEMPTS, e);
+        } else {
+            parked.add(key);
+            log.error("Parked inventory changes for product id: {} in warehouse id: {} after {} failed flushes; " +
+                    "the pending change of {} is kept and retried after the next reconciliation",
+                    key.getProductId(), key.getWarehouseId(), failures, change, e);
+        }
+    }
+
+    private void reconcile(StockKey key) {
+        Slot slot = slots.get(key);
+        // The share lock holds back direct writers, so the row cannot change until this transaction ends
+        int quantity = inventoryRepository.findQuantityForShare(key.getProductId(), key.getWarehouseId()).orElse(0);
+        long drift = slot.reconcile(quantity);
+        if (drift != 0) {
+            driftCounter.increment();
+            log.warn("Coalesced stock balance for product id: {} in warehouse id: {} drifted from the database, " +
+                    "corrected by {}", key.getProductId(), key.getWarehouseId(), drift);
+        }
+    }
+
+    private Slot slot(StockKey key) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+
+        // Load outside the map so a slow query never blocks other keys
+        int quantity = inventoryRepository.findQuantity(key.getProductId(), key.getWarehouseId()).orElse(0);
+        Slot created = new Slot(quantity);
+        Slot existing = slots.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    private static void afterCompletion(CompletionAction action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.run(true);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompletionAction {
+        void run(boolean committed);
+    }
+
+    /**
+     * Balance of one inventory row, kept in atomics so reservations never block each other.
+     * Reserving, committing and releasing touch a single atomic each; the base only moves in flushes,
+     * reconciliation and settled direct changes, which never overlap a reconciliation of the same row.
+     */
+    private static class Slot {
+        // Database quantity plus pending and reserved changes; what new reservations are checked against
+        private final AtomicLong available;
+        // Committed changes not yet written to the database
+        private final AtomicLong pending = new AtomicLong();
+        // Database quantity, including flushes in progress and committed direct changes
+        private final AtomicLong base;
+        // Direct changes whose transactions have not finished yet
+        private final AtomicInteger unsettledDirectChanges = new AtomicInteger();
+
+        Slot(int quantity) {
+            this.available = new AtomicLong(quantity);
+            this.base = new AtomicLong(quantity);
+        }
+
+        boolean tryReserve(int change) {
+            while (true) {
+                long current = available.get();
+                if (current + change < 0) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current + change)) {
+                    return true;
+                }
+            }
+        }
+
+        void commit(long change) {
+            pending.addAndGet(change);
+        }
+
+        void release(long change) {
+            available.addAndGet(-change);
+        }
+
+        /**
+         * Hand the pending total to a flush, counting it as written until the flush says otherwise
+         */
+        long takePending() {
+            long change = pending.getAndSet(0);
+            base.addAndGet(change);
+            return change;
+        }
+
+        void restorePending(long change) {
+            base.addAndGet(-change);
+            pending.addAndGet(change);
+        }
+
+        void adjust(long change) {
+            base.addAndGet(change);
+            available.addAndGet(change);
+        }
+
+        void startDirectChange() {
+            unsettledDirectChanges.incrementAndGet();
+        }
+
+        void endDirectChange(long appliedChange) {
+            // Settled last, so reconciliation never sees the count drop before the balance moves
+            adjust(appliedChange);
+            unsettledDirectChanges.decrementAndGet();
+        }
+
+        /**
+         * Move the base to the database quantity, unless a direct change is still in flight
+         *
+         * @return The amount the balance was corrected by
+         */
+        long reconcile(int quantity) {
+            if (unsettledDirectChanges.get() > 0) {
+                return 0;
+            }
+            long drift = quantity - base.get();
+            if (drift != 0) {
+                adjust(drift);
+            }
+            return drift;
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package com.portfolio.stocksage.metrics;
+
+import com.portfolio.stocksage.entity.Transaction;
+import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
+import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import com.portfolio.stocksage.repository.InventoryRepository;
+import com.portfolio.stocksage.repository.TransactionRepository;
+import com.portfolio.stocksage.repository.projection.DailyTypeTotal;
+import com.portfolio.stocksage.repository.projection.TransactionStatusCount;
+import com.portfolio.stocksage.repository.projection.TransactionTypeTotal;
+import com.portfolio.stocksage.repository.projection.WarehouseStockSummary;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, incrementally maintained transaction and stock metrics for the dashboard.
+ * <p>
+ * Counters are updated after commit by {@code TransactionServiceImpl} whenever a transaction is created,
+ * changes status or details, or is deleted, and by {@code StockUpdater} for every inventory change. The store
+ * is rebuilt from the {@code transactions} and {@code inventory} tables on startup and re-checked against SQL
+ * by {@link #reconcile()}, which logs any drift it finds and repairs it. Updates that commit while the database
+ * is being read are recorded and replayed onto the fresh counters, so a rebuild never drops them.
+ * Money is kept as long cents (unit prices have scale 2) so all counters are {@link LongAdder}s.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetricsStore {
+
+    private static final int RETENTION_DAYS = 400;
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final TransactionRepository transactionRepository;
+    private final InventoryRepository inventoryRepository;
+
+    // Replaced wholesale on rebuild; null until the first rebuild completes
+    private final AtomicReference<Metrics> metrics = new AtomicReference<>();
+    private final Object rebuildLock = new Object();
+    // Taken by every update just before its transaction commits
+    private final AtomicLong commitTickets = new AtomicLong();
+
+    // Updates applied while the database is read, guarded by this; null when no read runs
+    private List<RecordedUpdate> updatesDuringRead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to build dashboard metrics, dashboard will query the database", e);
+        }
+    }
+
+    /**
+     * Rebuild all counters from the database
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate retainedFrom = LocalDate.now().minusDays(RETENTION_DAYS);
+
+        Metrics rebuilt = readFromDatabase(false, () -> {
+            Metrics fresh = new Metrics(retainedFrom);
+
+            for (TransactionStatusCount statusCount : transactionRepository.countByStatus()) {
+                fresh.statusCounts.get(statusCount.getStatus()).add(statusCount.getTransactionCount());
+            }
+
+            for (DailyTypeTotal total : transactionRepository.sumByDayAndTypeSince(retainedFrom.atStartOfDay())) {
+                DayBucket bucket = fresh.bucket(LocalDate.parse(total.getDay()));
+                int type = TransactionType.valueOf(total.getTransactionType()).ordinal();
+                bucket.counts[type].add(total.getTransactionCount());
+                bucket.completedCents[type].add(toCents(total.getCompletedValue()));
+            }
+
+            fresh.warehouses = loadWarehouses();
+            return fresh;
+        }, metrics::set);
+
+        log.info("Dashboard metrics rebuilt in {} ms ({} days, {} warehouses)",
+                System.currentTimeMillis() - started, rebuilt.days.size(), rebuilt.warehouses.size());
+    }
+
+    /**
+     * Compare the counters with the database: transaction counters that disagree trigger a rebuild, and
+     * warehouse stock that disagrees is logged and replaced. Also refreshes warehouse descriptors and drops
+     * days that fell out of the retention window.
+     */
+    public void reconcile() {
+        Metrics current = metrics.get();
+        if (current == null) {
+            rebuild();
+            return;
+        }
+
+        List<String> drift = new ArrayList<>();
+
+        // Statuses and types without rows are missing from the results, so they are compared with zero
+        Map<TransactionStatus, Long> statusCounts = new EnumMap<>(TransactionStatus.class);
+        for (TransactionStatusCount statusCount : transactionRepository.countByStatus()) {
+            statusCounts.put(statusCount.getStatus(), statusCount.getTransactionCount());
+        }
+        for (TransactionStatus status : TransactionStatus.values()) {
+            long cached = current.statusCounts.get(status).sum();
+            long actual = statusCounts.getOrDefault(status, 0L);
+            if (cached != actual) {
+                drift.add(status + " count " + cached + " != " + actual);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstOfMonth = today.withDayOfMonth(1);
+        Map<TransactionType, TransactionTypeTotal> monthTotals = new EnumMap<>(TransactionType.class);
+        for (TransactionTypeTotal total : transactionRepository.sumByTypeInDateRange(
+                firstOfMonth.atStartOfDay(), LocalDateTime.of(today, LocalTime.MAX), TransactionStatus.COMPLETED)) {
+            monthTotals.put(total.getTransactionType(), total);
+        }
+        for (TransactionType type : TransactionType.values()) {
+            TransactionTypeTotal total = monthTotals.get(type);
+            long actualCount = total != null ? total.getTransactionCount() : 0;
+            BigDecimal actualValue = total != null ? total.getCompletedValue() : BigDecimal.ZERO;
+            long cachedCount = getTransactionCount(firstOfMonth, today, type);
+            BigDecimal cachedValue = getCompletedValue(firstOfMonth, today, type);
+            if (cachedCount != actualCount || cachedValue.compareTo(actualValue) != 0) {
+                drift.add(type + " month-to-date " + cachedCount + "/" + cachedValue
+                        + " != " + actualCount + "/" + actualValue);
+            }
+        }
+
+        if (!drift.isEmpty()) {
+            log.warn("Dashboard metrics drifted from the database, rebuilding: {}", drift);
+            rebuild();
+            return;
+        }
+
+        // Transaction counters agree, so keep them and drop days that fell out of the retention window
+        current.retainedFrom = today.minusDays(RETENTION_DAYS);
+        current.days.keySet().removeIf(day -> day.isBefore(current.retainedFrom));
+
+        // Warehouse stock is replaced from the database either way; only stock updates need replaying onto it
+        Map<Long, WarehouseStock> cachedWarehouses = current.warehouses;
+        Metrics refreshed = readFromDatabase(true, () -> {
+            Metrics fresh = new Metrics(current.retainedFrom);
+            fresh.warehouses = loadWarehouses();
+            return fresh;
+        }, fresh -> current.warehouses = fresh.warehouses);
+
+        List<String> stockDrift = new ArrayList<>();
+        refreshed.warehouses.forEach((id, stock) -> {
+            WarehouseStock cached = cachedWarehouses.get(id);
+            if (cached == null) {
+                return;
+            }
+            if (cached.getTotalQuantity() != stock.getTotalQuantity()) {
+                stockDrift.add(stock.getName() + " quantity " + cached.getTotalQuantity()
+                        + " != " + stock.getTotalQuantity());
+            } else if (cached.getTotalValue().compareTo(stock.getTotalValue()) != 0) {
+                // With matching quantities this is usually a product price change rather than a lost update
+                log.debug("Warehouse {} value {} refreshed to {}", stock.getName(),
+                        cached.getTotalValue(), stock.getTotalValue());
+            }
+        });
+        if (!stockDrift.isEmpty()) {
+            log.warn("Dashboard warehouse stock drifted from the database, refreshed: {}", stockDrift);
+        }
+
+        log.debug("Dashboard metrics reconciled");
+    }
+
+    /**
+     * Whether the store holds complete data for days on or after the given date
+     */
+    public boolean covers(LocalDate from) {
+        Metrics current = metrics.get();
+        return current != null && !from.isBefore(current.retainedFrom);
+    }
+
+    // ---------------------------------------------------------------- updates
+
+    /**
+     * Record a newly created transaction
+     */
+    public void recordTransactionAdded(Transaction transaction) {
+        TransactionSnapshot after = TransactionSnapshot.of(transaction);
+        afterCommit(false, target -> apply(target, after, 1));
+    }
+
+    /**
+     * Record a change to an existing transaction (status, date, type, quantity or price)
+     */
+    public void recordTransactionChanged(TransactionSnapshot before, Transaction transaction) {
+        TransactionSnapshot after = TransactionSnapshot.of(transaction);
+        afterCommit(false, target -> {
+            apply(target, before, -1);
+            apply(target, after, 1);
+        });
+    }
+
+    /**
+     * Record a deleted transaction
+     */
+    public void recordTransactionRemoved(TransactionSnapshot before) {
+        afterCommit(false, target -> apply(target, before, -1));
+    }
+
+    /**
+     * Record a change of stock held in a warehouse
+     */
+    public void recordStockChange(Long warehouseId, int quantityChange, BigDecimal unitPrice) {
+        if (quantityChange == 0) {
+            return;
+        }
+        long valueChange = toCents(unitPrice.multiply(new BigDecimal(quantityChange)));
+        afterCommit(true, target -> {
+            WarehouseStock stock = target.warehouses.get(warehouseId);
+            if (stock != null) {
+                stock.quantity.add(quantityChange);
+                stock.valueCents.add(valueChange);
+            }
+            // Unknown warehouses are picked up by the next reconcile
+        });
+    }
+
+    private static void apply(Metrics target, TransactionSnapshot snapshot, int sign) {
+        target.statusCounts.get(snapshot.getStatus()).add(sign);
+
+        LocalDate day = snapshot.getDate().toLocalDate();
+        if (day.isBefore(target.retainedFrom)) {
+            return;
+        }
+        DayBucket bucket = target.bucket(day);
+        int type = snapshot.getType().ordinal();
+        bucket.counts[type].add(sign);
+        if (snapshot.getStatus() == TransactionStatus.COMPLETED) {
+            bucket.completedCents[type].add(sign * snapshot.getValueCents());
+        }
+    }
+
+    private synchronized void apply(RecordedUpdate update) {
+        Metrics current = metrics.get();
+        if (current != null) {
+            update.getAction().accept(current);
+        }
+        if (updatesDuringRead != null) {
+            updatesDuringRead.add(update);
+        }
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    public long getStatusCount(TransactionStatus status) {
+        Metrics current = metrics.get();
+        return current != null ? current.statusCounts.get(status).sum() : 0;
+    }
+
+    public long getTotalCount() {
+        Metrics current = metrics.get();
+        if (current == null) {
+            return 0;
+        }
+        return current.statusCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Number of transactions (any status) of a type dated between two days, inclusive
+     */
+    public long getTransactionCount(LocalDate from, LocalDate to, TransactionType type) {
+        Metrics current = metrics.get();
+        long total = 0;
+        if (current == null) {
+            return total;
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayBucket bucket = current.days.get(day);
+            if (bucket != null) {
+                total += bucket.counts[type.ordinal()].sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Value of completed transactions of a type dated between two days, inclusive
+     */
+    public BigDecimal getCompletedValue(LocalDate from, LocalDate to, TransactionType type) {
+        Metrics current = metrics.get();
+        long cents = 0;
+        if (current == null) {
+            return BigDecimal.ZERO;
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayBucket bucket = current.days.get(day);
+            if (bucket != null) {
+                cents += bucket.completedCents[type.ordinal()].sum();
+            }
+        }
+        return fromCents(cents);
+    }
+
+    /**
+     * Completed value per day for a type, in date order; days without completed value are omitted
+     */
+    public Map<LocalDate, BigDecimal> getDailyCompletedValues(LocalDate from, LocalDate to, TransactionType type) {
+        Map<LocalDate, BigDecimal> result = new LinkedHashMap<>();
+        Metrics current = metrics.get();
+        if (current == null) {
+            return result;
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayBucket bucket = current.days.get(day);
+            if (bucket != null) {
+                long cents = bucket.completedCents[type.ordinal()].sum();
+                if (cents != 0) {
+                    result.put(day, fromCents(cents));
+                }
+            }
+        }
+        return result;
+    }
+
+    public List<WarehouseStock> getWarehouseStock() {
+        Metrics current = metrics.get();
+        return current != null ? new ArrayList<>(current.warehouses.values()) : new ArrayList<>();
+    }
+
+    // ---------------------------------------------------------------- internals
+
+    /**
+     * Read metrics from the database and install them without losing updates that commit during the read.
+     * <p>
+     * Updates keep landing on the current metrics during the read and are recorded with the ticket their
+     * transaction took just before committing. Afterwards, updates whose ticket is newer than the read are
+     * replayed onto the fresh metrics; updates that finished before the read began are already in it. An
+     * update whose commit overlapped the read may or may not be in it, so the read is repeated. If that keeps
+     * happening the fresh metrics are installed anyway and the next reconcile checks them.
+     *
+     * @param stockOnly Whether only warehouse stock is read, so only stock updates are replayed
+     */
+    private Metrics readFromDatabase(boolean stockOnly, Supplier<Metrics> read, Consumer<Metrics> install) {
+        synchronized (rebuildLock) {
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    synchronized (this) {
+                        updatesDuringRead = new ArrayList<>();
+                    }
+                    Metrics fresh = read.get();
+                    long readEnd = commitTickets.get();
+
+                    synchronized (this) {
+                        List<RecordedUpdate> replayed = new ArrayList<>();
+                        int overlapping = 0;
+                        for (RecordedUpdate update : updatesDuringRead) {
+                            if (stockOnly && !update.isStock()) {
+                                continue;
+                            }
+                            if (update.getTicket() > readEnd) {
+                                replayed.add(update);
+                            } else {
+                                overlapping++;
+                            }
+                        }
+
+                        if (overlapping == 0 || attempt == MAX_READ_ATTEMPTS) {
+                            if (overlapping > 0) {
+                                log.warn("{} dashboard metric updates committed during the database read after {} " +
+                                        "attempts, the next reconcile checks them", overlapping, attempt);
+                            }
+                            replayed.forEach(update -> update.getAction().accept(fresh));
+                            install.accept(fresh);
+                            return fresh;
+                        }
+                        log.debug("{} dashboard metric updates committed during the database read, reading again",
+                                overlapping);
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    updatesDuringRead = null;
+                }
+            }
+        }
+    }
+
+    private Map<Long, WarehouseStock> loadWarehouses() {
+        Map<Long, WarehouseStock> warehouses = new ConcurrentHashMap<>();
+        for (WarehouseStockSummary summary : inventoryRepository.getWarehouseStockSummaries()) {
+            WarehouseStock stock = new WarehouseStock(summary.getId(), summary.getName(), summary.getLocation(),
+                    summary.getCapacity(), summary.getProductCount() != null ? summary.getProductCount().intValue() : 0);
+            stock.quantity.add(summary.getTotalQuantity() != null ? summary.getTotalQuantity() : 0);
+            stock.valueCents.add(toCents(summary.getTotalValue()));
+            warehouses.put(summary.getId(), stock);
+        }
+        return warehouses;
+    }
+
+    /**
+     * Run an update once the surrounding database transaction commits, so rolled back changes are never counted.
+     * Callers update the database in that transaction, so the ticket is taken before the change is visible.
+     */
+    private void afterCommit(boolean stock, Consumer<Metrics> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long ticket;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    ticket = commitTickets.incrementAndGet();
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply(new RecordedUpdate(ticket, stock, action));
+                }
+            });
+        } else {
+            apply(new RecordedUpdate(commitTickets.incrementAndGet(), stock, action));
+        }
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue() : 0;
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static class Metrics {
+        private volatile LocalDate retainedFrom;
+        private final Map<TransactionStatus, LongAdder> statusCounts = new EnumMap<>(TransactionStatus.class);
+        private final Map<LocalDate, DayBucket> days = new ConcurrentHashMap<>();
+        // Replaced by reconcile
+        private volatile Map<Long, WarehouseStock> warehouses = new ConcurrentHashMap<>();
+
+        private Metrics(LocalDate retainedFrom) {
+            this.retainedFrom = retainedFrom;
+            for (TransactionStatus status : TransactionStatus.values()) {
+                statusCounts.put(status, new LongAdder());
+            }
+        }
+
+        private DayBucket bucket(LocalDate day) {
+            return days.computeIfAbsent(day, d -> new DayBucket());
+        }
+    }
+
+    @Value
+    private static class RecordedUpdate {
+        long ticket;
+        boolean stock;
+        Consumer<Metrics> action;
+    }
+
+    private static class DayBucket {
+        private final LongAdder[] counts = newAdders(TransactionType.values().length);
+        private final LongAdder[] completedCents = newAdders(TransactionType.values().length);
+
+        private static LongAdder[] newAdders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    /**
+     * Stock held in one warehouse
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class WarehouseStock {
+        private final Long id;
+        private final String name;
+        private final String location;
+        private final Double capacity;
+        private final int productCount;
+        @Getter(lombok.AccessLevel.NONE)
+        private final LongAdder quantity = new LongAdder();
+        @Getter(lombok.AccessLevel.NONE)
+        private final LongAdder valueCents = new LongAdder();
+
+        public long getTotalQuantity() {
+            return quantity.sum();
+        }
+
+        public BigDecimal getTotalValue() {
+            return fromCents(valueCents.sum());
+        }
+    }
+
+    /**
+     * The fields of a transaction that the counters and the daily rollup depend on, captured before it is modified
+     */
+    @Value
+    public static class TransactionSnapshot {
+        LocalDateTime date;
+        TransactionType type;
+        TransactionStatus status;
+        Long productId;
+        Long warehouseId;
+        int quantity;
+        BigDecimal unitPrice;
+
+        public static TransactionSnapshot of(Transaction transaction) {
+            return new TransactionSnapshot(
+                    transaction.getTransactionDate(),
+                    transaction.getTransactionType(),
+                    transaction.getStatus(),
+                    transaction.getProduct().getId(),
+                    transaction.getWarehouse().getId(),
+                    transaction.getQuantity(),
+                    transaction.getUnitPrice());
+        }
+
+        public BigDecimal getValue() {
+            return unitPrice.multiply(new BigDecimal(quantity));
+        }
+
+        public long getValueCents() {
+            return toCents(getValue());
+        }
+    }
+}
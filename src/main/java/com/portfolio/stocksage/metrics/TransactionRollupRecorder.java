@@ -0,0 +1,125 @@
+package com.portfolio.stocksage.metrics;
+
+import com.portfolio.stocksage.entity.Transaction;
+import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
+import com.portfolio.stocksage.metrics.DashboardMetricsStore.TransactionSnapshot;
+import com.portfolio.stocksage.repository.TransactionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the transaction_daily_rollups table in step with completed transactions.
+ * <p>
+ * Only COMPLETED transactions are counted. Every call runs inside the caller's transaction, so a rollup
+ * row never reflects a transaction change that was rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class TransactionRollupRecorder {
+
+    private final TransactionRollupRepository rollupRepository;
+
+    /**
+     * Record a newly created transaction
+     */
+    public void recordAdded(Transaction transaction) {
+        apply(TransactionSnapshot.of(transaction), 1);
+    }
+
+    /**
+     * Record a batch of newly created transactions, issuing one upsert per (day, product, warehouse, type)
+     */
+    public void recordAddedAll(Collection<Transaction> transactions) {
+        Map<RollupKey, RollupTotals> totals = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            TransactionSnapshot snapshot = TransactionSnapshot.of(transaction);
+            if (snapshot.getStatus() != TransactionStatus.COMPLETED) {
+                continue;
+            }
+
+            Objects.requireNonNull(snapshot.getDate(), "Transaction date is required");
+            RollupKey key = new RollupKey(snapshot.getDate().toLocalDate(), snapshot.getProductId(),
+                    snapshot.getWarehouseId(), snapshot.getType().name());
+            totals.computeIfAbsent(key, k -> new RollupTotals()).add(snapshot);
+        }
+
+        totals.forEach((key, total) -> rollupRepository.addTotals(
+                key.getDay(),
+                key.getProductId(),
+                key.getWarehouseId(),
+                key.getType(),
+                total.quantity,
+                total.amount,
+                total.unitPriceTotal,
+                total.count));
+    }
+
+    /**
+     * Record a change to an existing transaction (status, date, type, product, warehouse, quantity or price)
+     */
+    public void recordChanged(TransactionSnapshot before, Transaction transaction) {
+        TransactionSnapshot after = TransactionSnapshot.of(transaction);
+        if (before.equals(after)) {
+            return;
+        }
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    /**
+     * Record a deleted transaction
+     */
+    public void recordRemoved(TransactionSnapshot before) {
+        apply(before, -1);
+    }
+
+    private void apply(TransactionSnapshot snapshot, int sign) {
+        if (snapshot.getStatus() != TransactionStatus.COMPLETED) {
+            return;
+        }
+
+        Objects.requireNonNull(snapshot.getDate(), "Transaction date is required");
+        rollupRepository.addTotals(
+                snapshot.getDate().toLocalDate(),
+                snapshot.getProductId(),
+                snapshot.getWarehouseId(),
+                snapshot.getType().name(),
+                (long) sign * snapshot.getQuantity(),
+                sign > 0 ? snapshot.getValue() : snapshot.getValue().negate(),
+                sign > 0 ? snapshot.getUnitPrice() : snapshot.getUnitPrice().negate(),
+                sign);
+    }
+
+    @Value
+    private static class RollupKey {
+        LocalDate day;
+        Long productId;
+        Long warehouseId;
+        String type;
+    }
+
+    private static class RollupTotals {
+        private long quantity;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private BigDecimal unitPriceTotal = BigDecimal.ZERO;
+        private int count;
+
+        void add(TransactionSnapshot snapshot) {
+            quantity += snapshot.getQuantity();
+            amount = amount.add(snapshot.getValue());
+            unitPriceTotal = unitPriceTotal.add(snapshot.getUnitPrice());
+            count++;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.portfolio.stocksage.report;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * One inventory report row, read straight from a join-fetched JPQL constructor expression
+ */
+@Value
+public class InventoryReportRow {
+
+    Long productId;
+    String sku;
+    String name;
+    String category;
+    String warehouse;
+    int quantity;
+    BigDecimal unitPrice;
+
+    public BigDecimal getTotalValue() {
+        return unitPrice.multiply(new BigDecimal(quantity));
+    }
+
+    /**
+     * Stock status label for the given low stock threshold
+     */
+    public String getStatus(int lowStockThreshold) {
+        if (quantity <= 0) {
+            return InventoryReportStatistics.STATUS_OUT_OF_STOCK;
+        } else if (quantity <= lowStockThreshold) {
+            return InventoryReportStatistics.STATUS_LOW_STOCK;
+        }
+        return InventoryReportStatistics.STATUS_NORMAL;
+    }
+}
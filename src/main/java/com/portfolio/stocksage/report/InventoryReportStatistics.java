@@ -0,0 +1,41 @@
+package com.portfolio.stocksage.report;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Single-pass summary statistics for the inventory report, fed row by row
+ */
+@Getter
+public class InventoryReportStatistics implements ReportRowSink<InventoryReportRow> {
+
+    public static final String STATUS_NORMAL = "Normal";
+    public static final String STATUS_LOW_STOCK = "Low Stock";
+    public static final String STATUS_OUT_OF_STOCK = "Out of Stock";
+
+    private final int lowStockThreshold;
+    private int totalProducts;
+    private int lowStock;
+    private int outOfStock;
+    private BigDecimal totalValue = BigDecimal.ZERO;
+
+    public InventoryReportStatistics(int lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    @Override
+    public void accept(InventoryReportRow row) {
+        totalProducts++;
+        if (row.getQuantity() <= 0) {
+            outOfStock++;
+        } else if (row.getQuantity() <= lowStockThreshold) {
+            lowStock++;
+        }
+        totalValue = totalValue.add(row.getTotalValue());
+    }
+
+    public int getNormal() {
+        return totalProducts - lowStock - outOfStock;
+    }
+}
@@ -0,0 +1,53 @@
+package com.portfolio.stocksage.report;
+
+import com.portfolio.stocksage.repository.projection.ProductTransactionTotal;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completed quantity, value and transaction count of a product over part of a report period.
+ * <p>
+ * Totals only ever add up, so partial results from separate date segments can be merged in any grouping.
+ */
+@Value
+public class ProductTotals {
+
+    public static final ProductTotals ZERO = new ProductTotals(0, BigDecimal.ZERO, 0);
+
+    long quantity;
+    BigDecimal amount;
+    long transactions;
+
+    public ProductTotals plus(ProductTotals other) {
+        return new ProductTotals(quantity + other.quantity, amount.add(other.amount),
+                transactions + other.transactions);
+    }
+
+    /**
+     * Index per-product query results by product ID
+     */
+    public static Map<Long, ProductTotals> byProduct(List<ProductTransactionTotal> totals) {
+        Map<Long, ProductTotals> byProduct = new HashMap<>(totals.size() * 2);
+        for (ProductTransactionTotal total : totals) {
+            byProduct.put(total.getProductId(), new ProductTotals(
+                    total.getTotalQuantity() != null ? total.getTotalQuantity() : 0,
+                    total.getTotalAmount() != null ? total.getTotalAmount() : BigDecimal.ZERO,
+                    total.getTransactionCount() != null ? total.getTransactionCount() : 0));
+        }
+        return byProduct;
+    }
+
+    /**
+     * Merge two per-product maps, reusing the larger one; neither map may be used by the caller afterwards
+     */
+    public static Map<Long, ProductTotals> merge(Map<Long, ProductTotals> left, Map<Long, ProductTotals> right) {
+        Map<Long, ProductTotals> target = left.size() >= right.size() ? left : right;
+        Map<Long, ProductTotals> source = target == left ? right : left;
+        source.forEach((productId, totals) -> target.merge(productId, totals, ProductTotals::plus));
+        return target;
+    }
+}
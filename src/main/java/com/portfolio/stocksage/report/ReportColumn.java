@@ -0,0 +1,17 @@
+package com.portfolio.stocksage.report;
+
+import lombok.Value;
+
+/**
+ * Describes one column of a {@link ReportTable}
+ */
+@Value
+public class ReportColumn {
+
+    String name;
+    ReportColumnType type;
+
+    public static ReportColumn of(String name, ReportColumnType type) {
+        return new ReportColumn(name, type);
+    }
+}
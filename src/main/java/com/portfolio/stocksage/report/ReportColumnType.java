@@ -0,0 +1,34 @@
+package com.portfolio.stocksage.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Storage type of a report column
+ */
+public enum ReportColumnType {
+    INTEGER,
+    LONG,
+    DECIMAL,
+    TEXT,
+    DATE_TIME,
+    OBJECT;
+
+    /**
+     * Infer the column type that can hold the given value
+     */
+    public static ReportColumnType of(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return INTEGER;
+        } else if (value instanceof Long) {
+            return LONG;
+        } else if (value instanceof BigDecimal) {
+            return DECIMAL;
+        } else if (value instanceof String) {
+            return TEXT;
+        } else if (value instanceof LocalDateTime) {
+            return DATE_TIME;
+        }
+        return OBJECT;
+    }
+}
@@ -0,0 +1,107 @@
+package com.portfolio.stocksage.report;
+
+import com.portfolio.stocksage.export.ExportFormat;
+import com.portfolio.stocksage.service.FileStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Rendered report files, cached on disk by (report ID, format).
+ * <p>
+ * A generated report never changes, so its rendering in a given format only has to be produced once. Later
+ * downloads are served from the cached file until the report retention period removes it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReportExportCache {
+
+    private static final String REPORTS_CATEGORY = "reports";
+    private static final String FILE_PREFIX = "export-";
+
+    private final FileStorageService fileStorageService;
+
+    @Value("${app.reports.retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Renders a report into a stream, which the renderer must not close
+     */
+    @FunctionalInterface
+    public interface ReportRenderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Get the cached file for a report in the given format, rendering it on the first request
+     */
+    public Path getOrRender(Long reportId, ExportFormat format, ReportRenderer renderer) throws IOException {
+        Path target = fileStorageService.load(fileName(reportId, format), REPORTS_CATEGORY);
+        if (Files.isRegularFile(target)) {
+            log.debug("Serving report {} as {} from cache", reportId, format);
+            return target;
+        }
+
+        // Render into a private temporary file so concurrent requests never see a partial file
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                renderer.render(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        log.info("Rendered report {} as {} ({} bytes)", reportId, format, Files.size(target));
+        return target;
+    }
+
+    /**
+     * Delete rendered files older than the retention period
+     *
+     * @return Number of files deleted
+     */
+    public int purgeExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int deleted = 0;
+
+        try (Stream<Path> files = fileStorageService.loadAll(REPORTS_CATEGORY)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String filename = file.getFileName().toString();
+                if (!filename.startsWith(FILE_PREFIX)) {
+                    continue;
+                }
+
+                try {
+                    Path path = fileStorageService.load(filename, REPORTS_CATEGORY);
+                    FileTime modified = Files.getLastModifiedTime(path);
+                    if (modified.toInstant().isBefore(cutoff) && Files.deleteIfExists(path)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not purge rendered report {}: {}", filename, e.getMessage());
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    private static String fileName(Long reportId, ExportFormat format) {
+        return FILE_PREFIX + reportId + "." + format.getFileExtension();
+    }
+}
@@ -0,0 +1,87 @@
+package com.portfolio.stocksage.report;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocates report IDs from the {@code report_id_seq} database sequence in blocks.
+ * <p>
+ * Each sequence call reserves {@link #BLOCK_SIZE} IDs. IDs within a block are handed out with a single
+ * atomic increment, so concurrent report generation only meets a lock once per block. Because blocks come
+ * from the database, IDs keep increasing across restarts; the unused rest of a block is skipped.
+ * <p>
+ * A block is fetched on the caller's connection, or on a briefly borrowed one when the caller is not in a
+ * transaction, never on a second connection while the caller holds one: threads queued behind the refill
+ * could otherwise hold every pooled connection while the refilling thread waits for another. PostgreSQL
+ * refuses {@code nextval} in a read-only transaction, so report generators take their ID before opening theirs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportIdAllocator {
+
+    static final int BLOCK_SIZE = 50;
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('report_id_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EXHAUSTED);
+    private final Object refillLock = new Object();
+
+    /**
+     * Allocate the next report ID
+     *
+     * @throws IllegalStateException if called inside a read-only transaction
+     */
+    public long nextId() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Checked on every call, not only on refills, so a misplaced caller fails straight away
+            throw new IllegalStateException("Report IDs must be allocated outside read-only transactions");
+        }
+
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.limit) {
+                return id;
+            }
+
+            // Block used up; only one thread fetches the next one, the others retry against it
+            synchronized (refillLock) {
+                if (current.get() == block) {
+                    current.set(fetchBlock());
+                }
+            }
+        }
+    }
+
+    private Block fetchBlock() {
+        Long start = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+        if (start == null) {
+            throw new IllegalStateException("report_id_seq returned no value");
+        }
+
+        log.debug("Reserved report IDs {} to {}", start, start + BLOCK_SIZE - 1);
+        return new Block(start, start + BLOCK_SIZE);
+    }
+
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(0, 0);
+
+        final AtomicLong next;
+        final long limit;
+
+        Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
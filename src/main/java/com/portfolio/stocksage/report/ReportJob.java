@@ -0,0 +1,103 @@
+package com.portfolio.stocksage.report;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+/**
+ * A report generated in the background on behalf of a user.
+ * <p>
+ * Status changes are synchronized so a job cancelled while it is still queued never starts, and a job that has
+ * finished can no longer be cancelled.
+ */
+@Getter
+public class ReportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ReportType reportType;
+    private final Map<String, Object> parameters;
+    private final String owner;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final ReportProgress progress = new ReportProgress();
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Long reportId;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public ReportJob(ReportType reportType, Map<String, Object> parameters, String owner) {
+        this.reportType = reportType;
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.owner = owner;
+    }
+
+    public long getRowsProcessed() {
+        return progress.getRowsProcessed();
+    }
+
+    public boolean isActive() {
+        return !status.isFinished();
+    }
+
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Move a queued job to running
+     *
+     * @return false if the job was cancelled before it started
+     */
+    public synchronized boolean start() {
+        if (status != ReportJobStatus.QUEUED) {
+            return false;
+        }
+        status = ReportJobStatus.RUNNING;
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    public synchronized void complete(Long reportId) {
+        if (status == ReportJobStatus.RUNNING) {
+            this.reportId = reportId;
+            finish(ReportJobStatus.COMPLETED);
+        }
+    }
+
+    public synchronized void fail(String error) {
+        if (status == ReportJobStatus.RUNNING) {
+            this.error = error;
+            finish(ReportJobStatus.FAILED);
+        }
+    }
+
+    /**
+     * Cancel the job if it has not finished yet, interrupting its generation if it is running
+     *
+     * @return false if the job had already finished
+     */
+    public synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        progress.cancel();
+        finish(ReportJobStatus.CANCELLED);
+
+        Future<?> running = future;
+        if (running != null) {
+            running.cancel(true);
+        }
+        return true;
+    }
+
+    private void finish(ReportJobStatus finalStatus) {
+        status = finalStatus;
+        finishedAt = LocalDateTime.now();
+    }
+}
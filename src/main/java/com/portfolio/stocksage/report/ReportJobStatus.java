@@ -0,0 +1,16 @@
+package com.portfolio.stocksage.report;
+
+/**
+ * Lifecycle of an asynchronous report job
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,60 @@
+package com.portfolio.stocksage.report;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a report generated on a background thread, counted in rows appended to its report tables.
+ * <p>
+ * The progress is bound to the generating thread, so report generators do not need to know whether they run as a
+ * job: they report every row they add to a report table here, and that is also where a cancelled job stops.
+ */
+public final class ReportProgress {
+
+    private static final ThreadLocal<ReportProgress> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private volatile boolean cancelled;
+
+    /**
+     * Track rows generated on the current thread until {@link #unbind()}
+     */
+    public static void bind(ReportProgress progress) {
+        CURRENT.set(progress);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Count a row generated on the current thread
+     *
+     * @throws CancellationException If the report being generated has been cancelled
+     */
+    public static void rowProcessed() {
+        ReportProgress progress = CURRENT.get();
+        if (progress == null) {
+            return;
+        }
+        if (progress.cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Report generation was cancelled");
+        }
+        progress.rowsProcessed.incrementAndGet();
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Ask the generating thread to stop at its next row
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+}
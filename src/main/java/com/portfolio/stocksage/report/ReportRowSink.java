@@ -0,0 +1,26 @@
+package com.portfolio.stocksage.report;
+
+/**
+ * Consumer of typed report rows emitted by a streaming report pipeline.
+ * Rows are pushed one at a time, so a sink decides how much of the report is retained.
+ *
+ * @param <T> Row type
+ */
+@FunctionalInterface
+public interface ReportRowSink<T> {
+
+    /**
+     * Accept the next report row
+     */
+    void accept(T row);
+
+    /**
+     * Return a sink that passes each row to this sink and then to {@code next}
+     */
+    default ReportRowSink<T> andThen(ReportRowSink<? super T> next) {
+        return row -> {
+            accept(row);
+            next.accept(row);
+        };
+    }
+}
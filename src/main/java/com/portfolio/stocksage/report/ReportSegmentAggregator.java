@@ -0,0 +1,228 @@
+package com.portfolio.stocksage.report;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Aggregates long report periods by splitting them into date segments that are queried in parallel.
+ * <p>
+ * Each segment runs on a worker of a dedicated fork/join pool, in its own read-only transaction and therefore on
+ * its own connection, and the partial results are merged pairwise with an associative combiner. Segments are read
+ * in separate transactions, so a report can see a transaction committed while it was being aggregated in one
+ * segment but not another; that is acceptable for performance reports. The pool is shared by all reports, so
+ * {@code app.reports.parallel.threads} bounds the extra connections they take and must stay below the pool size.
+ * <p>
+ * Callers should not hold a connection while they wait for the workers. One that does (inside a transaction, or
+ * with an open-in-view EntityManager in a web request) keeps it pinned, and enough such callers would leave the
+ * workers no connection to run on. So at most pool size minus worker threads of them wait at a time; the rest
+ * run their segments one after another on the connection they already hold. The limit only counts report callers:
+ * other requests holding connections at the same time can still use up the headroom, in which case the workers
+ * wait up to the pool's connection timeout like any other borrower.
+ */
+@Component
+@Slf4j
+public class ReportSegmentAggregator {
+
+    private final ForkJoinPool pool;
+    private final TransactionTemplate segmentTransaction;
+    private final TransactionTemplate callerTransaction;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Semaphore waitingConnectionHolders;
+    private final Duration segmentLength;
+
+    public ReportSegmentAggregator(PlatformTransactionManager transactionManager,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${app.reports.parallel.threads:4}") int threads,
+                                   @Value("${app.reports.parallel.segment-days:30}") int segmentDays,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.pool = new ForkJoinPool(threads, ReportSegmentAggregator::newWorker, null, false);
+        this.entityManagerFactory = entityManagerFactory;
+        this.waitingConnectionHolders = new Semaphore(Math.max(0, connectionPoolSize - threads));
+        this.segmentLength = Duration.ofDays(segmentDays);
+
+        this.segmentTransaction = new TransactionTemplate(transactionManager);
+        this.segmentTransaction.setReadOnly(true);
+        this.segmentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Joins the caller's transaction if there is one, so the caller's connection is reused
+        this.callerTransaction = new TransactionTemplate(transactionManager);
+        this.callerTransaction.setReadOnly(true);
+
+        log.info("Report segment aggregator initialized: {} threads, {} day segments", threads, segmentDays);
+    }
+
+    /**
+     * Aggregate the period from startDate to endDate, both inclusive
+     *
+     * @param segmentQuery Aggregates the half-open segment [from, to); runs in a read-only transaction
+     * @param combiner     Merges two partial results; must be associative, and may reuse either argument
+     */
+    public <T> T aggregate(LocalDateTime startDate, LocalDateTime endDate,
+                           BiFunction<LocalDateTime, LocalDateTime, T> segmentQuery, BinaryOperator<T> combiner) {
+        List<LocalDateTime> bounds = segmentBounds(startDate, endDate);
+        int segments = bounds.size() - 1;
+
+        if (segments == 1) {
+            // Not worth a second connection
+            return aggregateOnCaller(bounds, segmentQuery, combiner);
+        }
+
+        boolean holdsConnection = TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.hasResource(entityManagerFactory);
+        if (holdsConnection && !waitingConnectionHolders.tryAcquire()) {
+            log.debug("Connection pool is short, aggregating {} segments on the caller's connection", segments);
+            return aggregateOnCaller(bounds, segmentQuery, combiner);
+        }
+
+        try {
+            return aggregateInParallel(bounds, segmentQuery, combiner);
+        } finally {
+            if (holdsConnection) {
+                waitingConnectionHolders.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T aggregateInParallel(List<LocalDateTime> bounds, BiFunction<LocalDateTime, LocalDateTime, T> segmentQuery,
+                                      BinaryOperator<T> combiner) {
+        int segments = bounds.size() - 1;
+        LocalDateTime startDate = bounds.get(0);
+        LocalDateTime endDate = bounds.get(segments);
+        long started = System.nanoTime();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ForkJoinTask<T> task = pool.submit(new SegmentTask<>(bounds, 0, segments, segmentQuery, combiner, cancelled));
+
+        try {
+            T result = task.get();
+            log.debug("Aggregated {} segments from {} to {} in {} ms", segments, startDate, endDate,
+                    (System.nanoTime() - started) / 1_000_000);
+            return result;
+        } catch (InterruptedException e) {
+            // Segments that have not started yet are skipped; running queries finish on their own
+            cancelled.set(true);
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Report aggregation was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Report aggregation failed", cause);
+        }
+    }
+
+    /**
+     * Aggregate the segments one after another on the calling thread and its connection
+     */
+    private <T> T aggregateOnCaller(List<LocalDateTime> bounds, BiFunction<LocalDateTime, LocalDateTime, T> segmentQuery,
+                                    BinaryOperator<T> combiner) {
+        return callerTransaction.execute(status -> {
+            T result = segmentQuery.apply(bounds.get(0), bounds.get(1));
+            for (int segment = 1; segment < bounds.size() - 1; segment++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Report aggregation was interrupted");
+                }
+                result = combiner.apply(result, segmentQuery.apply(bounds.get(segment), bounds.get(segment + 1)));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Segment boundaries from startDate to just past endDate; segment i is [bounds[i], bounds[i + 1])
+     */
+    private List<LocalDateTime> segmentBounds(LocalDateTime startDate, LocalDateTime endDate) {
+        // Timestamps are stored with microsecond precision, so this keeps endDate itself in the last segment
+        LocalDateTime end = endDate.plus(1, ChronoUnit.MICROS);
+
+        List<LocalDateTime> bounds = new ArrayList<>();
+        LocalDateTime from = startDate;
+        bounds.add(from);
+        while (from.plus(segmentLength).isBefore(end)) {
+            from = from.plus(segmentLength);
+            bounds.add(from);
+        }
+        bounds.add(end);
+        return bounds;
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("ReportSegment-" + worker.getPoolIndex());
+        // Workers may be created from any thread; give them the application class loader for Hibernate
+        worker.setContextClassLoader(ReportSegmentAggregator.class.getClassLoader());
+        return worker;
+    }
+
+    /**
+     * Aggregates segments [lo, hi) by splitting the range in half until a single segment is left
+     */
+    private class SegmentTask<T> extends RecursiveTask<T> {
+
+        private final List<LocalDateTime> bounds;
+        private final int lo;
+        private final int hi;
+        private final BiFunction<LocalDateTime, LocalDateTime, T> segmentQuery;
+        private final BinaryOperator<T> combiner;
+        private final AtomicBoolean cancelled;
+
+        SegmentTask(List<LocalDateTime> bounds, int lo, int hi, BiFunction<LocalDateTime, LocalDateTime, T> segmentQuery,
+                    BinaryOperator<T> combiner, AtomicBoolean cancelled) {
+            this.bounds = bounds;
+            this.lo = lo;
+            this.hi = hi;
+            this.segmentQuery = segmentQuery;
+            this.combiner = combiner;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected T compute() {
+            if (hi - lo == 1) {
+                if (cancelled.get()) {
+                    throw new CancellationException("Report aggregation was cancelled");
+                }
+                return segmentTransaction.execute(status -> segmentQuery.apply(bounds.get(lo), bounds.get(hi)));
+            }
+
+            int mid = (lo + hi) >>> 1;
+            SegmentTask<T> left = new SegmentTask<>(bounds, lo, mid, segmentQuery, combiner, cancelled);
+            SegmentTask<T> right = new SegmentTask<>(bounds, mid, hi, segmentQuery, combiner, cancelled);
+            left.fork();
+            T rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.portfolio.stocksage.report;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.stocksage.dto.response.ReportDTO;
+import com.portfolio.stocksage.service.FileStorageService;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Two-tier store for generated reports.
+ * <p>
+ * Recent reports are held in a size- and TTL-bounded in-memory cache. Every report is also written
+ * through to a gzip-compressed JSON file in the "reports" storage directory, so a report that has been
+ * evicted from memory, or was generated before a restart, is read back from disk on demand until the
+ * retention period removes it.
+ */
+@Component
+@Slf4j
+public class ReportStore {
+
+    private static final String REPORTS_CATEGORY = "reports";
+    private static final String FILE_PREFIX = "report-";
+    private static final String FILE_SUFFIX = ".json.gz";
+
+    private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.reports.memory-max-size:50}")
+    private int memoryMaxSize;
+
+    @Value("${app.reports.memory-ttl-minutes:30}")
+    private int memoryTtlMinutes;
+
+    @Value("${app.reports.retention-days:30}")
+    private int retentionDays;
+
+    private Cache<Long, ReportDTO> memory;
+
+    public ReportStore(FileStorageService fileStorageService, ObjectMapper objectMapper) {
+        this.fileStorageService = fileStorageService;
+        // Keep decimals exact when reading reports back from disk
+        this.objectMapper = objectMapper.copy()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    @PostConstruct
+    public void init() {
+        memory = Caffeine.newBuilder()
+                .maximumSize(memoryMaxSize)
+                .expireAfterAccess(memoryTtlMinutes, TimeUnit.MINUTES)
+                .build();
+        log.info("Report store initialized: {} reports in memory for {} minutes, {} days on disk",
+                memoryMaxSize, memoryTtlMinutes, retentionDays);
+    }
+
+    /**
+     * Store a report in memory and persist it to disk
+     */
+    public void save(ReportDTO report) {
+        memory.put(report.getId(), report);
+
+        try {
+            writeToDisk(report);
+        } catch (IOException e) {
+            // The report stays usable from memory; it just won't survive eviction or a restart
+            log.error("Failed to persist report {}", report.getId(), e);
+        }
+    }
+
+    /**
+     * Find a report in memory, falling back to its file on disk
+     */
+    public Optional<ReportDTO> find(Long reportId) {
+        return Optional.ofNullable(memory.get(reportId, this::readFromDisk));
+    }
+
+    /**
+     * Delete persisted reports older than the retention period
+     *
+     * @return Number of report files deleted
+     */
+    public int purgeExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int deleted = 0;
+
+        try (Stream<Path> files = fileStorageService.loadAll(REPORTS_CATEGORY)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String filename = file.getFileName().toString();
+                if (!filename.startsWith(FILE_PREFIX) || !filename.endsWith(FILE_SUFFIX)) {
+                    continue;
+                }
+
+                try {
+                    Path path = fileStorageService.load(filename, REPORTS_CATEGORY);
+                    FileTime modified = Files.getLastModifiedTime(path);
+                    if (modified.toInstant().isBefore(cutoff) && Files.deleteIfExists(path)) {
+                        memory.invalidate(parseReportId(filename));
+                        deleted++;
+                    }
+                } catch (IOException | NumberFormatException e) {
+                    log.warn("Could not purge report file {}: {}", filename, e.getMessage());
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    private void writeToDisk(ReportDTO report) throws IOException {
+        StoredReport stored = new StoredReport();
+        stored.setReport(report);
+        stored.setColumnTypes(report.getTable().getColumnTypes());
+
+        // Write to a temporary file first so a crash never leaves a truncated report behind
+        Path target = fileStorageService.load(fileName(report.getId()), REPORTS_CATEGORY);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            objectMapper.writeValue(out, stored);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ReportDTO readFromDisk(Long reportId) {
+        Path path = fileStorageService.load(fileName(reportId), REPORTS_CATEGORY);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            StoredReport stored = objectMapper.readValue(in, StoredReport.class);
+            ReportDTO report = stored.getReport();
+
+            // JSON drops the Java types of the cells, so rebuild the table with its original column types
+            report.setTable(ReportTable.fromRows(report.getData(), stored.getColumnTypes()));
+            log.debug("Loaded report {} from disk", reportId);
+            return report;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("Failed to read persisted report {}", reportId, e);
+            return null;
+        }
+    }
+
+    private static String fileName(Long reportId) {
+        return FILE_PREFIX + reportId + FILE_SUFFIX;
+    }
+
+    private static Long parseReportId(String filename) {
+        return Long.valueOf(filename.substring(FILE_PREFIX.length(), filename.length() - FILE_SUFFIX.length()));
+    }
+
+    /**
+     * On-disk form of a report: the serialized report plus the column types needed to restore its table
+     */
+    @Data
+    @NoArgsConstructor
+    static class StoredReport {
+        private ReportDTO report;
+        private Map<String, ReportColumnType> columnTypes;
+    }
+}
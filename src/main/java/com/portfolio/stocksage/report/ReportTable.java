@@ -0,0 +1,763 @@
+package com.portfolio.stocksage.report;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Column-oriented storage for report rows.
+ * <p>
+ * Each column keeps its values in a typed array instead of one HashMap of boxed values per row:
+ * ints and longs as primitives, decimals as unscaled longs with a scale per value, text dictionary-encoded
+ * and date-times as epoch seconds plus nanos. A value that does not fit its column's storage moves that
+ * column to plain object storage, so writes never fail.
+ * <p>
+ * {@link #asRows()} exposes the rows as read-only map views, which keeps the serialized report in its
+ * list-of-objects shape; exporters can instead read cells through the typed getters.
+ */
+public class ReportTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<ReportColumn> columns = new ArrayList<>();
+    private final List<ColumnVector> vectors = new ArrayList<>();
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private RowWriter writer;
+    private int rowCount;
+
+    public ReportTable() {
+    }
+
+    public ReportTable(List<ReportColumn> columns) {
+        columns.forEach(this::addColumn);
+    }
+
+    /**
+     * Build a table from map rows. Columns listed in {@code columnOrder} come first, any other keys
+     * follow in order of first appearance; each column's type is taken from its first non-null value.
+     */
+    public static ReportTable fromRows(List<Map<String, Object>> rows, List<String> columnOrder) {
+        Map<String, ReportColumnType> types = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            for (Map.Entry<String, Object> entry : row.entrySet()) {
+                if (types.get(entry.getKey()) == null) {
+                    types.put(entry.getKey(), entry.getValue() != null ? ReportColumnType.of(entry.getValue()) : null);
+                }
+            }
+        }
+
+        ReportTable table = new ReportTable();
+        if (columnOrder != null) {
+            for (String name : columnOrder) {
+                if (types.containsKey(name)) {
+                    table.addColumn(name, Objects.requireNonNullElse(types.get(name), ReportColumnType.OBJECT));
+                }
+            }
+        }
+        types.forEach((name, type) -> {
+            if (table.indexOf(name) < 0) {
+                table.addColumn(name, Objects.requireNonNullElse(type, ReportColumnType.OBJECT));
+            }
+        });
+
+        RowWriter writer = table.rowWriter();
+        for (Map<String, Object> row : rows) {
+            row.forEach((name, value) -> writer.set(table.indexOf(name), value));
+            writer.commit();
+        }
+        table.trimToSize();
+        return table;
+    }
+
+    /**
+     * Rebuild a typed table from map rows whose values lost their Java types, e.g. after a JSON round trip.
+     * Values are converted to each column's type where that is lossless and kept as they are otherwise.
+     */
+    public static ReportTable fromRows(List<Map<String, Object>> rows, Map<String, ReportColumnType> columnTypes) {
+        ReportTable table = new ReportTable();
+        columnTypes.forEach(table::addColumn);
+
+        RowWriter writer = table.rowWriter();
+        for (Map<String, Object> row : rows) {
+            row.forEach((name, value) -> {
+                int column = table.indexOf(name);
+                if (column < 0) {
+                    column = table.addColumn(name, ReportColumnType.of(value));
+                }
+                writer.set(column, convert(value, table.columns.get(column).getType()));
+            });
+            writer.commit();
+        }
+        table.trimToSize();
+        return table;
+    }
+
+    /**
+     * Add a column; rows already in the table get null for it
+     *
+     * @return Index of the new column
+     */
+    public int addColumn(ReportColumn column) {
+        if (columnIndex.containsKey(column.getName())) {
+            throw new IllegalArgumentException("Duplicate report column: " + column.getName());
+        }
+
+        ColumnVector vector = newVector(column.getType());
+        if (rowCount > 0) {
+            vector.nulls.set(0, rowCount);
+        }
+
+        columns.add(column);
+        vectors.add(vector);
+        columnIndex.put(column.getName(), columns.size() - 1);
+        return columns.size() - 1;
+    }
+
+    public int addColumn(String name, ReportColumnType type) {
+        return addColumn(ReportColumn.of(name, type));
+    }
+
+    public List<ReportColumn> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Column names mapped to their storage types, in column order
+     */
+    public Map<String, ReportColumnType> getColumnTypes() {
+        Map<String, ReportColumnType> types = new LinkedHashMap<>();
+        columns.forEach(column -> types.put(column.getName(), column.getType()));
+        return types;
+    }
+
+    public List<String> getColumnNames() {
+        return columns.stream()
+                .map(ReportColumn::getName)
+                .collect(Collectors.toList());
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Index of the named column, or -1 if the table has no such column
+     */
+    public int indexOf(String columnName) {
+        Integer index = columnIndex.get(columnName);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Writer that appends rows to this table one cell at a time
+     */
+    public RowWriter rowWriter() {
+        if (writer == null) {
+            writer = new RowWriter();
+        }
+        return writer;
+    }
+
+    /**
+     * Append a row whose values are given in column order
+     */
+    public void addRow(Object... values) {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+        }
+
+        RowWriter rowWriter = rowWriter();
+        for (int column = 0; column < values.length; column++) {
+            rowWriter.set(column, values[column]);
+        }
+        rowWriter.commit();
+    }
+
+    public boolean isNull(int row, int column) {
+        return vector(row, column).isNull(row);
+    }
+
+    public Object getValue(int row, int column) {
+        return vector(row, column).get(row);
+    }
+
+    /**
+     * Numeric cell value as a long; returns 0 for null cells, so check {@link #isNull} first
+     */
+    public long getLong(int row, int column) {
+        return vector(row, column).getLong(row);
+    }
+
+    public BigDecimal getDecimal(int row, int column) {
+        return vector(row, column).getDecimal(row);
+    }
+
+    public String getText(int row, int column) {
+        Object value = getValue(row, column);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Read-only list view of the rows, each row a map from column name to value
+     */
+    public List<Map<String, Object>> asRows() {
+        return new RowList();
+    }
+
+    /**
+     * Release spare array capacity once the table is complete
+     */
+    public void trimToSize() {
+        vectors.forEach(vector -> vector.trim(rowCount));
+    }
+
+    private ColumnVector vector(int row, int column) {
+        Objects.checkIndex(row, rowCount);
+        return vectors.get(column);
+    }
+
+    private ColumnVector promote(int column) {
+        ColumnVector current = vectors.get(column);
+        ObjectVector promoted = new ObjectVector();
+        for (int row = 0; row < rowCount; row++) {
+            Object value = current.get(row);
+            if (value != null) {
+                promoted.setValue(row, value);
+            } else {
+                promoted.setNull(row);
+            }
+        }
+
+        vectors.set(column, promoted);
+        columns.set(column, ReportColumn.of(columns.get(column).getName(), ReportColumnType.OBJECT));
+        return promoted;
+    }
+
+    private static Object convert(Object value, ReportColumnType type) {
+        if (value == null) {
+            return null;
+        }
+
+        switch (type) {
+            case INTEGER:
+                if (value instanceof Long && (Long) value == ((Long) value).intValue()) {
+                    return ((Long) value).intValue();
+                }
+                return value;
+            case LONG:
+                if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    return ((Number) value).longValue();
+                }
+                return value;
+            case DECIMAL:
+                if (value instanceof Integer || value instanceof Long) {
+                    return BigDecimal.valueOf(((Number) value).longValue());
+                } else if (value instanceof Double) {
+                    return BigDecimal.valueOf((Double) value);
+                }
+                return value;
+            case DATE_TIME:
+                if (value instanceof String) {
+                    try {
+                        return LocalDateTime.parse((String) value);
+                    } catch (DateTimeParseException e) {
+                        return value;
+                    }
+                }
+                return value;
+            default:
+                return value;
+        }
+    }
+
+    private static ColumnVector newVector(ReportColumnType type) {
+        switch (type) {
+            case INTEGER:
+                return new IntVector();
+            case LONG:
+                return new LongVector();
+            case DECIMAL:
+                return new DecimalVector();
+            case TEXT:
+                return new TextVector();
+            case DATE_TIME:
+                return new DateTimeVector();
+            default:
+                return new ObjectVector();
+        }
+    }
+
+    private static int grow(int capacity, int required) {
+        return Math.max(required, Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1)));
+    }
+
+    /**
+     * Appends one row at a time; cells not set before {@link #commit()} are stored as null
+     */
+    public final class RowWriter {
+
+        private final BitSet assigned = new BitSet();
+
+        private RowWriter() {
+        }
+
+        public RowWriter set(int column, Object value) {
+            ColumnVector vector = vectors.get(column);
+            if (value == null) {
+                vector.setNull(rowCount);
+            } else if (!vector.setValue(rowCount, value)) {
+                promote(column).setValue(rowCount, value);
+            }
+            assigned.set(column);
+            return this;
+        }
+
+        public RowWriter set(int column, int value) {
+            if (!vectors.get(column).setInt(rowCount, value)) {
+                promote(column).setValue(rowCount, value);
+            }
+            assigned.set(column);
+            return this;
+        }
+
+        public RowWriter set(int column, long value) {
+            if (!vectors.get(column).setLong(rowCount, value)) {
+                promote(column).setValue(rowCount, value);
+            }
+            assigned.set(column);
+            return this;
+        }
+
+        public void commit() {
+            for (int column = 0; column < vectors.size(); column++) {
+                if (!assigned.get(column)) {
+                    vectors.get(column).setNull(rowCount);
+                }
+            }
+            assigned.clear();
+            rowCount++;
+        }
+    }
+
+    private class RowList extends AbstractList<Map<String, Object>> {
+
+        @Override
+        public Map<String, Object> get(int index) {
+            Objects.checkIndex(index, rowCount);
+            return new RowView(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    private class RowView extends AbstractMap<String, Object> {
+
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer column = columnIndex.get(key);
+            return column != null ? vectors.get(column).get(row) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < columns.size();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry = new SimpleImmutableEntry<>(
+                                    columns.get(column).getName(), vectors.get(column).get(row));
+                            column++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columns.size();
+                }
+            };
+        }
+    }
+
+    private abstract static class ColumnVector {
+
+        final BitSet nulls = new BitSet();
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        void setNull(int row) {
+            nulls.set(row);
+        }
+
+        Object get(int row) {
+            return nulls.get(row) ? null : read(row);
+        }
+
+        /**
+         * Store a non-null value
+         *
+         * @return false if the value does not fit this column's storage
+         */
+        abstract boolean setValue(int row, Object value);
+
+        abstract Object read(int row);
+
+        abstract void trim(int size);
+
+        boolean setInt(int row, int value) {
+            return setValue(row, value);
+        }
+
+        boolean setLong(int row, long value) {
+            return setValue(row, value);
+        }
+
+        long getLong(int row) {
+            Object value = get(row);
+            if (value == null) {
+                return 0L;
+            } else if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            throw new IllegalStateException("Column value is not numeric: " + value);
+        }
+
+        BigDecimal getDecimal(int row) {
+            Object value = get(row);
+            if (value == null || value instanceof BigDecimal) {
+                return (BigDecimal) value;
+            } else if (value instanceof Number) {
+                return new BigDecimal(value.toString());
+            }
+            throw new IllegalStateException("Column value is not numeric: " + value);
+        }
+    }
+
+    private static class IntVector extends ColumnVector {
+
+        private int[] values = new int[0];
+
+        @Override
+        boolean setInt(int row, int value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            values[row] = value;
+            nulls.clear(row);
+            return true;
+        }
+
+        @Override
+        boolean setLong(int row, long value) {
+            return value == (int) value && setInt(row, (int) value);
+        }
+
+        @Override
+        boolean setValue(int row, Object value) {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return setInt(row, ((Number) value).intValue());
+            }
+            return false;
+        }
+
+        @Override
+        Object read(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return nulls.get(row) ? 0L : values[row];
+        }
+
+        @Override
+        void trim(int size) {
+            if (values.length > size) {
+                values = Arrays.copyOf(values, size);
+            }
+        }
+    }
+
+    private static class LongVector extends ColumnVector {
+
+        private long[] values = new long[0];
+
+        @Override
+        boolean setLong(int row, long value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            values[row] = value;
+            nulls.clear(row);
+            return true;
+        }
+
+        @Override
+        boolean setInt(int row, int value) {
+            return setLong(row, value);
+        }
+
+        @Override
+        boolean setValue(int row, Object value) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return setLong(row, ((Number) value).longValue());
+            }
+            return false;
+        }
+
+        @Override
+        Object read(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return nulls.get(row) ? 0L : values[row];
+        }
+
+        @Override
+        void trim(int size) {
+            if (values.length > size) {
+                values = Arrays.copyOf(values, size);
+            }
+        }
+    }
+
+    /**
+     * Decimals stored as unscaled longs with a scale per row, so every value reads back exactly as it was
+     * stored (1.5 stays 1.5 next to 2.25); values that do not fit fall back to object storage
+     */
+    private static class DecimalVector extends ColumnVector {
+
+        private long[] unscaled = new long[0];
+        private byte[] scales = new byte[0];
+
+        @Override
+        boolean setValue(int row, Object value) {
+            if (!(value instanceof BigDecimal)) {
+                return false;
+            }
+
+            BigDecimal decimal = (BigDecimal) value;
+            BigInteger digits = decimal.unscaledValue();
+            if (digits.bitLength() > 63 || decimal.scale() != (byte) decimal.scale()) {
+                return false;
+            }
+
+            if (row >= unscaled.length) {
+                int capacity = grow(unscaled.length, row + 1);
+                unscaled = Arrays.copyOf(unscaled, capacity);
+                scales = Arrays.copyOf(scales, capacity);
+            }
+            unscaled[row] = digits.longValue();
+            scales[row] = (byte) decimal.scale();
+            nulls.clear(row);
+            return true;
+        }
+
+        @Override
+        Object read(int row) {
+            return BigDecimal.valueOf(unscaled[row], scales[row]);
+        }
+
+        @Override
+        BigDecimal getDecimal(int row) {
+            return nulls.get(row) ? null : BigDecimal.valueOf(unscaled[row], scales[row]);
+        }
+
+        @Override
+        long getLong(int row) {
+            return nulls.get(row) ? 0L : BigDecimal.valueOf(unscaled[row], scales[row]).longValue();
+        }
+
+        @Override
+        void trim(int size) {
+            if (unscaled.length > size) {
+                unscaled = Arrays.copyOf(unscaled, size);
+                scales = Arrays.copyOf(scales, size);
+            }
+        }
+    }
+
+    /**
+     * Dictionary-encoded text; repeated values such as category or warehouse names are stored once
+     */
+    private static class TextVector extends ColumnVector {
+
+        private int[] codes = new int[0];
+        private final ArrayList<String> dictionary = new ArrayList<>();
+        private Map<String, Integer> lookup = new HashMap<>();
+
+        @Override
+        boolean setValue(int row, Object value) {
+            if (!(value instanceof String)) {
+                return false;
+            }
+
+            if (lookup == null) {
+                // Dropped by trim(); rebuild if the table is appended to again
+                lookup = new HashMap<>();
+                for (int code = 0; code < dictionary.size(); code++) {
+                    lookup.put(dictionary.get(code), code);
+                }
+            }
+
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add((String) value);
+                lookup.put((String) value, code);
+            }
+
+            if (row >= codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, row + 1));
+            }
+            codes[row] = code;
+            nulls.clear(row);
+            return true;
+        }
+
+        @Override
+        Object read(int row) {
+            return dictionary.get(codes[row]);
+        }
+
+        @Override
+        void trim(int size) {
+            if (codes.length > size) {
+                codes = Arrays.copyOf(codes, size);
+            }
+            dictionary.trimToSize();
+            lookup = null;
+        }
+    }
+
+    private static class DateTimeVector extends ColumnVector {
+
+        private long[] seconds = new long[0];
+        private int[] nanos = new int[0];
+
+        @Override
+        boolean setValue(int row, Object value) {
+            if (!(value instanceof LocalDateTime)) {
+                return false;
+            }
+
+            if (row >= seconds.length) {
+                int capacity = grow(seconds.length, row + 1);
+                seconds = Arrays.copyOf(seconds, capacity);
+                nanos = Arrays.copyOf(nanos, capacity);
+            }
+
+            LocalDateTime dateTime = (LocalDateTime) value;
+            seconds[row] = dateTime.toEpochSecond(ZoneOffset.UTC);
+            nanos[row] = dateTime.getNano();
+            nulls.clear(row);
+            return true;
+        }
+
+        @Override
+        Object read(int row) {
+            return LocalDateTime.ofEpochSecond(seconds[row], nanos[row], ZoneOffset.UTC);
+        }
+
+        @Override
+        void trim(int size) {
+            if (seconds.length > size) {
+                seconds = Arrays.copyOf(seconds, size);
+                nanos = Arrays.copyOf(nanos, size);
+            }
+        }
+    }
+
+    private static class ObjectVector extends ColumnVector {
+
+        private Object[] values = new Object[0];
+
+        @Override
+        boolean setValue(int row, Object value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            values[row] = value;
+            nulls.clear(row);
+            return true;
+        }
+
+        @Override
+        void setNull(int row) {
+            super.setNull(row);
+            if (row < values.length) {
+                values[row] = null;
+            }
+        }
+
+        @Override
+        Object read(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim(int size) {
+            if (values.length > size) {
+                values = Arrays.copyOf(values, size);
+            }
+        }
+    }
+}
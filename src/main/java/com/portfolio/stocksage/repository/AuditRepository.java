@@ -1,6 +1,7 @@
 package com.portfolio.stocksage.repository;
 
 import com.portfolio.stocksage.entity.Audit;
+import com.portfolio.stocksage.util.SearchTerms;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -42,6 +43,31 @@ public interface AuditRepository extends JpaRepository<Audit, Long> {
      */
     Page<Audit> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
 
+    /**
+     * Keyset page: audit logs strictly before the given (date, id), newest first
+     */
+    @Query(value = "SELECT a.* FROM audit_logs a " +
+            "WHERE (a.created_at, a.id) < (:date, :id) " +
+            "ORDER BY a.created_at DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<Audit> findPageBefore(
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+
+    /**
+     * Keyset page within a date range: audit logs strictly before the given (date, id), newest first
+     */
+    @Query(value = "SELECT a.* FROM audit_logs a " +
+            "WHERE (a.created_at, a.id) < (:date, :id) " +
+            "AND a.created_at BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.created_at DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<Audit> findPageBeforeInDateRange(
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("limit") int limit);
+
     /**
      * Find audit logs by date range
      */
@@ -95,12 +121,12 @@ public interface AuditRepository extends JpaRepository<Audit, Long> {
             @Param("endDate") LocalDateTime endDate);
 
     /**
-     * Search audit logs
+     * Search audit logs by full-text relevance, newest first among equals; see {@link SearchTerms}
      */
-    @Query("SELECT a FROM Audit a WHERE " +
-            "a.username LIKE %:keyword% OR " +
-            "a.action LIKE %:keyword% OR " +
-            "a.entityType LIKE %:keyword% OR " +
-            "a.details LIKE %:keyword%")
-    Page<Audit> search(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = "SELECT a.* FROM audit_logs a " +
+            "WHERE a.search_vector @@ to_tsquery('simple', :textQuery) " +
+            "ORDER BY ts_rank(a.search_vector, to_tsquery('simple', :textQuery)) DESC, a.created_at DESC, a.id DESC",
+            countQuery = "SELECT COUNT(*) FROM audit_logs a WHERE a.search_vector @@ to_tsquery('simple', :textQuery)",
+            nativeQuery = true)
+    Page<Audit> search(@Param("textQuery") String textQuery, Pageable pageable);
 }
\ No newline at end of file
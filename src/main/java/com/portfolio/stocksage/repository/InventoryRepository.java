@@ -1,21 +1,69 @@
 package com.portfolio.stocksage.repository;
 
 import com.portfolio.stocksage.entity.Inventory;
+import com.portfolio.stocksage.report.InventoryReportRow;
+import com.portfolio.stocksage.repository.projection.AppliedInventoryChange;
+import com.portfolio.stocksage.repository.projection.WarehouseStockSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     Optional<Inventory> findByProductIdAndWarehouseId(Long productId, Long warehouseId);
 
+    @Query("SELECT i.quantity FROM Inventory i WHERE i.product.id = :productId AND i.warehouse.id = :warehouseId")
+    Optional<Integer> findQuantity(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    /**
+     * Read an inventory quantity under a share lock, so no other transaction can change it until the caller commits
+     */
+    @Query(value = "SELECT quantity FROM inventory WHERE product_id = :productId AND warehouse_id = :warehouseId " +
+            "FOR SHARE", nativeQuery = true)
+    Optional<Integer> findQuantityForShare(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.id = :id")
+    Optional<Inventory> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Atomically add to an inventory quantity, clamping at zero.
+     * An Inventory entity already loaded in the persistence context is not updated by this statement.
+     *
+     * @return The record changed and the change actually applied, or empty if there is no inventory record
+     */
+    @Query(value = "WITH locked AS (SELECT id, quantity FROM inventory " +
+            "WHERE product_id = :productId AND warehouse_id = :warehouseId FOR UPDATE) " +
+            "UPDATE inventory i SET quantity = GREATEST(0, locked.quantity + :quantityChange), updated_at = now() " +
+            "FROM locked WHERE i.id = locked.id " +
+            "RETURNING i.id AS \"inventoryId\", i.quantity - locked.quantity AS \"appliedChange\"", nativeQuery = true)
+    Optional<AppliedInventoryChange> addQuantity(@Param("productId") Long productId,
+                                                 @Param("warehouseId") Long warehouseId,
+                                                 @Param("quantityChange") int quantityChange);
+
+    @Modifying
+    @Query(value = "INSERT INTO inventory (product_id, warehouse_id, quantity, created_at, updated_at) " +
+            "VALUES (:productId, :warehouseId, :quantity, now(), now()) " +
+            "ON CONFLICT (product_id, warehouse_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("productId") Long productId,
+                       @Param("warehouseId") Long warehouseId,
+                       @Param("quantity") int quantity);
+
     List<Inventory> findByProductId(Long productId);
 
     List<Inventory> findByWarehouseId(Long warehouseId);
@@ -34,4 +82,45 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     @Query(value = "SELECT p.name, SUM(i.quantity) as total FROM inventory i JOIN products p ON i.product_id = p.id GROUP BY p.name ORDER BY total DESC LIMIT :limit", nativeQuery = true)
     List<Object[]> findTopStockedProducts(@Param("limit") int limit);
-}
\ No newline at end of file
+
+    /**
+     * Per-warehouse stock totals; warehouses without inventory are included with zero totals
+     */
+    @Query("SELECT w.id AS id, w.name AS name, w.location AS location, w.capacity AS capacity, " +
+            "COUNT(i.id) AS productCount, " +
+            "COALESCE(SUM(i.quantity), 0) AS totalQuantity, " +
+            "COALESCE(SUM(p.unitPrice * i.quantity), 0) AS totalValue " +
+            "FROM Warehouse w LEFT JOIN w.inventories i LEFT JOIN i.product p " +
+            "GROUP BY w.id, w.name, w.location, w.capacity " +
+            "ORDER BY w.name")
+    List<WarehouseStockSummary> getWarehouseStockSummaries();
+
+    /**
+     * Stream inventory report rows with product, category and warehouse joined in the same select.
+     * Rows are read through a cursor, so callers must consume the stream inside a transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.portfolio.stocksage.report.InventoryReportRow(" +
+            "p.id, p.sku, p.name, c.name, w.name, i.quantity, p.unitPrice) " +
+            "FROM Inventory i JOIN i.product p JOIN p.category c JOIN i.warehouse w " +
+            "WHERE (:warehouseId IS NULL OR w.id = :warehouseId) " +
+            "AND (:categoryId IS NULL OR c.id = :categoryId) " +
+            "AND i.quantity <= :maxQuantity " +
+            "ORDER BY p.id, w.id")
+    Stream<InventoryReportRow> streamInventoryReportRows(
+            @Param("warehouseId") Long warehouseId,
+            @Param("categoryId") Long categoryId,
+            @Param("maxQuantity") int maxQuantity);
+
+    /**
+     * Stream all inventory records with product, category and warehouse fetched in the same select.
+     * Rows are read through a cursor, so callers must consume the stream inside a transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT i FROM Inventory i " +
+            "JOIN FETCH i.product p " +
+            "JOIN FETCH p.category " +
+            "JOIN FETCH i.warehouse " +
+            "ORDER BY i.id")
+    Stream<Inventory> streamAllForExport();
+}
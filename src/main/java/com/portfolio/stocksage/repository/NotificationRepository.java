@@ -4,8 +4,14 @@ import com.portfolio.stocksage.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +26,67 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Page<Notification> findByUserIsNullOrderByCreatedAtDesc(Pageable pageable);
 
     long countByUserIdAndReadFalse(Long userId);
+
+    /**
+     * Fan out one notification to every user holding any of the given roles, in a single statement
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notifications (title, message, type, user_id, read, created_at) " +
+            "SELECT :title, :message, :type, u.id, false, :createdAt FROM users u " +
+            "WHERE EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+            "WHERE ur.user_id = u.id AND r.name IN (:roleNames))", nativeQuery = true)
+    int insertForRoles(
+            @Param("title") String title,
+            @Param("message") String message,
+            @Param("type") String type,
+            @Param("roleNames") Collection<String> roleNames,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Create the same notification for each of the given users, in a single statement
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notifications (title, message, type, user_id, read, created_at) " +
+            "SELECT :title, :message, :type, u.id, false, :createdAt FROM users u WHERE u.id IN (:userIds)",
+            nativeQuery = true)
+    int insertForUsers(
+            @Param("title") String title,
+            @Param("message") String message,
+            @Param("type") String type,
+            @Param("userIds") Collection<Long> userIds,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Fan out one notification to every user, in a single statement
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notifications (title, message, type, user_id, read, created_at) " +
+            "SELECT :title, :message, :type, u.id, false, :createdAt FROM users u", nativeQuery = true)
+    int insertForAllUsers(
+            @Param("title") String title,
+            @Param("message") String message,
+            @Param("type") String type,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Keyset page: a user's notifications strictly before the given (date, id), newest first
+     */
+    @Query(value = "SELECT n.* FROM notifications n " +
+            "WHERE n.user_id = :userId AND (n.created_at, n.id) < (:date, :id) " +
+            "AND (:unreadOnly = false OR n.read = false) " +
+            "ORDER BY n.created_at DESC, n.id DESC LIMIT :limit", nativeQuery = true)
+    List<Notification> findUserPageBefore(
+            @Param("userId") Long userId,
+            @Param("unreadOnly") boolean unreadOnly,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            @Param("limit") int limit);
 }
\ No newline at end of file
@@ -1,15 +1,25 @@
 package com.portfolio.stocksage.repository;
 
+import com.portfolio.stocksage.catalog.CatalogEntry;
 import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.repository.projection.ProductQuantitySummary;
+import com.portfolio.stocksage.repository.projection.ProductStockSummary;
+import com.portfolio.stocksage.util.SearchTerms;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -18,10 +28,40 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsBySku(String sku);
 
+    @Query("SELECT new com.portfolio.stocksage.catalog.CatalogEntry(p.id, p.sku, p.name, p.unitPrice, p.active) " +
+            "FROM Product p")
+    List<CatalogEntry> findCatalogEntries();
+
+    /**
+     * Atomically add to a product's units in stock, never going below zero.
+     * A Product entity already loaded in the persistence context is not updated by this statement.
+     *
+     * @return The units in stock before the change, or empty if the product does not exist
+     */
+    @Query(value = "WITH locked AS (SELECT id, COALESCE(units_in_stock, 0) AS units FROM products " +
+            "WHERE id = :productId FOR UPDATE) " +
+            "UPDATE products p SET units_in_stock = GREATEST(0, locked.units + :quantityChange) " +
+            "FROM locked WHERE p.id = locked.id " +
+            "RETURNING locked.units", nativeQuery = true)
+    Optional<Integer> addUnitsInStock(@Param("productId") Long productId, @Param("quantityChange") int quantityChange);
+
     Page<Product> findByActive(boolean active, Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.name LIKE %:keyword% OR p.sku LIKE %:keyword% OR p.description LIKE %:keyword%")
-    Page<Product> search(@Param("keyword") String keyword, Pageable pageable);
+    /**
+     * Indexed product search, ranked by SKU prefix match and then full-text relevance; see {@link SearchTerms}
+     */
+    @Query(value = "SELECT p.* FROM products p " +
+            "WHERE p.search_vector @@ to_tsquery('simple', :textQuery) OR p.sku ILIKE :containsPattern " +
+            "ORDER BY (p.sku ILIKE :prefixPattern) DESC, " +
+            "ts_rank(p.search_vector, to_tsquery('simple', :textQuery)) DESC, p.id",
+            countQuery = "SELECT COUNT(*) FROM products p " +
+                    "WHERE p.search_vector @@ to_tsquery('simple', :textQuery) OR p.sku ILIKE :containsPattern",
+            nativeQuery = true)
+    Page<Product> search(
+            @Param("textQuery") String textQuery,
+            @Param("containsPattern") String containsPattern,
+            @Param("prefixPattern") String prefixPattern,
+            Pageable pageable);
 
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId")
     Page<Product> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
@@ -34,4 +74,38 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p JOIN p.suppliers s WHERE s.id = :supplierId")
     Page<Product> findBySupplierId(@Param("supplierId") Long supplierId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Count products, low/out-of-stock items and total stock value in one pass over the catalog
+     */
+    @Query("SELECT COUNT(p) AS totalProducts, " +
+            "COALESCE(SUM(CASE WHEN p.unitsInStock < :minStock THEN 1 ELSE 0 END), 0) AS lowStockItems, " +
+            "COALESCE(SUM(CASE WHEN p.unitsInStock = 0 THEN 1 ELSE 0 END), 0) AS outOfStockItems, " +
+            "COALESCE(SUM(CASE WHEN p.unitsInStock > 0 THEN p.unitPrice * p.unitsInStock ELSE 0 END), 0) AS totalInventoryValue " +
+            "FROM Product p")
+    ProductStockSummary getStockSummary(@Param("minStock") int minStock);
+
+    /**
+     * Low stock products with their category name, lowest stock first
+     */
+    @Query("SELECT p.id AS id, p.sku AS sku, p.name AS name, c.name AS category, " +
+            "p.unitPrice AS unitPrice, p.unitsInStock AS quantity " +
+            "FROM Product p JOIN p.category c " +
+            "WHERE p.unitsInStock < :minStock " +
+            "ORDER BY p.unitsInStock ASC")
+    List<ProductQuantitySummary> findLowStockSummaries(@Param("minStock") int minStock);
+
+    /**
+     * Load products with their category in one select
+     */
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Product> findWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream all products with their category for export.
+     * Rows are read through a cursor, so callers must consume the stream inside a transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p FROM Product p JOIN FETCH p.category ORDER BY p.id")
+    Stream<Product> streamAllForExport();
+}
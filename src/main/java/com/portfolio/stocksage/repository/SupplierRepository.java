@@ -1,15 +1,22 @@
 package com.portfolio.stocksage.repository;
 
 import com.portfolio.stocksage.entity.Supplier;
+import com.portfolio.stocksage.repository.projection.SupplierProductLink;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
@@ -27,4 +34,20 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
 
     @Query("SELECT COUNT(p) FROM Supplier s JOIN s.products p WHERE s.id = :supplierId")
     long countProductsBySupplierId(@Param("supplierId") Long supplierId);
+
+    /**
+     * Suppliers of the given products, one row per (supplier, product)
+     */
+    @Query("SELECT s.id AS supplierId, s.name AS supplierName, p.id AS productId " +
+            "FROM Supplier s JOIN s.products p WHERE p.id IN :productIds")
+    List<SupplierProductLink> findProductLinks(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Stream all suppliers for export with their products fetched in the same select.
+     * Rows are read through a cursor, so callers must consume the stream inside a transaction and close it.
+     * Ordering by supplier keeps each supplier's product rows together, so the cursor can assemble them.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s FROM Supplier s LEFT JOIN FETCH s.products ORDER BY s.id")
+    Stream<Supplier> streamAllForExport();
 }
\ No newline at end of file
@@ -3,16 +3,29 @@ package com.portfolio.stocksage.repository;
 import com.portfolio.stocksage.entity.Transaction;
 import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
 import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import com.portfolio.stocksage.repository.projection.DailyTransactionTotal;
+import com.portfolio.stocksage.repository.projection.DailyTypeTotal;
+import com.portfolio.stocksage.repository.projection.ProductQuantitySummary;
+import com.portfolio.stocksage.repository.projection.ProductTransactionTotal;
+import com.portfolio.stocksage.repository.projection.TransactionStatusCount;
+import com.portfolio.stocksage.repository.projection.TransactionTypeTotal;
+import com.portfolio.stocksage.util.SearchTerms;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -26,6 +39,9 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     boolean existsByTransactionNumber(String transactionNumber);
 
+    @Query("SELECT t.transactionNumber FROM Transaction t WHERE t.transactionNumber IN :transactionNumbers")
+    List<String> findExistingTransactionNumbers(@Param("transactionNumbers") Collection<String> transactionNumbers);
+
     Page<Transaction> findByStatus(TransactionStatus status, Pageable pageable);
 
     Page<Transaction> findByTransactionType(TransactionType transactionType, Pageable pageable);
@@ -34,6 +50,31 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     Page<Transaction> findByWarehouseId(Long warehouseId, Pageable pageable);
 
+    /**
+     * Keyset page: transactions strictly before the given (date, id), newest first
+     */
+    @Query(value = "SELECT t.* FROM transactions t " +
+            "WHERE (t.transaction_date, t.id) < (:date, :id) " +
+            "ORDER BY t.transaction_date DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<Transaction> findPageBefore(
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+
+    /**
+     * Keyset page within a date range: transactions strictly before the given (date, id), newest first
+     */
+    @Query(value = "SELECT t.* FROM transactions t " +
+            "WHERE (t.transaction_date, t.id) < (:date, :id) " +
+            "AND t.transaction_date BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transaction_date DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<Transaction> findPageBeforeInDateRange(
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("limit") int limit);
+
     @Query("SELECT t FROM Transaction t WHERE t.transactionDate BETWEEN :startDate AND :endDate")
     Page<Transaction> findByDateRange(
             @Param("startDate") LocalDateTime startDate,
@@ -43,12 +84,27 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT t FROM Transaction t WHERE t.createdBy.id = :userId")
     Page<Transaction> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    @Query("SELECT t FROM Transaction t WHERE " +
-            "t.transactionNumber LIKE %:keyword% OR " +
-            "t.product.name LIKE %:keyword% OR " +
-            "t.product.sku LIKE %:keyword% OR " +
-            "t.referenceNumber LIKE %:keyword%")
-    Page<Transaction> search(@Param("keyword") String keyword, Pageable pageable);
+    /**
+     * Indexed transaction search by number, reference or product, newest first with number prefix matches
+     * ranked ahead; see {@link SearchTerms}.
+     * The matching product IDs are collected into an array first, so the planner can combine all three
+     * branches with a bitmap OR over their indexes. An IN subquery inside the OR forces a sequential scan.
+     */
+    @Query(value = "SELECT t.* FROM transactions t " +
+            "WHERE t.transaction_number ILIKE :containsPattern OR t.reference_number ILIKE :containsPattern " +
+            "OR t.product_id = ANY(ARRAY(SELECT p.id FROM products p " +
+            "WHERE p.search_vector @@ to_tsquery('simple', :textQuery) OR p.sku ILIKE :containsPattern)) " +
+            "ORDER BY (t.transaction_number ILIKE :prefixPattern) DESC, t.transaction_date DESC, t.id DESC",
+            countQuery = "SELECT COUNT(*) FROM transactions t " +
+                    "WHERE t.transaction_number ILIKE :containsPattern OR t.reference_number ILIKE :containsPattern " +
+                    "OR t.product_id = ANY(ARRAY(SELECT p.id FROM products p " +
+                    "WHERE p.search_vector @@ to_tsquery('simple', :textQuery) OR p.sku ILIKE :containsPattern))",
+            nativeQuery = true)
+    Page<Transaction> search(
+            @Param("textQuery") String textQuery,
+            @Param("containsPattern") String containsPattern,
+            @Param("prefixPattern") String prefixPattern,
+            Pageable pageable);
 
     @Query("SELECT t FROM Transaction t WHERE " +
             "t.transactionDate BETWEEN :startDate AND :endDate AND " +
@@ -72,4 +128,95 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     long countTransactionsSince(
             @Param("date") LocalDateTime date,
             @Param("type") TransactionType type);
-}
\ No newline at end of file
+
+    @Query("SELECT t.status AS status, COUNT(t) AS transactionCount " +
+            "FROM Transaction t GROUP BY t.status")
+    List<TransactionStatusCount> countByStatus();
+
+    /**
+     * Per-type transaction counts (any status) and completed values within a date range
+     */
+    @Query("SELECT t.transactionType AS transactionType, COUNT(t) AS transactionCount, " +
+            "COALESCE(SUM(CASE WHEN t.status = :completed THEN t.unitPrice * t.quantity ELSE 0 END), 0) AS completedValue " +
+            "FROM Transaction t " +
+            "WHERE t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.transactionType")
+    List<TransactionTypeTotal> sumByTypeInDateRange(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("completed") TransactionStatus completed);
+
+    /**
+     * Totals per product for one transaction type and status, for transactions in [from, to)
+     */
+    @Query("SELECT t.product.id AS productId, SUM(t.quantity) AS totalQuantity, " +
+            "SUM(t.unitPrice * t.quantity) AS totalAmount, COUNT(t) AS transactionCount " +
+            "FROM Transaction t " +
+            "WHERE t.transactionType = :type AND t.status = :status " +
+            "AND t.transactionDate >= :from AND t.transactionDate < :to " +
+            "GROUP BY t.product.id")
+    List<ProductTransactionTotal> sumByProduct(
+            @Param("type") TransactionType type,
+            @Param("status") TransactionStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Products ranked by completed quantity for a transaction type; limit the result with the pageable
+     */
+    @Query("SELECT p.id AS id, p.sku AS sku, p.name AS name, c.name AS category, " +
+            "p.unitPrice AS unitPrice, SUM(t.quantity) AS quantity " +
+            "FROM Transaction t JOIN t.product p JOIN p.category c " +
+            "WHERE t.transactionType = :type AND t.status = :status " +
+            "GROUP BY p.id, p.sku, p.name, c.name, p.unitPrice " +
+            "ORDER BY SUM(t.quantity) DESC")
+    List<ProductQuantitySummary> findTopProductsByQuantity(
+            @Param("type") TransactionType type,
+            @Param("status") TransactionStatus status,
+            Pageable pageable);
+
+    /**
+     * Completed sales and purchase values per day within a date range
+     */
+    @Query(value = "SELECT to_char(t.transaction_date, 'YYYY-MM-DD') AS label, " +
+            "t.transaction_type AS transactionType, " +
+            "SUM(t.unit_price * t.quantity) AS totalAmount " +
+            "FROM transactions t " +
+            "WHERE t.status = 'COMPLETED' " +
+            "AND t.transaction_type IN ('SALE', 'PURCHASE') " +
+            "AND t.transaction_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY label, t.transaction_type " +
+            "ORDER BY label", nativeQuery = true)
+    List<DailyTransactionTotal> sumCompletedByDay(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Per-day, per-type transaction counts (any status) and completed values since a date
+     */
+    @Query(value = "SELECT to_char(t.transaction_date, 'YYYY-MM-DD') AS day, " +
+            "t.transaction_type AS transactionType, " +
+            "COUNT(*) AS transactionCount, " +
+            "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' THEN t.unit_price * t.quantity ELSE 0 END), 0) AS completedValue " +
+            "FROM transactions t " +
+            "WHERE t.transaction_date >= :startDate " +
+            "GROUP BY day, t.transaction_type", nativeQuery = true)
+    List<DailyTypeTotal> sumByDayAndTypeSince(@Param("startDate") LocalDateTime startDate);
+
+    /**
+     * Stream transactions in a date range with the associations the export needs fetched in the same select.
+     * Rows are read through a cursor, so callers must consume the stream inside a transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t FROM Transaction t " +
+            "JOIN FETCH t.product " +
+            "JOIN FETCH t.createdBy " +
+            "LEFT JOIN FETCH t.warehouse " +
+            "LEFT JOIN FETCH t.sourceWarehouse " +
+            "LEFT JOIN FETCH t.destinationWarehouse " +
+            "WHERE t.transactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transactionDate, t.id")
+    Stream<Transaction> streamForExport(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+}
@@ -0,0 +1,83 @@
+package com.portfolio.stocksage.repository;
+
+import com.portfolio.stocksage.entity.TransactionDailyRollup;
+import com.portfolio.stocksage.repository.projection.MonthlyAmount;
+import com.portfolio.stocksage.repository.projection.RollupPeriodTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionDailyRollup, Long> {
+
+    /**
+     * Add (or with negative values, subtract) totals to a day/product/warehouse/type row, creating it if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_daily_rollups (rollup_date, product_id, warehouse_id, transaction_type, " +
+            "quantity, amount, unit_price_total, transaction_count) " +
+            "VALUES (:day, :productId, :warehouseId, :type, :quantity, :amount, :unitPriceTotal, :count) " +
+            "ON CONFLICT (rollup_date, product_id, warehouse_id, transaction_type) DO UPDATE SET " +
+            "quantity = transaction_daily_rollups.quantity + EXCLUDED.quantity, " +
+            "amount = transaction_daily_rollups.amount + EXCLUDED.amount, " +
+            "unit_price_total = transaction_daily_rollups.unit_price_total + EXCLUDED.unit_price_total, " +
+            "transaction_count = transaction_daily_rollups.transaction_count + EXCLUDED.transaction_count",
+            nativeQuery = true)
+    void addTotals(@Param("day") LocalDate day,
+                   @Param("productId") Long productId,
+                   @Param("warehouseId") Long warehouseId,
+                   @Param("type") String type,
+                   @Param("quantity") long quantity,
+                   @Param("amount") BigDecimal amount,
+                   @Param("unitPriceTotal") BigDecimal unitPriceTotal,
+                   @Param("count") int count);
+
+    /**
+     * Totals per period between two days (inclusive), labelled with a to_char pattern;
+     * product, warehouse and supplier filters are optional. Rows emptied by deletions do not count as products.
+     */
+    @Query(value = "SELECT to_char(r.rollup_date, :periodPattern) AS period, " +
+            "CASE WHEN COUNT(DISTINCT r.product_id) FILTER (WHERE r.transaction_count > 0) = 1 " +
+            "THEN MIN(p.name) FILTER (WHERE r.transaction_count > 0) ELSE 'Various' END AS productName, " +
+            "SUM(r.quantity) AS totalQuantity, " +
+            "SUM(r.amount) AS totalAmount, " +
+            "SUM(r.unit_price_total) AS unitPriceTotal, " +
+            "SUM(r.transaction_count) AS transactionCount " +
+            "FROM transaction_daily_rollups r " +
+            "JOIN products p ON p.id = r.product_id " +
+            "WHERE r.transaction_type = :type " +
+            "AND r.rollup_date BETWEEN :startDay AND :endDay " +
+            "AND (CAST(:productId AS BIGINT) IS NULL OR r.product_id = :productId) " +
+            "AND (CAST(:warehouseId AS BIGINT) IS NULL OR r.warehouse_id = :warehouseId) " +
+            "AND (CAST(:supplierId AS BIGINT) IS NULL OR r.product_id IN " +
+            "(SELECT ps.product_id FROM product_supplier ps WHERE ps.supplier_id = :supplierId)) " +
+            "GROUP BY period " +
+            "HAVING SUM(r.transaction_count) > 0 " +
+            "ORDER BY period", nativeQuery = true)
+    List<RollupPeriodTotal> sumByPeriod(@Param("periodPattern") String periodPattern,
+                                        @Param("type") String type,
+                                        @Param("startDay") LocalDate startDay,
+                                        @Param("endDay") LocalDate endDay,
+                                        @Param("productId") Long productId,
+                                        @Param("warehouseId") Long warehouseId,
+                                        @Param("supplierId") Long supplierId);
+
+    /**
+     * Completed amount per month for days in [startDay, endDay)
+     */
+    @Query(value = "SELECT CAST(EXTRACT(MONTH FROM r.rollup_date) AS INTEGER) AS month, " +
+            "SUM(r.amount) AS totalAmount " +
+            "FROM transaction_daily_rollups r " +
+            "WHERE r.transaction_type = :type " +
+            "AND r.rollup_date >= :startDay AND r.rollup_date < :endDay " +
+            "GROUP BY month", nativeQuery = true)
+    List<MonthlyAmount> sumByMonth(@Param("type") String type,
+                                   @Param("startDay") LocalDate startDay,
+                                   @Param("endDay") LocalDate endDay);
+}
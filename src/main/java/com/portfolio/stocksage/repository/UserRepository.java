@@ -1,11 +1,13 @@
 package com.portfolio.stocksage.repository;
 
+import com.portfolio.stocksage.alert.AlertRecipient;
 import com.portfolio.stocksage.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
 
+    @Query("SELECT DISTINCT u.email FROM User u JOIN u.roles r " +
+            "WHERE r.name IN :roleNames AND u.email IS NOT NULL AND u.email <> ''")
+    List<String> findEmailsByRoleNames(@Param("roleNames") Collection<String> roleNames);
+
+    @Query("SELECT new com.portfolio.stocksage.alert.AlertRecipient(u.id, u.email, r.name) FROM User u JOIN u.roles r " +
+            "WHERE r.name IN :roleNames AND u.active = true")
+    List<AlertRecipient> findAlertRecipients(@Param("roleNames") Collection<String> roleNames);
+
     @Query("SELECT u FROM User u WHERE u.active = :active")
     List<User> findByActiveStatus(@Param("active") boolean active);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.portfolio.stocksage.repository.projection;
+
+/**
+ * Inventory record changed by an atomic quantity update, and the change actually applied to it
+ */
+public interface AppliedInventoryChange {
+
+    Long getInventoryId();
+
+    Integer getAppliedChange();
+}
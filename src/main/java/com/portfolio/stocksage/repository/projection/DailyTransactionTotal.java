@@ -0,0 +1,15 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Completed transaction value for one day (yyyy-MM-dd) and transaction type
+ */
+public interface DailyTransactionTotal {
+
+    String getLabel();
+
+    String getTransactionType();
+
+    BigDecimal getTotalAmount();
+}
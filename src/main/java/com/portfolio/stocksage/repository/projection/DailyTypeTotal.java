@@ -0,0 +1,17 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction count (any status) and completed value for one day (yyyy-MM-dd) and transaction type
+ */
+public interface DailyTypeTotal {
+
+    String getDay();
+
+    String getTransactionType();
+
+    Long getTransactionCount();
+
+    BigDecimal getCompletedValue();
+}
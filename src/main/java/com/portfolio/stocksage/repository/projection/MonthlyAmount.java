@@ -0,0 +1,13 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Completed transaction amount for one month (1-12) of a year
+ */
+public interface MonthlyAmount {
+
+    Integer getMonth();
+
+    BigDecimal getTotalAmount();
+}
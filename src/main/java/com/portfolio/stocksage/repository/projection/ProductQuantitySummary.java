@@ -0,0 +1,21 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Product row with its category name and an aggregated quantity (units sold, units in stock, ...)
+ */
+public interface ProductQuantitySummary {
+
+    Long getId();
+
+    String getSku();
+
+    String getName();
+
+    String getCategory();
+
+    BigDecimal getUnitPrice();
+
+    Long getQuantity();
+}
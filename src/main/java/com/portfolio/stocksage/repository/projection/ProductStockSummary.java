@@ -0,0 +1,17 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Catalog-wide stock counters computed in a single aggregate query
+ */
+public interface ProductStockSummary {
+
+    Long getTotalProducts();
+
+    Long getLowStockItems();
+
+    Long getOutOfStockItems();
+
+    BigDecimal getTotalInventoryValue();
+}
@@ -0,0 +1,17 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Completed quantity, value and transaction count for one product
+ */
+public interface ProductTransactionTotal {
+
+    Long getProductId();
+
+    Long getTotalQuantity();
+
+    BigDecimal getTotalAmount();
+
+    Long getTransactionCount();
+}
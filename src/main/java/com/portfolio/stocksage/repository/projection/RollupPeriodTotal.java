@@ -0,0 +1,24 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Completed transaction totals for one report period (day, ISO week or month label)
+ */
+public interface RollupPeriodTotal {
+
+    String getPeriod();
+
+    /**
+     * Product name when the period has a single product with transactions, otherwise "Various"
+     */
+    String getProductName();
+
+    Long getTotalQuantity();
+
+    BigDecimal getTotalAmount();
+
+    BigDecimal getUnitPriceTotal();
+
+    Long getTransactionCount();
+}
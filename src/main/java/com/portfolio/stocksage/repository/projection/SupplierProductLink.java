@@ -0,0 +1,13 @@
+package com.portfolio.stocksage.repository.projection;
+
+/**
+ * A supplier and one of the products it supplies
+ */
+public interface SupplierProductLink {
+
+    Long getSupplierId();
+
+    String getSupplierName();
+
+    Long getProductId();
+}
@@ -0,0 +1,13 @@
+package com.portfolio.stocksage.repository.projection;
+
+import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
+
+/**
+ * Number of transactions in a given status
+ */
+public interface TransactionStatusCount {
+
+    TransactionStatus getStatus();
+
+    Long getTransactionCount();
+}
@@ -0,0 +1,17 @@
+package com.portfolio.stocksage.repository.projection;
+
+import com.portfolio.stocksage.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction count (any status) and completed value for one transaction type
+ */
+public interface TransactionTypeTotal {
+
+    TransactionType getTransactionType();
+
+    Long getTransactionCount();
+
+    BigDecimal getCompletedValue();
+}
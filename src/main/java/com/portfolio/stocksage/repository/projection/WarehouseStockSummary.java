@@ -0,0 +1,23 @@
+package com.portfolio.stocksage.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Stock held in a warehouse, aggregated over its inventory rows
+ */
+public interface WarehouseStockSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getLocation();
+
+    Double getCapacity();
+
+    Long getProductCount();
+
+    Long getTotalQuantity();
+
+    BigDecimal getTotalValue();
+}
@@ -1,7 +1,13 @@
 package com.portfolio.stocksage.scheduler;
 
-import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.alert.StockAlert;
+import com.portfolio.stocksage.alert.StockAlertPipeline;
+import com.portfolio.stocksage.dto.response.ProductDTO;
 import com.portfolio.stocksage.entity.Transaction;
+import com.portfolio.stocksage.inventory.StockThresholdMonitor;
+import com.portfolio.stocksage.metrics.DashboardMetricsStore;
+import com.portfolio.stocksage.report.ReportExportCache;
+import com.portfolio.stocksage.report.ReportStore;
 import com.portfolio.stocksage.report.ReportType;
 import com.portfolio.stocksage.service.InventoryService;
 import com.portfolio.stocksage.service.NotificationService;
@@ -38,89 +44,62 @@ public class ScheduledTasks {
     private final ReportService reportService;
     private final FileStorageService fileStorageService;
     private final TransactionService transactionService;
+    private final DashboardMetricsStore dashboardMetrics;
+    private final ReportStore reportStore;
+    private final ReportExportCache reportExportCache;
+    private final StockAlertPipeline stockAlertPipeline;
+    private final StockThresholdMonitor thresholdMonitor;
 
     @Value("${app.scheduler.temp-file-cleanup-days:7}")
     private int tempFileCleanupDays;
 
-    @Value("${app.scheduler.low-stock-threshold:10}")
-    private int lowStockThreshold;
-
     /**
-     * Check for low stock items - runs daily at 8:00 AM
+     * Reconcile low stock alerts - runs daily at 8:00 AM.
+     * Alerts are raised as stock changes; this indexed scan only catches changes made outside the application.
      */
     @Scheduled(cron = "0 0 8 * * ?")
     public void checkLowStockItems() {
         log.info("Running scheduled task: Check Low Stock Items");
 
         try {
-            List<Product> lowStockProducts = productService.getLowStockProducts(lowStockThreshold);
-
-            if (!lowStockProducts.isEmpty()) {
-                // Create title with count
-                String title = "Low Stock Alert: " + lowStockProducts.size() + " products below threshold";
-
-                // Build detailed message
-                StringBuilder message = new StringBuilder();
-                message.append("The following products are running low on stock:\n\n");
-
-                for (Product product : lowStockProducts) {
-                    message.append("• ")
-                            .append(product.getName())
-                            .append(" (")
-                            .append(product.getSku())
-                            .append("): ")
-                            .append(product.getUnitsInStock())
-                            .append(" in stock\n");
-
-                    // Also send individual notifications for severely low stock (less than half of threshold)
-                    if (product.getUnitsInStock() < lowStockThreshold / 2) {
-                        notificationService.sendLowStockAlert(
-                                product.getId(),
-                                product.getName(),
-                                product.getUnitsInStock(),
-                                lowStockThreshold
-                        );
-                    }
+            int lowStockThreshold = thresholdMonitor.getLowStockThreshold();
+            List<ProductDTO> lowStockProducts = productService.getLowStockProducts(lowStockThreshold);
+
+            // The alert pipeline digests these per recipient and drops products already reported
+            int queued = 0;
+            for (ProductDTO product : lowStockProducts) {
+                if (product.getUnitsInStock() > 0 && stockAlertPipeline.submit(StockAlert.lowStock(
+                        product.getId(), product.getName(), product.getUnitsInStock(), lowStockThreshold))) {
+                    queued++;
                 }
-
-                // Send a summary notification to inventory managers
-                notificationService.createNotificationForRole(
-                        title,
-                        message.toString(),
-                        "INVENTORY_ALERT",
-                        "INVENTORY_MANAGER"
-                );
-
-                log.info("Low stock notification sent for {} products", lowStockProducts.size());
-            } else {
-                log.info("No low stock items found");
             }
+
+            log.info("Low stock check found {} products, {} new alerts queued", lowStockProducts.size(), queued);
         } catch (Exception e) {
             log.error("Error in low stock check scheduled task", e);
         }
     }
 
     /**
-     * Check for out-of-stock items - runs every 4 hours
+     * Reconcile out-of-stock alerts - runs every 4 hours, as a safety net for the event-driven alerts
      */
     @Scheduled(fixedRate = 4 * 60 * 60 * 1000)
     public void checkOutOfStockItems() {
         log.info("Running scheduled task: Check Out of Stock Items");
 
         try {
-            List<Product> outOfStockProducts = productService.getLowStockProducts(0);
-
-            for (Product product : outOfStockProducts) {
-                if (product.getUnitsInStock() <= 0) {
-                    notificationService.sendStockOutAlert(product.getId(), product.getName());
+            // Products with fewer than one unit in stock
+            List<ProductDTO> outOfStockProducts = productService.getLowStockProducts(1);
+
+            int queued = 0;
+            for (ProductDTO product : outOfStockProducts) {
+                if (product.getUnitsInStock() <= 0
+                        && stockAlertPipeline.submit(StockAlert.outOfStock(product.getId(), product.getName()))) {
+                    queued++;
                 }
             }
 
-            if (!outOfStockProducts.isEmpty()) {
-                log.info("Stock out alerts sent for {} products", outOfStockProducts.size());
-            } else {
-                log.info("No out-of-stock items found");
-            }
+            log.info("Out-of-stock check found {} products, {} new alerts queued", outOfStockProducts.size(), queued);
         } catch (Exception e) {
             log.error("Error in out-of-stock check scheduled task", e);
         }
@@ -210,6 +189,22 @@ public class ScheduledTasks {
         }
     }
 
+    /**
+     * Delete persisted reports past their retention period - runs daily at 2:30 AM
+     */
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void purgeExpiredReports() {
+        log.info("Running scheduled task: Purge Expired Reports");
+
+        try {
+            int deleted = reportStore.purgeExpired();
+            int deletedFiles = reportExportCache.purgeExpired();
+            log.info("Expired reports purge completed, {} reports and {} rendered files deleted", deleted, deletedFiles);
+        } catch (Exception e) {
+            log.error("Error in expired reports purge task", e);
+        }
+    }
+
     /**
      * Update inventory statistics - runs every hour
      */
@@ -220,7 +215,7 @@ public class ScheduledTasks {
         try {
             // This could involve updating cache, pre-calculating inventory stats, etc.
             // For now, just get some basic inventory data
-            List<Product> lowStockProducts = productService.getLowStockProducts(lowStockThreshold);
+            List<ProductDTO> lowStockProducts = productService.getLowStockProducts(thresholdMonitor.getLowStockThreshold());
             log.info("Current low stock products count: {}", lowStockProducts.size());
 
             // Rest of implementation would depend on what statistics need to be updated
@@ -229,6 +224,21 @@ public class ScheduledTasks {
         }
     }
 
+    /**
+     * Reconcile the in-memory dashboard metrics against the database - runs every 15 minutes
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.metrics-reconcile-interval-ms:900000}",
+            initialDelayString = "${app.scheduler.metrics-reconcile-interval-ms:900000}")
+    public void reconcileDashboardMetrics() {
+        log.info("Running scheduled task: Reconcile Dashboard Metrics");
+
+        try {
+            dashboardMetrics.reconcile();
+        } catch (Exception e) {
+            log.error("Error reconciling dashboard metrics", e);
+        }
+    }
+
     /**
      * Send a test notification - runs at 5:00 AM on the first day of each month
      * This is to verify the notification system is working
@@ -1,9 +1,12 @@
 package com.portfolio.stocksage.security;
 
+import com.portfolio.stocksage.security.VerifiedTokenCache.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,14 +18,19 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    @Value("${app.security.stateless-auth.enabled:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,10 +38,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
+            Optional<VerifiedToken> token = StringUtils.hasText(jwt) ? tokenCache.resolve(jwt) : Optional.empty();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (token.isPresent() && !revocationList.isRevoked(token.get().getUsername(), token.get().getIssuedAt())) {
+                // In stateless mode the authorities come from the token itself, with no user lookup
+                UserDetails userDetails = statelessAuth
+                        ? new User(token.get().getUsername(), "", token.get().getAuthorities())
+                        : userDetailsService.loadActiveUser(token.get().getUsername());
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
 
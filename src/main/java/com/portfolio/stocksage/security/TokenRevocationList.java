@@ -0,0 +1,109 @@
+package com.portfolio.stocksage.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Revoked JWTs, checked in memory on every authenticated request.
+ * <p>
+ * A revocation rejects every token issued to a user before a point in time, which covers deactivated and
+ * deleted users as well as tokens rotated out by a password or role change. Revocations are stored in the
+ * token_revocations table. Local changes apply as soon as they commit. A periodic reload picks up
+ * revocations made by other instances and drops rows older than the token lifetime, since every token
+ * they could reject has expired by then.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final String REVOKE_SQL =
+            "INSERT INTO token_revocations (username, revoked_before) VALUES (?, ?) " +
+            "ON CONFLICT (username) DO UPDATE " +
+            "SET revoked_before = GREATEST(token_revocations.revoked_before, EXCLUDED.revoked_before)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    private final AtomicReference<Map<String, Instant>> revocations = new AtomicReference<>(new ConcurrentHashMap<>());
+
+    public TokenRevocationList(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Revoke every token issued to a user up to now; joins the caller's transaction
+     */
+    public void revokeTokens(String username) {
+        // Token issue times only have second precision, so the whole current second is revoked; a token issued
+        // later in this second is rejected too, which at worst makes a fresh login retry a moment later
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+
+        jdbcTemplate.update(REVOKE_SQL, username, Timestamp.from(revokedBefore));
+        eventPublisher.publishEvent(new TokenRevokedEvent(username, revokedBefore));
+    }
+
+    /**
+     * Check whether a token issued to a user at the given time has been revoked
+     */
+    public boolean isRevoked(String username, Instant issuedAt) {
+        Instant revokedBefore = revocations.get().get(username);
+        return revokedBefore != null && (issuedAt == null || issuedAt.isBefore(revokedBefore));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        revocations.get().merge(event.getUsername(), event.getRevokedBefore(),
+                (existing, added) -> added.isAfter(existing) ? added : existing);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load token revocations", e);
+        }
+    }
+
+    /**
+     * Reload revocations from the database - runs every 30 seconds by default
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval-ms:30000}",
+            initialDelayString = "${app.security.revocation.refresh-interval-ms:30000}")
+    public void reload() {
+        Timestamp oldestLiveToken = Timestamp.from(Instant.now().minusMillis(jwtExpirationInMs));
+        jdbcTemplate.update("DELETE FROM token_revocations WHERE revoked_before < ?", oldestLiveToken);
+
+        Map<String, Instant> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT username, revoked_before FROM token_revocations", rs -> {
+            loaded.put(rs.getString("username"), rs.getTimestamp("revoked_before").toInstant());
+        });
+
+        // Keep revocations committed locally while the reload ran
+        Instant cutoff = oldestLiveToken.toInstant();
+        revocations.getAndSet(loaded).forEach((username, revokedBefore) -> {
+            if (revokedBefore.isAfter(cutoff)) {
+                loaded.merge(username, revokedBefore, (existing, added) -> added.isAfter(existing) ? added : existing);
+            }
+        });
+        log.debug("Loaded {} token revocations", loaded.size());
+    }
+}
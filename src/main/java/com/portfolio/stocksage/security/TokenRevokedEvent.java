@@ -0,0 +1,14 @@
+package com.portfolio.stocksage.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Published when the tokens of a user are revoked, applied to the in-memory list once the change commits
+ */
+@Value
+public class TokenRevokedEvent {
+    String username;
+    Instant revokedBefore;
+}
@@ -3,6 +3,9 @@ package com.portfolio.stocksage.security;
 import com.portfolio.stocksage.entity.User;
 import com.portfolio.stocksage.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +18,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
@@ -22,6 +26,41 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        User user = findActiveUser(username);
+
+        return new org.springframework.security.core.userdetails.User(
+                user.getUsername(),
+                user.getPassword(),
+                getAuthorities(user));
+    }
+
+    /**
+     * Load an active user for a request that was authenticated with a token.
+     * <p>
+     * Cached per username and evicted by {@link #evictUser(String)}. The cached details carry no password:
+     * the login path keeps using {@link #loadUserByUsername(String)}, whose result has its credentials
+     * erased after authentication and so must never be shared.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "userDetails", key = "#username")
+    public UserDetails loadActiveUser(String username) throws UsernameNotFoundException {
+        User user = findActiveUser(username);
+
+        return new org.springframework.security.core.userdetails.User(
+                user.getUsername(),
+                "",
+                getAuthorities(user));
+    }
+
+    /**
+     * Drop the cached details of a user whose status, roles or password changed
+     */
+    @CacheEvict(value = "userDetails", key = "#username")
+    public void evictUser(String username) {
+        log.debug("Evicted cached user details for {}", username);
+    }
+
+    private User findActiveUser(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
@@ -29,13 +68,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("User account is not active");
         }
 
-        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
+        return user;
+    }
+
+    private static List<SimpleGrantedAuthority> getAuthorities(User user) {
+        return user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
                 .collect(Collectors.toList());
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                authorities);
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.portfolio.stocksage.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers JWTs whose signature has already been verified, so a client reusing its token skips
+ * parsing and signature verification on every request.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the token rather than the token itself and expire together
+ * with the token. Revocation is checked separately on each request by {@link TokenRevocationList}, so a
+ * cached token never outlives the revocation of its user.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider tokenProvider;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.token-cache.max-size:10000}")
+    private int maxSize;
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    /**
+     * Resolve a valid token, verifying its signature only on the first use
+     *
+     * @return The verified token, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> resolve(String token) {
+        String key = hash(token);
+
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null) {
+            if (verified.getExpiresAt().isAfter(Instant.now())) {
+                return Optional.of(verified);
+            }
+            cache.invalidate(key);
+        }
+
+        Optional<VerifiedToken> parsed = tokenProvider.parseClaims(token)
+                .filter(claims -> claims.getExpiration() != null)
+                .map(claims -> new VerifiedToken(
+                        claims.getSubject(),
+                        claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                        claims.getExpiration().toInstant(),
+                        tokenProvider.getAuthorities(claims)));
+
+        parsed.ifPresent(value -> cache.put(key, value));
+        return parsed;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Verified contents of a token: its subject, lifetime and the authorities granted when it was issued
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class VerifiedToken {
+        private final String username;
+        private final Instant issuedAt;
+        private final Instant expiresAt;
+        private final List<GrantedAuthority> authorities;
+    }
+
+    /**
+     * Expire each entry when its token expires
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long millis = value.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.portfolio.stocksage.service;
+
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
+import com.portfolio.stocksage.entity.Audit;
+
+import java.time.LocalDateTime;
+
+public interface AuditService {
+
+    /**
+     * Get a page of audit logs, newest first, continuing from a cursor and optionally limited to a date range
+     */
+    CursorPageDTO<Audit> scrollAuditLogs(String cursor, int size, LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -1,12 +1,15 @@
 package com.portfolio.stocksage.service;
 
-import com.portfolio.stocksage.export.ExportStrategy;
+import com.portfolio.stocksage.export.ExportFormat;
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ExportService {
@@ -34,4 +37,30 @@ public interface ExportService {
     byte[] exportTransactionsToCsv(List<TransactionDTO> transactions) throws IOException;
 
     byte[] exportSuppliersToCsv(List<SupplierDTO> suppliers) throws IOException;
+
+    /**
+     * Stream all products to the output in the given format, reading them through a database cursor
+     */
+    void exportProducts(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Stream all inventory records to the output in the given format, reading them through a database cursor
+     */
+    void exportInventory(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Stream the transactions in a date range to the output in the given format, reading them through a database cursor
+     */
+    void exportTransactions(ExportFormat format, LocalDateTime startDate, LocalDateTime endDate, OutputStream out)
+            throws IOException;
+
+    /**
+     * Stream all suppliers to the output in the given format, reading them through a database cursor
+     */
+    void exportSuppliers(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Write a generated report to the output in the given format
+     */
+    void exportReport(ReportDTO report, ExportFormat format, OutputStream out) throws IOException;
 }
\ No newline at end of file
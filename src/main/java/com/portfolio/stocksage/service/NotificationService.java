@@ -1,5 +1,6 @@
 package com.portfolio.stocksage.service;
 
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
 import com.portfolio.stocksage.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -58,6 +59,11 @@ public interface NotificationService {
      */
     Page<Notification> getUnreadUserNotifications(Long userId, Pageable pageable);
 
+    /**
+     * Get a page of a user's notifications, newest first, continuing from a cursor
+     */
+    CursorPageDTO<Notification> scrollUserNotifications(Long userId, boolean unreadOnly, String cursor, int size);
+
     /**
      * Get system notifications
      */
@@ -2,6 +2,7 @@ package com.portfolio.stocksage.service;
 
 import com.portfolio.stocksage.dto.request.ProductCreateDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ProductSuggestionDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -21,6 +22,8 @@ public interface ProductService {
 
     Page<ProductDTO> searchProducts(String keyword, Pageable pageable);
 
+    List<ProductSuggestionDTO> suggestProducts(String query, int limit, boolean includeInactive);
+
     ProductDTO updateProduct(Long id, ProductCreateDTO productCreateDTO);
 
     void deleteProduct(Long id);
@@ -0,0 +1,51 @@
+package com.portfolio.stocksage.service;
+
+import com.portfolio.stocksage.dto.response.ReportDTO;
+import com.portfolio.stocksage.dto.response.ReportJobDTO;
+import com.portfolio.stocksage.report.ReportType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ReportJobService {
+
+    /**
+     * Queue a report for generation in the background
+     * @param reportType Type of report to generate
+     * @param parameters Report parameters, using the same keys as scheduled reports
+     * @return The queued job
+     * @throws com.portfolio.stocksage.exception.TooManyRequestsException If the current user already has the
+     *         maximum number of active jobs, or the report queue is full
+     */
+    ReportJobDTO submitJob(ReportType reportType, Map<String, Object> parameters);
+
+    /**
+     * Get the status and progress of a job owned by the current user
+     * @param jobId ID of the job
+     * @return The job
+     */
+    ReportJobDTO getJob(String jobId);
+
+    /**
+     * Get the report produced by a job owned by the current user
+     * @param jobId ID of the job
+     * @return The report, or empty if the job has not finished yet
+     * @throws com.portfolio.stocksage.exception.ResourceNotFoundException If the job failed, was cancelled, or its
+     *         report is no longer available
+     */
+    Optional<ReportDTO> getJobResult(String jobId);
+
+    /**
+     * Cancel a queued or running job owned by the current user
+     * @param jobId ID of the job
+     * @return The job after cancellation
+     */
+    ReportJobDTO cancelJob(String jobId);
+
+    /**
+     * Get the jobs of the current user, or all jobs for an admin
+     * @return Jobs, most recently submitted first
+     */
+    List<ReportJobDTO> getJobs();
+}
@@ -1,8 +1,10 @@
 package com.portfolio.stocksage.service;
 
 import com.portfolio.stocksage.dto.response.ReportDTO;
+import com.portfolio.stocksage.export.ExportFormat;
 import com.portfolio.stocksage.report.ReportType;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -86,10 +88,10 @@ public interface ReportService {
     Map<Long, Map<String, Object>> getScheduledReports();
 
     /**
-     * Export a report in the specified format
+     * Export a report in the specified format, rendering it once and serving later requests from the cached file
      * @param reportId Report ID to export
-     * @param format Export format (PDF, Excel, CSV)
-     * @return Byte array of the exported report
+     * @param format Export format
+     * @return Path of the rendered file
      */
-    byte[] exportReport(Long reportId, String format);
+    Path exportReport(Long reportId, ExportFormat format);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.portfolio.stocksage.service;
 
 import com.portfolio.stocksage.dto.request.TransactionCreateDTO;
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
+import com.portfolio.stocksage.dto.response.TransactionBatchResultDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
 import com.portfolio.stocksage.entity.Transaction;
 import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
@@ -17,6 +19,8 @@ public interface TransactionService {
 
     TransactionDTO createTransaction(TransactionCreateDTO transactionCreateDTO, String username);
 
+    TransactionBatchResultDTO createTransactions(List<TransactionCreateDTO> transactionCreateDTOs, String username);
+
     TransactionDTO getTransactionById(Long id);
 
     TransactionDTO getTransactionByNumber(String transactionNumber);
@@ -33,6 +37,8 @@ public interface TransactionService {
 
     Page<TransactionDTO> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
+    CursorPageDTO<TransactionDTO> scrollTransactions(String cursor, int size, LocalDateTime startDate, LocalDateTime endDate);
+
     Page<TransactionDTO> getTransactionsByUser(Long userId, Pageable pageable);
 
     Page<TransactionDTO> searchTransactions(String keyword, Pageable pageable);
@@ -0,0 +1,41 @@
+package com.portfolio.stocksage.service.impl;
+
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
+import com.portfolio.stocksage.entity.Audit;
+import com.portfolio.stocksage.repository.AuditRepository;
+import com.portfolio.stocksage.service.AuditService;
+import com.portfolio.stocksage.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AuditServiceImpl implements AuditService {
+
+    private final AuditRepository auditRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Audit> scrollAuditLogs(String cursor, int size, LocalDateTime startDate, LocalDateTime endDate) {
+        if ((startDate == null) != (endDate == null)) {
+            throw new IllegalArgumentException("Both start and end dates are required to filter by date");
+        }
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+
+        // Fetch one extra row to tell whether there is a next page
+        List<Audit> rows = startDate != null
+                ? auditRepository.findPageBeforeInDateRange(
+                        position.getDate(), position.getId(), startDate, endDate, pageSize + 1)
+                : auditRepository.findPageBefore(position.getDate(), position.getId(), pageSize + 1);
+
+        return CursorPageDTO.of(rows, pageSize,
+                audit -> new KeysetCursor(audit.getCreatedAt(), audit.getId()),
+                audit -> audit);
+    }
+}
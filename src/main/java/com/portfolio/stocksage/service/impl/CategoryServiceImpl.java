@@ -8,6 +8,9 @@ import com.portfolio.stocksage.exception.ResourceNotFoundException;
 import com.portfolio.stocksage.repository.CategoryRepository;
 import com.portfolio.stocksage.service.CategoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,6 +28,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public CategoryDTO createCategory(CategoryCreateDTO categoryCreateDTO) {
         if (categoryRepository.existsByName(categoryCreateDTO.getName())) {
             throw new IllegalArgumentException("Category with name " + categoryCreateDTO.getName() + " already exists");
@@ -45,6 +49,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'id:' + #id")
     public CategoryDTO getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -53,6 +58,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'name:' + #name")
     public CategoryDTO getCategoryByName(String name) {
         Category category = categoryRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + name));
@@ -83,6 +89,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", allEntries = true),
+            // Product DTOs embed their category
+            @CacheEvict(value = "products", allEntries = true)
+    })
     public CategoryDTO updateCategory(Long id, CategoryCreateDTO categoryCreateDTO) {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -125,6 +136,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -149,6 +161,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'roots'")
     public List<CategoryDTO> getRootCategories() {
         return categoryRepository.findAllRootCategories().stream()
                 .map(category -> {
@@ -161,6 +174,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'children:' + #parentId")
     public List<CategoryDTO> getSubcategories(Long parentId) {
         if (!categoryRepository.existsById(parentId)) {
             throw new ResourceNotFoundException("Parent category not found with id: " + parentId);
@@ -192,6 +206,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'hierarchy:' + #id")
     public CategoryDTO getCategoryWithHierarchy(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -1,11 +1,19 @@
 package com.portfolio.stocksage.service.impl;
 
 import com.portfolio.stocksage.dto.response.DashboardDTO;
-import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
 import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import com.portfolio.stocksage.metrics.DashboardMetricsStore;
 import com.portfolio.stocksage.repository.*;
+import com.portfolio.stocksage.repository.projection.DailyTransactionTotal;
+import com.portfolio.stocksage.repository.projection.ProductQuantitySummary;
+import com.portfolio.stocksage.repository.projection.ProductStockSummary;
+import com.portfolio.stocksage.repository.projection.TransactionStatusCount;
+import com.portfolio.stocksage.repository.projection.TransactionTypeTotal;
 import com.portfolio.stocksage.service.DashboardService;
+import com.portfolio.stocksage.util.AppConstants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,7 +22,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,12 +30,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
+    private static final int TOP_PRODUCTS_LIMIT = 5;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final WarehouseRepository warehouseRepository;
     private final SupplierRepository supplierRepository;
     private final InventoryRepository inventoryRepository;
     private final TransactionRepository transactionRepository;
+    private final DashboardMetricsStore dashboardMetrics;
 
     @Override
     @Transactional(readOnly = true)
@@ -53,8 +64,13 @@ public class DashboardServiceImpl implements DashboardService {
         // Build inventory summary
         DashboardDTO.InventorySummary inventorySummary = buildInventorySummary();
 
+        // Transaction metrics are read from the in-memory store when it covers the range (day granularity)
+        boolean useMetricsStore = dashboardMetrics.covers(startDate.toLocalDate());
+
         // Build transaction summary
-        DashboardDTO.TransactionSummary transactionSummary = buildTransactionSummary(startOfDay, endOfDay, startDate, endDate);
+        DashboardDTO.TransactionSummary transactionSummary = useMetricsStore
+                ? buildTransactionSummaryFromMetrics(startDate.toLocalDate(), endDate.toLocalDate())
+                : buildTransactionSummary(startOfDay, endOfDay, startDate, endDate);
 
         // Get top selling products
         List<DashboardDTO.TopProductDTO> topSellingProducts = getTopSellingProducts();
@@ -63,13 +79,22 @@ public class DashboardServiceImpl implements DashboardService {
         List<DashboardDTO.TopProductDTO> lowStockProducts = getLowStockProducts();
 
         // Get warehouse summaries
-        List<DashboardDTO.WarehouseSummaryDTO> warehouseSummaries = getWarehouseSummaries();
-
-        // Get sales trend
-        List<DashboardDTO.ChartDataDTO> salesTrend = getSalesTrend(startDate, endDate);
-
-        // Get purchase trend
-        List<DashboardDTO.ChartDataDTO> purchaseTrend = getPurchaseTrend(startDate, endDate);
+        List<DashboardDTO.WarehouseSummaryDTO> warehouseSummaries = useMetricsStore
+                ? getWarehouseSummariesFromMetrics()
+                : getWarehouseSummaries();
+
+        // Get sales and purchase trends
+        List<DashboardDTO.ChartDataDTO> salesTrend;
+        List<DashboardDTO.ChartDataDTO> purchaseTrend;
+        if (useMetricsStore) {
+            salesTrend = getTrendFromMetrics(startDate.toLocalDate(), endDate.toLocalDate(), TransactionType.SALE);
+            purchaseTrend = getTrendFromMetrics(startDate.toLocalDate(), endDate.toLocalDate(), TransactionType.PURCHASE);
+        } else {
+            // Sales and purchase trends share a single grouped query
+            List<DailyTransactionTotal> dailyTotals = transactionRepository.sumCompletedByDay(startDate, endDate);
+            salesTrend = getSalesTrend(dailyTotals);
+            purchaseTrend = getPurchaseTrend(dailyTotals);
+        }
 
         // Build the complete dashboard DTO
         return DashboardDTO.builder()
@@ -84,33 +109,21 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     private DashboardDTO.InventorySummary buildInventorySummary() {
-        long totalProducts = productRepository.count();
         long totalCategories = categoryRepository.count();
         long totalWarehouses = warehouseRepository.count();
         long totalSuppliers = supplierRepository.count();
 
-        List<Product> lowStockProducts = productRepository.findLowStockProducts(10);
-        List<Product> outOfStockProducts = productRepository.findAll().stream()
-                .filter(p -> p.getUnitsInStock() == 0)
-                .collect(Collectors.toList());
-
-        // Calculate total inventory value (simplified version)
-        BigDecimal totalValue = BigDecimal.ZERO;
-        List<Product> allProducts = productRepository.findAll();
-        for (Product product : allProducts) {
-            if (product.getUnitsInStock() > 0) {
-                totalValue = totalValue.add(product.getUnitPrice().multiply(new BigDecimal(product.getUnitsInStock())));
-            }
-        }
+        // Product counts and stock value are aggregated in the database
+        ProductStockSummary stockSummary = productRepository.getStockSummary(AppConstants.LOW_STOCK_THRESHOLD);
 
         return DashboardDTO.InventorySummary.builder()
-                .totalProducts((int) totalProducts)
+                .totalProducts(toInt(stockSummary.getTotalProducts()))
                 .totalCategories((int) totalCategories)
                 .totalWarehouses((int) totalWarehouses)
                 .totalSuppliers((int) totalSuppliers)
-                .lowStockItems(lowStockProducts.size())
-                .outOfStockItems(outOfStockProducts.size())
-                .totalInventoryValue(totalValue)
+                .lowStockItems(toInt(stockSummary.getLowStockItems()))
+                .outOfStockItems(toInt(stockSummary.getOutOfStockItems()))
+                .totalInventoryValue(valueOrZero(stockSummary.getTotalInventoryValue()))
                 .build();
     }
 
@@ -118,147 +131,164 @@ public class DashboardServiceImpl implements DashboardService {
             LocalDateTime startOfDay, LocalDateTime endOfDay,
             LocalDateTime startOfPeriod, LocalDateTime endOfPeriod) {
 
-        // Count transactions
-        long totalTransactions = transactionRepository.count();
-        long pendingTransactions = transactionRepository.findByStatus(
-                Transaction.TransactionStatus.PENDING, null).getTotalElements();
-        long completedTransactions = transactionRepository.findByStatus(
-                Transaction.TransactionStatus.COMPLETED, null).getTotalElements();
-
-        // Count today's transactions
-        long todaySales = transactionRepository.countTransactionsSince(
-                startOfDay, TransactionType.SALE);
-        long todayPurchases = transactionRepository.countTransactionsSince(
-                startOfDay, TransactionType.PURCHASE);
-
-        // Calculate values (simplified version)
-        BigDecimal todaySalesValue = calculateTransactionValue(
-                startOfDay, endOfDay, TransactionType.SALE);
-        BigDecimal todayPurchasesValue = calculateTransactionValue(
-                startOfDay, endOfDay, TransactionType.PURCHASE);
-        BigDecimal periodSalesValue = calculateTransactionValue(
-                startOfPeriod, endOfPeriod, TransactionType.SALE);
-        BigDecimal periodPurchasesValue = calculateTransactionValue(
-                startOfPeriod, endOfPeriod, TransactionType.PURCHASE);
+        // Count transactions per status
+        long totalTransactions = 0;
+        long pendingTransactions = 0;
+        long completedTransactions = 0;
+        for (TransactionStatusCount statusCount : transactionRepository.countByStatus()) {
+            long count = statusCount.getTransactionCount();
+            totalTransactions += count;
+            if (statusCount.getStatus() == TransactionStatus.PENDING) {
+                pendingTransactions = count;
+            } else if (statusCount.getStatus() == TransactionStatus.COMPLETED) {
+                completedTransactions = count;
+            }
+        }
+
+        // Today's counts and values, grouped by type
+        List<TransactionTypeTotal> todayTotals = transactionRepository.sumByTypeInDateRange(
+                startOfDay, endOfDay, TransactionStatus.COMPLETED);
+
+        // Period values, grouped by type
+        List<TransactionTypeTotal> periodTotals = transactionRepository.sumByTypeInDateRange(
+                startOfPeriod, endOfPeriod, TransactionStatus.COMPLETED);
+
+        TransactionTypeTotal todaySales = findTotal(todayTotals, TransactionType.SALE);
+        TransactionTypeTotal todayPurchases = findTotal(todayTotals, TransactionType.PURCHASE);
+        TransactionTypeTotal periodSales = findTotal(periodTotals, TransactionType.SALE);
+        TransactionTypeTotal periodPurchases = findTotal(periodTotals, TransactionType.PURCHASE);
 
         return DashboardDTO.TransactionSummary.builder()
                 .totalTransactions((int) totalTransactions)
                 .pendingTransactions((int) pendingTransactions)
                 .completedTransactions((int) completedTransactions)
-                .todaySales((int) todaySales)
-                .todayPurchases((int) todayPurchases)
-                .todaySalesValue(todaySalesValue)
-                .todayPurchasesValue(todayPurchasesValue)
-                .monthlySalesValue(periodSalesValue)
-                .monthlyPurchasesValue(periodPurchasesValue)
+                .todaySales(todaySales != null ? toInt(todaySales.getTransactionCount()) : 0)
+                .todayPurchases(todayPurchases != null ? toInt(todayPurchases.getTransactionCount()) : 0)
+                .todaySalesValue(todaySales != null ? valueOrZero(todaySales.getCompletedValue()) : BigDecimal.ZERO)
+                .todayPurchasesValue(todayPurchases != null ? valueOrZero(todayPurchases.getCompletedValue()) : BigDecimal.ZERO)
+                .monthlySalesValue(periodSales != null ? valueOrZero(periodSales.getCompletedValue()) : BigDecimal.ZERO)
+                .monthlyPurchasesValue(periodPurchases != null ? valueOrZero(periodPurchases.getCompletedValue()) : BigDecimal.ZERO)
                 .build();
     }
 
-    private BigDecimal calculateTransactionValue(
-            LocalDateTime startDate, LocalDateTime endDate, TransactionType type) {
-        // This is a simplified implementation
-        // In a real application, you would query the database more efficiently
-        BigDecimal total = BigDecimal.ZERO;
-
-        // Get all transactions in the date range and of the specified type
-        List<Transaction> transactions = transactionRepository.findByDateRangeAndType(
-                startDate, endDate, type);
-
-        // Calculate the total value
-        for (Transaction transaction : transactions) {
-            if (transaction.getStatus() == Transaction.TransactionStatus.COMPLETED) {
-                BigDecimal transactionValue = transaction.getUnitPrice()
-                        .multiply(new BigDecimal(transaction.getQuantity()));
-                total = total.add(transactionValue);
-            }
-        }
+    private DashboardDTO.TransactionSummary buildTransactionSummaryFromMetrics(LocalDate periodStart, LocalDate periodEnd) {
+        LocalDate today = LocalDate.now();
 
-        return total;
+        return DashboardDTO.TransactionSummary.builder()
+                .totalTransactions((int) dashboardMetrics.getTotalCount())
+                .pendingTransactions((int) dashboardMetrics.getStatusCount(TransactionStatus.PENDING))
+                .completedTransactions((int) dashboardMetrics.getStatusCount(TransactionStatus.COMPLETED))
+                .todaySales((int) dashboardMetrics.getTransactionCount(today, today, TransactionType.SALE))
+                .todayPurchases((int) dashboardMetrics.getTransactionCount(today, today, TransactionType.PURCHASE))
+                .todaySalesValue(dashboardMetrics.getCompletedValue(today, today, TransactionType.SALE))
+                .todayPurchasesValue(dashboardMetrics.getCompletedValue(today, today, TransactionType.PURCHASE))
+                .monthlySalesValue(dashboardMetrics.getCompletedValue(periodStart, periodEnd, TransactionType.SALE))
+                .monthlyPurchasesValue(dashboardMetrics.getCompletedValue(periodStart, periodEnd, TransactionType.PURCHASE))
+                .build();
     }
 
     private List<DashboardDTO.TopProductDTO> getTopSellingProducts() {
-        // This is a simplified implementation
-        // In a real application, you would use a more efficient query
-        List<DashboardDTO.TopProductDTO> result = new ArrayList<>();
-
-        // Get all products and sort by sales
-        List<Product> allProducts = productRepository.findAll();
-
-        for (Product product : allProducts) {
-            // Get the total quantity sold for this product
-            Integer quantitySold = transactionRepository.sumQuantityByProductAndType(
-                    product.getId(), TransactionType.SALE);
-
-            if (quantitySold != null && quantitySold > 0) {
-                result.add(DashboardDTO.TopProductDTO.builder()
-                        .id(product.getId())
-                        .sku(product.getSku())
-                        .name(product.getName())
-                        .category(product.getCategory().getName())
-                        .quantity(quantitySold)
-                        .unitPrice(product.getUnitPrice())
-                        .totalValue(product.getUnitPrice().multiply(new BigDecimal(quantitySold)))
-                        .build());
-            }
-        }
-
-        // Sort by quantity sold (descending) and limit to top 5
-        result.sort((a, b) -> b.getQuantity() - a.getQuantity());
-        if (result.size() > 5) {
-            result = result.subList(0, 5);
-        }
-
-        return result;
+        // Ranking and limiting happen in the database
+        return transactionRepository.findTopProductsByQuantity(
+                        TransactionType.SALE, TransactionStatus.COMPLETED, PageRequest.of(0, TOP_PRODUCTS_LIMIT))
+                .stream()
+                .map(this::toTopProductDTO)
+                .collect(Collectors.toList());
     }
 
     private List<DashboardDTO.TopProductDTO> getLowStockProducts() {
-        List<DashboardDTO.TopProductDTO> result = new ArrayList<>();
-
-        // Get low stock products
-        List<Product> lowStockProducts = productRepository.findLowStockProducts(10);
-
-        for (Product product : lowStockProducts) {
-            result.add(DashboardDTO.TopProductDTO.builder()
-                    .id(product.getId())
-                    .sku(product.getSku())
-                    .name(product.getName())
-                    .category(product.getCategory().getName())
-                    .quantity(product.getUnitsInStock())
-                    .unitPrice(product.getUnitPrice())
-                    .totalValue(product.getUnitPrice().multiply(new BigDecimal(product.getUnitsInStock())))
-                    .build());
-        }
-
-        // Sort by stock quantity (ascending)
-        result.sort((a, b) -> a.getQuantity() - b.getQuantity());
-
-        return result;
+        // Category name is joined in the query, sorted by stock quantity (ascending)
+        return productRepository.findLowStockSummaries(AppConstants.LOW_STOCK_THRESHOLD).stream()
+                .map(this::toTopProductDTO)
+                .collect(Collectors.toList());
     }
 
     private List<DashboardDTO.WarehouseSummaryDTO> getWarehouseSummaries() {
-        // This is a simplified implementation
-        List<DashboardDTO.WarehouseSummaryDTO> result = new ArrayList<>();
+        return inventoryRepository.getWarehouseStockSummaries().stream()
+                .map(summary -> DashboardDTO.WarehouseSummaryDTO.builder()
+                        .id(summary.getId())
+                        .name(summary.getName())
+                        .location(summary.getLocation())
+                        .capacity(summary.getCapacity())
+                        .productCount(toInt(summary.getProductCount()))
+                        .totalQuantity(toInt(summary.getTotalQuantity()))
+                        .totalValue(valueOrZero(summary.getTotalValue()))
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        // In a real implementation, you would join tables and calculate metrics in a query
+    private List<DashboardDTO.WarehouseSummaryDTO> getWarehouseSummariesFromMetrics() {
+        return dashboardMetrics.getWarehouseStock().stream()
+                .sorted(Comparator.comparing(DashboardMetricsStore.WarehouseStock::getName))
+                .map(stock -> DashboardDTO.WarehouseSummaryDTO.builder()
+                        .id(stock.getId())
+                        .name(stock.getName())
+                        .location(stock.getLocation())
+                        .capacity(stock.getCapacity())
+                        .productCount(stock.getProductCount())
+                        .totalQuantity((int) stock.getTotalQuantity())
+                        .totalValue(stock.getTotalValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        return result;
+    private List<DashboardDTO.ChartDataDTO> getTrendFromMetrics(LocalDate from, LocalDate to, TransactionType type) {
+        return dashboardMetrics.getDailyCompletedValues(from, to, type).entrySet().stream()
+                .map(entry -> DashboardDTO.ChartDataDTO.builder()
+                        .label(entry.getKey().toString())
+                        .value(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private List<DashboardDTO.ChartDataDTO> getSalesTrend(LocalDateTime startDate, LocalDateTime endDate) {
-        // This is a simplified implementation
-        List<DashboardDTO.ChartDataDTO> result = new ArrayList<>();
+    private List<DashboardDTO.ChartDataDTO> getSalesTrend(List<DailyTransactionTotal> dailyTotals) {
+        return toTrend(dailyTotals, TransactionType.SALE);
+    }
+
+    private List<DashboardDTO.ChartDataDTO> getPurchaseTrend(List<DailyTransactionTotal> dailyTotals) {
+        return toTrend(dailyTotals, TransactionType.PURCHASE);
+    }
 
-        // In a real implementation, you would aggregate sales by day/week/month
+    /**
+     * Extract the per-day chart points of one transaction type, already ordered by day
+     */
+    private List<DashboardDTO.ChartDataDTO> toTrend(List<DailyTransactionTotal> dailyTotals, TransactionType type) {
+        return dailyTotals.stream()
+                .filter(total -> type.name().equals(total.getTransactionType()))
+                .map(total -> DashboardDTO.ChartDataDTO.builder()
+                        .label(total.getLabel())
+                        .value(valueOrZero(total.getTotalAmount()))
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        return result;
+    private DashboardDTO.TopProductDTO toTopProductDTO(ProductQuantitySummary summary) {
+        int quantity = toInt(summary.getQuantity());
+        BigDecimal unitPrice = valueOrZero(summary.getUnitPrice());
+
+        return DashboardDTO.TopProductDTO.builder()
+                .id(summary.getId())
+                .sku(summary.getSku())
+                .name(summary.getName())
+                .category(summary.getCategory())
+                .quantity(quantity)
+                .unitPrice(unitPrice)
+                .totalValue(unitPrice.multiply(new BigDecimal(quantity)))
+                .build();
     }
 
-    private List<DashboardDTO.ChartDataDTO> getPurchaseTrend(LocalDateTime startDate, LocalDateTime endDate) {
-        // This is a simplified implementation
-        List<DashboardDTO.ChartDataDTO> result = new ArrayList<>();
+    private TransactionTypeTotal findTotal(List<TransactionTypeTotal> totals, TransactionType type) {
+        return totals.stream()
+                .filter(total -> total.getTransactionType() == type)
+                .findFirst()
+                .orElse(null);
+    }
 
-        // In a real implementation, you would aggregate purchases by day/week/month
+    private int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
 
-        return result;
+    private BigDecimal valueOrZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
-}
\ No newline at end of file
+}
@@ -1,27 +1,63 @@
 
 package com.portfolio.stocksage.service.impl;
 
-import com.portfolio.stocksage.export.ExcelExportService;
-import com.portfolio.stocksage.export.PdfExportService;
-import com.portfolio.stocksage.export.CsvExportService;
+import com.portfolio.stocksage.dto.mapper.InventoryMapper;
+import com.portfolio.stocksage.dto.mapper.ProductMapper;
+import com.portfolio.stocksage.dto.mapper.SupplierMapper;
+import com.portfolio.stocksage.dto.mapper.TransactionMapper;
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
+import com.portfolio.stocksage.entity.Inventory;
+import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.entity.Supplier;
+import com.portfolio.stocksage.entity.Transaction;
+import com.portfolio.stocksage.export.CsvExportService;
+import com.portfolio.stocksage.export.ExcelExportService;
+import com.portfolio.stocksage.export.ExportFormat;
+import com.portfolio.stocksage.export.ExportStrategy;
+import com.portfolio.stocksage.export.JsonExportService;
+import com.portfolio.stocksage.export.PdfExportService;
+import com.portfolio.stocksage.repository.InventoryRepository;
+import com.portfolio.stocksage.repository.ProductRepository;
+import com.portfolio.stocksage.repository.SupplierRepository;
+import com.portfolio.stocksage.repository.TransactionRepository;
 import com.portfolio.stocksage.service.ExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ExportServiceImpl implements ExportService {
 
+    // Streamed entities released from the persistence context at a time; matches the repository fetch size
+    private static final int CLEAR_INTERVAL = 1000;
+
     private final ExcelExportService excelExportService;
     private final PdfExportService pdfExportService;
     private final CsvExportService csvExportService;
+    private final JsonExportService jsonExportService;
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductMapper productMapper;
+    private final InventoryMapper inventoryMapper;
+    private final TransactionMapper transactionMapper;
+    private final SupplierMapper supplierMapper;
+    private final EntityManager entityManager;
 
     @Override
     public byte[] exportProductsToExcel(List<ProductDTO> products) throws IOException {
@@ -82,4 +118,71 @@ public class ExportServiceImpl implements ExportService {
     public byte[] exportSuppliersToCsv(List<SupplierDTO> suppliers) throws IOException {
         return csvExportService.exportSuppliers(suppliers);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Product> products = productRepository.streamAllForExport()) {
+            getStrategy(format).exportProducts(mapAndRelease(products, productMapper::toDto), out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportInventory(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Inventory> inventory = inventoryRepository.streamAllForExport()) {
+            getStrategy(format).exportInventory(mapAndRelease(inventory, inventoryMapper::toDto), out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTransactions(ExportFormat format, LocalDateTime startDate, LocalDateTime endDate, OutputStream out)
+            throws IOException {
+        try (Stream<Transaction> transactions = transactionRepository.streamForExport(startDate, endDate)) {
+            getStrategy(format).exportTransactions(mapAndRelease(transactions, transactionMapper::toDto), out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportSuppliers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Supplier> suppliers = supplierRepository.streamAllForExport()) {
+            getStrategy(format).exportSuppliers(mapAndRelease(suppliers, supplierMapper::toDto), out);
+        }
+    }
+
+    @Override
+    public void exportReport(ReportDTO report, ExportFormat format, OutputStream out) throws IOException {
+        getStrategy(format).exportReport(report, out);
+    }
+
+    private ExportStrategy getStrategy(ExportFormat format) {
+        switch (format) {
+            case EXCEL:
+                return excelExportService;
+            case PDF:
+                return pdfExportService;
+            case JSON:
+                return jsonExportService;
+            case CSV:
+            default:
+                return csvExportService;
+        }
+    }
+
+    /**
+     * Map streamed entities to DTOs, clearing the persistence context every batch.
+     * Without this every row read from the cursor stays attached to the session until the export finishes.
+     */
+    private <E, D> Stream<D> mapAndRelease(Stream<E> entities, Function<E, D> mapper) {
+        AtomicInteger mapped = new AtomicInteger();
+        return entities.map(entity -> {
+            D dto = mapper.apply(entity);
+            if (mapped.incrementAndGet() % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+            return dto;
+        });
+    }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import com.portfolio.stocksage.entity.Inventory;
 import com.portfolio.stocksage.entity.Product;
 import com.portfolio.stocksage.entity.Warehouse;
 import com.portfolio.stocksage.exception.ResourceNotFoundException;
+import com.portfolio.stocksage.inventory.StockUpdater;
+import com.portfolio.stocksage.inventory.StockWriteCoalescer;
 import com.portfolio.stocksage.repository.InventoryRepository;
 import com.portfolio.stocksage.repository.ProductRepository;
 import com.portfolio.stocksage.repository.WarehouseRepository;
@@ -31,6 +33,8 @@ public class InventoryServiceImpl implements InventoryService {
     private final ProductRepository productRepository;
     private final WarehouseRepository warehouseRepository;
     private final InventoryMapper inventoryMapper;
+    private final StockUpdater stockUpdater;
+    private final StockWriteCoalescer writeCoalescer;
 
     @Override
     @Transactional
@@ -57,7 +61,9 @@ public class InventoryServiceImpl implements InventoryService {
         Inventory savedInventory = inventoryRepository.save(inventory);
 
         // Update product total stock
-        updateProductStock(product);
+        stockUpdater.addUnitsInStock(product.getId(), savedInventory.getQuantity());
+        stockUpdater.recordInventoryChange(product.getId(), warehouse.getId(), savedInventory.getQuantity());
+        writeCoalescer.recordDirectChange(product.getId(), warehouse.getId(), savedInventory.getQuantity());
 
         return inventoryMapper.toDto(savedInventory);
     }
@@ -121,9 +127,14 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional
     public InventoryDTO updateInventory(Long id, InventoryCreateDTO inventoryCreateDTO) {
-        Inventory inventory = inventoryRepository.findById(id)
+        Inventory inventory = inventoryRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id));
 
+        // Remember the current stock so product totals can be adjusted by the difference
+        Product oldProduct = inventory.getProduct();
+        Long oldWarehouseId = inventory.getWarehouse().getId();
+        int oldQuantity = inventory.getQuantity();
+
         // If product or warehouse is being changed, check if there's already an inventory record for the new combination
         if (!inventory.getProduct().getId().equals(inventoryCreateDTO.getProductId()) ||
                 !inventory.getWarehouse().getId().equals(inventoryCreateDTO.getWarehouseId())) {
@@ -140,14 +151,7 @@ public class InventoryServiceImpl implements InventoryService {
                 Product product = productRepository.findById(inventoryCreateDTO.getProductId())
                         .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + inventoryCreateDTO.getProductId()));
 
-                // Save the old product to update its stock later
-                Product oldProduct = inventory.getProduct();
-
                 inventory.setProduct(product);
-
-                // Update both products' stock counts
-                updateProductStock(oldProduct);
-                updateProductStock(product);
             }
 
             if (!inventory.getWarehouse().getId().equals(inventoryCreateDTO.getWarehouseId())) {
@@ -156,34 +160,45 @@ public class InventoryServiceImpl implements InventoryService {
                 inventory.setWarehouse(warehouse);
             }
         } else {
-            // If the product is the same, just update its stock count if quantity changed
-            if (inventory.getQuantity() != inventoryCreateDTO.getQuantity()) {
-                Product product = inventory.getProduct();
-                inventory.setQuantity(inventoryCreateDTO.getQuantity());
-                updateProductStock(product);
-            } else {
-                // Just update the quantity
-                inventory.setQuantity(inventoryCreateDTO.getQuantity());
-            }
+            // Same product and warehouse, so only the quantity can change
+            inventory.setQuantity(inventoryCreateDTO.getQuantity());
         }
 
         Inventory updatedInventory = inventoryRepository.save(inventory);
 
+        // Update product total stock
+        if (oldProduct.getId().equals(updatedInventory.getProduct().getId())) {
+            stockUpdater.addUnitsInStock(oldProduct.getId(), updatedInventory.getQuantity() - oldQuantity);
+        } else {
+            stockUpdater.addUnitsInStock(oldProduct.getId(), -oldQuantity);
+            stockUpdater.addUnitsInStock(updatedInventory.getProduct().getId(), updatedInventory.getQuantity());
+        }
+        stockUpdater.recordInventoryChange(oldProduct.getId(), oldWarehouseId, -oldQuantity);
+        stockUpdater.recordInventoryChange(updatedInventory.getProduct().getId(),
+                updatedInventory.getWarehouse().getId(), updatedInventory.getQuantity());
+        writeCoalescer.recordDirectChange(oldProduct.getId(), oldWarehouseId, -oldQuantity);
+        writeCoalescer.recordDirectChange(updatedInventory.getProduct().getId(),
+                updatedInventory.getWarehouse().getId(), updatedInventory.getQuantity());
+
         return inventoryMapper.toDto(updatedInventory);
     }
 
     @Override
     @Transactional
     public void deleteInventory(Long id) {
-        Inventory inventory = inventoryRepository.findById(id)
+        Inventory inventory = inventoryRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id));
 
-        Product product = inventory.getProduct();
+        Long productId = inventory.getProduct().getId();
+        Long warehouseId = inventory.getWarehouse().getId();
+        int quantity = inventory.getQuantity();
 
         inventoryRepository.deleteById(id);
 
         // Update product total stock
-        updateProductStock(product);
+        stockUpdater.addUnitsInStock(productId, -quantity);
+        stockUpdater.recordInventoryChange(productId, warehouseId, -quantity);
+        writeCoalescer.recordDirectChange(productId, warehouseId, -quantity);
     }
 
     @Override
@@ -231,24 +246,13 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional
     public void adjustInventory(Long productId, Long warehouseId, Integer quantityChange) {
-        Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+        // Applied atomically in the database, clamped so the quantity doesn't go below zero
+        int appliedChange = stockUpdater.addToExisting(productId, warehouseId, quantityChange)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product id: " +
                         productId + " and warehouse id: " + warehouseId));
 
-        // Calculate new quantity, ensuring it doesn't go below zero
-        int newQuantity = Math.max(0, inventory.getQuantity() + quantityChange);
-        inventory.setQuantity(newQuantity);
-
-        inventoryRepository.save(inventory);
-
         // Update product total stock
-        updateProductStock(inventory.getProduct());
-    }
-
-    // Helper method to update the total stock count on the product entity
-    private void updateProductStock(Product product) {
-        Integer totalStock = inventoryRepository.getTotalQuantityByProductId(product.getId());
-        product.setUnitsInStock(totalStock != null ? totalStock : 0);
-        productRepository.save(product);
+        stockUpdater.addUnitsInStock(productId, appliedChange);
+        writeCoalescer.recordDirectChange(productId, warehouseId, appliedChange);
     }
 }
\ No newline at end of file
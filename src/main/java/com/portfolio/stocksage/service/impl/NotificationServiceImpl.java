@@ -1,5 +1,6 @@
 package com.portfolio.stocksage.service.impl;
 
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
 import com.portfolio.stocksage.entity.Notification;
 import com.portfolio.stocksage.entity.User;
 import com.portfolio.stocksage.exception.ResourceNotFoundException;
@@ -7,6 +8,7 @@ import com.portfolio.stocksage.repository.NotificationRepository;
 import com.portfolio.stocksage.repository.UserRepository;
 import com.portfolio.stocksage.service.NotificationService;
 import com.portfolio.stocksage.util.EmailUtils;
+import com.portfolio.stocksage.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -16,9 +18,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -70,19 +73,14 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void createNotificationForAllUsers(String title, String message, String type) {
-        List<User> allUsers = userRepository.findAll();
-        for (User user : allUsers) {
-            createNotification(title, message, type, user.getId());
-        }
+        int created = notificationRepository.insertForAllUsers(title, message, type, LocalDateTime.now());
+        log.debug("Created {} '{}' notifications for all users", created, type);
     }
 
     @Override
     @Transactional
     public void createNotificationForRole(String title, String message, String type, String roleName) {
-        List<User> usersWithRole = userRepository.findByRoleName(roleName);
-        for (User user : usersWithRole) {
-            createNotification(title, message, type, user.getId());
-        }
+        createNotificationForRoles(title, message, type, Collections.singletonList(roleName));
     }
 
     @Override
@@ -105,12 +103,7 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndReadFalse(userId);
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-            notification.setReadAt(LocalDateTime.now());
-            notificationRepository.save(notification);
-        }
+        notificationRepository.markAllAsRead(userId, LocalDateTime.now());
     }
 
     @Override
@@ -140,6 +133,19 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Notification> scrollUserNotifications(Long userId, boolean unreadOnly, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+
+        List<Notification> rows = notificationRepository.findUserPageBefore(
+                userId, unreadOnly, position.getDate(), position.getId(), pageSize + 1);
+        return CursorPageDTO.of(rows, pageSize,
+                notification -> new KeysetCursor(notification.getCreatedAt(), notification.getId()),
+                notification -> notification);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<Notification> getSystemNotifications(Pageable pageable) {
@@ -159,17 +165,14 @@ public class NotificationServiceImpl implements NotificationService {
         String message = String.format("Product '%s' (ID: %d) is running low on stock. Current stock: %d (Threshold: %d)",
                 productName, productId, currentStock, threshold);
 
+        List<String> roleNames = Collections.singletonList("INVENTORY_MANAGER");
+
         // Create in-app notification for inventory managers
-        createNotificationForRole(title, message, "INVENTORY_ALERT", "INVENTORY_MANAGER");
+        createNotificationForRoles(title, message, "INVENTORY_ALERT", roleNames);
 
         // Send email to inventory managers if email is enabled
         if (emailEnabled) {
-            List<User> inventoryManagers = userRepository.findByRoleName("INVENTORY_MANAGER");
-            for (User manager : inventoryManagers) {
-                if (manager.getEmail() != null && !manager.getEmail().isEmpty()) {
-                    emailUtils.sendSimpleEmail(manager.getEmail(), title, message);
-                }
-            }
+            emailUtils.sendBulkEmail(userRepository.findEmailsByRoleNames(roleNames), title, message);
         } else {
             log.info("Email notifications disabled. Would have sent low stock alert emails.");
         }
@@ -208,32 +211,26 @@ public class NotificationServiceImpl implements NotificationService {
         String title = "STOCK OUT ALERT";
         String message = String.format("Product '%s' (ID: %d) is out of stock!", productName, productId);
 
-        // Create in-app notification for inventory managers and admins
-        createNotificationForRole(title, message, "INVENTORY_ALERT", "INVENTORY_MANAGER");
-        createNotificationForRole(title, message, "INVENTORY_ALERT", "ADMIN");
+        List<String> roleNames = Arrays.asList("INVENTORY_MANAGER", "ADMIN");
+
+        // Create in-app notification for inventory managers and admins, once per user even if they hold both roles
+        createNotificationForRoles(title, message, "INVENTORY_ALERT", roleNames);
 
         // Send urgent email to inventory managers and admins if email is enabled
         if (emailEnabled) {
-            List<User> inventoryManagers = userRepository.findByRoleName("INVENTORY_MANAGER");
-            List<User> admins = userRepository.findByRoleName("ADMIN");
-
-            List<String> emails = inventoryManagers.stream()
-                    .map(User::getEmail)
-                    .filter(email -> email != null && !email.isEmpty())
-                    .collect(Collectors.toList());
-
-            emails.addAll(admins.stream()
-                    .map(User::getEmail)
-                    .filter(email -> email != null && !email.isEmpty())
-                    .collect(Collectors.toList()));
-
-            for (String email : emails) {
-                emailUtils.sendSimpleEmail(email, title, message);
-            }
+            emailUtils.sendBulkEmail(userRepository.findEmailsByRoleNames(roleNames), title, message);
         } else {
             log.info("Email notifications disabled. Would have sent stock out alert emails.");
         }
 
         return CompletableFuture.completedFuture(null);
     }
-}
\ No newline at end of file
+
+    /**
+     * Notify every user holding any of the given roles with a single INSERT ... SELECT
+     */
+    private void createNotificationForRoles(String title, String message, String type, List<String> roleNames) {
+        int created = notificationRepository.insertForRoles(title, message, type, roleNames, LocalDateTime.now());
+        log.debug("Created {} '{}' notifications for roles {}", created, type, roleNames);
+    }
+}
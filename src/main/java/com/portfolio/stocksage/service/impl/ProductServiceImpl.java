@@ -1,16 +1,25 @@
 package com.portfolio.stocksage.service.impl;
 
+import com.portfolio.stocksage.catalog.ProductCatalogIndex;
+import com.portfolio.stocksage.catalog.ProductChangedEvent;
 import com.portfolio.stocksage.dto.mapper.ProductMapper;
 import com.portfolio.stocksage.dto.request.ProductCreateDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ProductSuggestionDTO;
 import com.portfolio.stocksage.entity.Category;
 import com.portfolio.stocksage.entity.Product;
 import com.portfolio.stocksage.exception.ResourceNotFoundException;
 import com.portfolio.stocksage.repository.CategoryRepository;
 import com.portfolio.stocksage.repository.ProductRepository;
 import com.portfolio.stocksage.service.ProductService;
+import com.portfolio.stocksage.util.SearchTerms;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,12 +31,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final ProductCatalogIndex catalogIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public ProductDTO createProduct(ProductCreateDTO productCreateDTO) {
         if (productRepository.existsBySku(productCreateDTO.getSku())) {
             throw new IllegalArgumentException("Product with SKU " + productCreateDTO.getSku() + " already exists");
@@ -39,12 +53,17 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + productCreateDTO.getCategoryId()));
         product.setCategory(category);
 
+        // Stock comes from inventory records, and a new product has none yet
+        product.setUnitsInStock(0);
+
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
         return productMapper.toDto(savedProduct);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "products", key = "#id")
     public ProductDTO getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
@@ -76,12 +95,35 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional(readOnly = true)
     public Page<ProductDTO> searchProducts(String keyword, Pageable pageable) {
-        return productRepository.search(keyword, pageable)
+        // Results come back in relevance order, so any requested sort is not applied
+        SearchTerms terms = SearchTerms.of(keyword);
+        return productRepository.search(terms.getTextQuery(), terms.getContainsPattern(), terms.getPrefixPattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(productMapper::toDto);
     }
 
+    @Override
+    public List<ProductSuggestionDTO> suggestProducts(String query, int limit, boolean includeInactive) {
+        // Served from the in-memory catalog index, without a database round trip
+        return catalogIndex.suggest(query, Math.min(limit, MAX_SUGGESTIONS), includeInactive).stream()
+                .map(entry -> ProductSuggestionDTO.builder()
+                        .id(entry.getId())
+                        .sku(entry.getSku())
+                        .name(entry.getName())
+                        .unitPrice(entry.getUnitPrice())
+                        .active(entry.isActive())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "products", key = "#id"),
+            // Category and supplier DTOs carry product counts and summaries
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "suppliers", allEntries = true)
+    })
     public ProductDTO updateProduct(Long id, ProductCreateDTO productCreateDTO) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
@@ -103,16 +145,24 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(updatedProduct));
         return productMapper.toDto(updatedProduct);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "products", key = "#id"),
+            // Category and supplier DTOs carry product counts and summaries
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "suppliers", allEntries = true)
+    })
     public void deleteProduct(Long id) {
         if (!productRepository.existsById(id)) {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
     }
 
     @Override
@@ -0,0 +1,240 @@
+package com.portfolio.stocksage.service.impl;
+
+import com.portfolio.stocksage.dto.response.ReportDTO;
+import com.portfolio.stocksage.dto.response.ReportJobDTO;
+import com.portfolio.stocksage.exception.ResourceNotFoundException;
+import com.portfolio.stocksage.exception.TooManyRequestsException;
+import com.portfolio.stocksage.report.ReportJob;
+import com.portfolio.stocksage.report.ReportJobStatus;
+import com.portfolio.stocksage.report.ReportProgress;
+import com.portfolio.stocksage.report.ReportStore;
+import com.portfolio.stocksage.report.ReportType;
+import com.portfolio.stocksage.security.SecurityUtils;
+import com.portfolio.stocksage.service.ReportJobService;
+import com.portfolio.stocksage.service.ReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Runs report generation as background jobs on the bounded report executor.
+ * <p>
+ * Jobs are held in memory: the reports they produce are persisted by {@link ReportStore}, but a job that is still
+ * queued or running is lost on a restart. Finished jobs are forgotten after the retention period.
+ */
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final EnumSet<ReportType> SUPPORTED_TYPES = EnumSet.of(
+            ReportType.SALES, ReportType.PURCHASE, ReportType.PRODUCT_PERFORMANCE, ReportType.SUPPLIER_PERFORMANCE);
+
+    private final ReportService reportService;
+    private final ReportStore reportStore;
+    private final SecurityUtils securityUtils;
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final int maxJobsPerUser;
+    private final int retentionMinutes;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobServiceImpl(ReportService reportService,
+                                ReportStore reportStore,
+                                SecurityUtils securityUtils,
+                                @Qualifier("reportExecutor") ThreadPoolTaskExecutor reportExecutor,
+                                @Value("${app.reports.jobs.max-per-user:2}") int maxJobsPerUser,
+                                @Value("${app.reports.jobs.retention-minutes:60}") int retentionMinutes) {
+        this.reportService = reportService;
+        this.reportStore = reportStore;
+        this.securityUtils = securityUtils;
+        this.reportExecutor = reportExecutor;
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    @Override
+    public ReportJobDTO submitJob(ReportType reportType, Map<String, Object> parameters) {
+        if (!SUPPORTED_TYPES.contains(reportType)) {
+            throw new IllegalArgumentException("Unsupported report type for background generation: " + reportType);
+        }
+
+        String owner = securityUtils.getCurrentUsername();
+        ReportJob job = new ReportJob(reportType, parameters, owner);
+
+        // Count and register under one lock so concurrent submissions cannot both pass the limit
+        synchronized (jobs) {
+            long active = jobs.values().stream()
+                    .filter(existing -> existing.isActive() && existing.getOwner().equals(owner))
+                    .count();
+            if (active >= maxJobsPerUser) {
+                throw new TooManyRequestsException("You already have " + active
+                        + " report jobs in progress; wait for one to finish or cancel it");
+            }
+            jobs.put(job.getId(), job);
+        }
+
+        try {
+            job.setFuture(reportExecutor.submit(() -> run(job)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw new TooManyRequestsException("The report queue is full, please try again later");
+        }
+
+        log.info("Queued {} job {} for {}", reportType, job.getId(), owner);
+        return toDto(job);
+    }
+
+    @Override
+    public ReportJobDTO getJob(String jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    @Override
+    public Optional<ReportDTO> getJobResult(String jobId) {
+        ReportJob job = findJob(jobId);
+
+        if (job.isActive()) {
+            return Optional.empty();
+        }
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ResourceNotFoundException("Report job " + jobId + " did not produce a report: " + job.getStatus());
+        }
+
+        return Optional.of(reportStore.find(job.getReportId())
+                .orElseThrow(() -> new ResourceNotFoundException("Report not found with ID: " + job.getReportId())));
+    }
+
+    @Override
+    public ReportJobDTO cancelJob(String jobId) {
+        ReportJob job = findJob(jobId);
+
+        if (job.cancel()) {
+            log.info("Cancelled report job {} after {} rows", jobId, job.getRowsProcessed());
+        }
+
+        return toDto(job);
+    }
+
+    @Override
+    public List<ReportJobDTO> getJobs() {
+        boolean admin = securityUtils.isCurrentUserAdmin();
+        String username = securityUtils.getCurrentUsername();
+
+        return jobs.values().stream()
+                .filter(job -> admin || job.getOwner().equals(username))
+                .sorted(Comparator.comparing(ReportJob::getSubmittedAt).reversed())
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Forget finished jobs older than the retention period - runs every minute
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> !job.isActive() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            // Cancelled while it was still queued
+            return;
+        }
+
+        ReportProgress.bind(job.getProgress());
+        try {
+            ReportDTO report = generate(job.getReportType(), job.getParameters());
+            job.complete(report.getId());
+            log.info("Report job {} completed with report {} ({} rows)", job.getId(), report.getId(),
+                    job.getRowsProcessed());
+        } catch (CancellationException e) {
+            log.info("Report job {} stopped after cancellation", job.getId());
+        } catch (Exception e) {
+            if (job.getProgress().isCancelled()) {
+                // Usually an interrupted query surfacing as a data access error, but it may be a real failure
+                // that coincided with the cancel, so the exception is kept in the log
+                log.warn("Report job {} stopped after cancellation with an error", job.getId(), e);
+            } else {
+                log.error("Report job {} failed: {}", job.getId(), e.getMessage(), e);
+                job.fail(e.getMessage());
+            }
+        } finally {
+            ReportProgress.unbind();
+        }
+    }
+
+    private ReportDTO generate(ReportType reportType, Map<String, Object> parameters) {
+        LocalDateTime startDate = (LocalDateTime) parameters.get("startDate");
+        LocalDateTime endDate = (LocalDateTime) parameters.get("endDate");
+
+        switch (reportType) {
+            case SALES:
+                return reportService.generateSalesReport(startDate, endDate,
+                        (String) parameters.get("groupBy"),
+                        (Long) parameters.get("productId"),
+                        (Long) parameters.get("warehouseId"));
+
+            case PURCHASE:
+                return reportService.generatePurchaseReport(startDate, endDate,
+                        (String) parameters.get("groupBy"),
+                        (Long) parameters.get("productId"),
+                        (Long) parameters.get("supplierId"));
+
+            case PRODUCT_PERFORMANCE:
+                return reportService.generateProductPerformanceReport(startDate, endDate,
+                        (Long) parameters.get("categoryId"),
+                        (Integer) parameters.get("topN"));
+
+            case SUPPLIER_PERFORMANCE:
+                return reportService.generateSupplierPerformanceReport(startDate, endDate,
+                        (Long) parameters.get("supplierId"));
+
+            default:
+                throw new IllegalArgumentException("Unsupported report type for background generation: " + reportType);
+        }
+    }
+
+    /**
+     * Helper method to find a job visible to the current user; other users' jobs are reported as missing
+     */
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+
+        if (job == null || !(job.getOwner().equals(securityUtils.getCurrentUsername())
+                || securityUtils.isCurrentUserAdmin())) {
+            throw new ResourceNotFoundException("Report job not found with ID: " + jobId);
+        }
+
+        return job;
+    }
+
+    private ReportJobDTO toDto(ReportJob job) {
+        return ReportJobDTO.builder()
+                .id(job.getId())
+                .reportType(job.getReportType())
+                .status(job.getStatus())
+                .parameters(job.getParameters())
+                .rowsProcessed(job.getRowsProcessed())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .reportId(job.getReportId())
+                .error(job.getError())
+                .build();
+    }
+}
@@ -6,26 +6,49 @@ import com.portfolio.stocksage.entity.Transaction;
 import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
 import com.portfolio.stocksage.entity.Transaction.TransactionType;
 import com.portfolio.stocksage.exception.ResourceNotFoundException;
+import com.portfolio.stocksage.export.ExportFormat;
 import com.portfolio.stocksage.repository.CategoryRepository;
 import com.portfolio.stocksage.repository.InventoryRepository;
 import com.portfolio.stocksage.repository.ProductRepository;
 import com.portfolio.stocksage.repository.SupplierRepository;
 import com.portfolio.stocksage.repository.TransactionRepository;
+import com.portfolio.stocksage.repository.TransactionRollupRepository;
 import com.portfolio.stocksage.repository.WarehouseRepository;
+import com.portfolio.stocksage.repository.projection.RollupPeriodTotal;
+import com.portfolio.stocksage.repository.projection.SupplierProductLink;
+import com.portfolio.stocksage.report.InventoryReportRow;
+import com.portfolio.stocksage.report.InventoryReportStatistics;
+import com.portfolio.stocksage.report.ProductTotals;
+import com.portfolio.stocksage.report.ReportColumn;
+import com.portfolio.stocksage.report.ReportColumnType;
+import com.portfolio.stocksage.report.ReportExportCache;
+import com.portfolio.stocksage.report.ReportIdAllocator;
+import com.portfolio.stocksage.report.ReportProgress;
+import com.portfolio.stocksage.report.ReportRowSink;
+import com.portfolio.stocksage.report.ReportSegmentAggregator;
+import com.portfolio.stocksage.report.ReportStore;
+import com.portfolio.stocksage.report.ReportTable;
 import com.portfolio.stocksage.report.ReportType;
 import com.portfolio.stocksage.service.ExportService;
 import com.portfolio.stocksage.service.ReportService;
+import com.portfolio.stocksage.util.AppConstants;
+import com.portfolio.stocksage.util.EmailUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.IsoFields;
@@ -33,14 +56,58 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReportServiceImpl implements ReportService {
 
+    // Latest time of day a range end may have and still count as covering the whole day
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+
+    private static final List<ReportColumn> INVENTORY_REPORT_COLUMNS = List.of(
+            ReportColumn.of("Product ID", ReportColumnType.LONG),
+            ReportColumn.of("SKU", ReportColumnType.TEXT),
+            ReportColumn.of("Name", ReportColumnType.TEXT),
+            ReportColumn.of("Category", ReportColumnType.TEXT),
+            ReportColumn.of("Warehouse", ReportColumnType.TEXT),
+            ReportColumn.of("Quantity", ReportColumnType.INTEGER),
+            ReportColumn.of("Unit Price", ReportColumnType.DECIMAL),
+            ReportColumn.of("Total Value", ReportColumnType.DECIMAL),
+            ReportColumn.of("Status", ReportColumnType.TEXT)
+    );
+
+    private static final List<ReportColumn> PRODUCT_PERFORMANCE_COLUMNS = List.of(
+            ReportColumn.of("Product ID", ReportColumnType.LONG),
+            ReportColumn.of("SKU", ReportColumnType.TEXT),
+            ReportColumn.of("Name", ReportColumnType.TEXT),
+            ReportColumn.of("Category", ReportColumnType.TEXT),
+            ReportColumn.of("Units Sold", ReportColumnType.LONG),
+            ReportColumn.of("Sales Value", ReportColumnType.DECIMAL),
+            ReportColumn.of("Profit Margin", ReportColumnType.DECIMAL),
+            ReportColumn.of("Performance Score", ReportColumnType.DECIMAL)
+    );
+
+    private static final List<ReportColumn> SUPPLIER_PERFORMANCE_COLUMNS = List.of(
+            ReportColumn.of("Supplier ID", ReportColumnType.LONG),
+            ReportColumn.of("Supplier Name", ReportColumnType.TEXT),
+            ReportColumn.of("Products Supplied", ReportColumnType.INTEGER),
+            ReportColumn.of("Units Purchased", ReportColumnType.LONG),
+            ReportColumn.of("Purchase Value", ReportColumnType.DECIMAL),
+            ReportColumn.of("Purchases", ReportColumnType.LONG),
+            ReportColumn.of("Average Unit Price", ReportColumnType.DECIMAL)
+    );
+
+    // IN lists for bulk lookups are split into chunks of this size
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    // Assumed cost as a share of the sale price until product costs are tracked
+    private static final BigDecimal COST_FACTOR = new BigDecimal("0.7");
+
     private final ProductRepository productRepository;
     private final InventoryRepository inventoryRepository;
     private final TransactionRepository transactionRepository;
@@ -50,24 +117,39 @@ public class ReportServiceImpl implements ReportService {
     private final ExportService exportService;
     private final TaskScheduler taskScheduler;
 
-    // Store for generated reports
-    private final Map<Long, ReportDTO> reportStore = new ConcurrentHashMap<>();
+    // Store for generated reports, and their rendered files
+    private final ReportStore reportStore;
+    private final ReportExportCache reportExportCache;
+    private final EmailUtils emailUtils;
     // Store for scheduled reports
     private final Map<Long, ScheduledFuture<?>> scheduledReports = new ConcurrentHashMap<>();
-    // Counter for report IDs
-    private long nextReportId = 1;
+    // Report IDs come from a database sequence; schedule IDs are a separate, in-memory namespace
+    // since scheduled tasks themselves do not survive a restart
+    private final ReportIdAllocator reportIdAllocator;
+    private final TransactionRollupRepository rollupRepository;
+    private final ReportSegmentAggregator segmentAggregator;
+    private final AtomicLong nextScheduleId = new AtomicLong(1);
+    private final PlatformTransactionManager transactionManager;
+    private TransactionTemplate readOnlyTransaction;
 
     @PostConstruct
     public void init() {
         log.info("Initializing Report Service");
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ReportDTO generateInventoryReport(Long warehouseId, Long categoryId, Boolean lowStockOnly) {
+        // Taken before the read-only transaction opens, see ReportIdAllocator
+        long reportId = reportIdAllocator.nextId();
+        return readOnlyTransaction.execute(status -> buildInventoryReport(reportId, warehouseId, categoryId, lowStockOnly));
+    }
+
+    private ReportDTO buildInventoryReport(long reportId, Long warehouseId, Long categoryId, Boolean lowStockOnly) {
         // Create the report
         ReportDTO report = new ReportDTO();
-        report.setId(getNextReportId());
+        report.setId(reportId);
         report.setTitle("Inventory Report");
         report.setReportType(ReportType.INVENTORY);
         report.setGeneratedAt(LocalDateTime.now());
@@ -78,11 +160,8 @@ public class ReportServiceImpl implements ReportService {
         report.getParameters().put("lowStockOnly", lowStockOnly != null && lowStockOnly);
 
         // Set columns
-        List<String> columns = Arrays.asList(
-                "Product ID", "SKU", "Name", "Category", "Warehouse",
-                "Quantity", "Unit Price", "Total Value", "Status"
-        );
-        report.setColumns(columns);
+        ReportTable table = new ReportTable(INVENTORY_REPORT_COLUMNS);
+        report.setColumns(table.getColumnNames());
 
         // Build description
         StringBuilder description = new StringBuilder("Inventory Report");
@@ -103,70 +182,29 @@ public class ReportServiceImpl implements ReportService {
         }
         report.setDescription(description.toString());
 
-        // Fetch data based on parameters
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        // Get inventory data
-        inventoryRepository.findAll().forEach(inventory -> {
-            // Apply filters
-            if (warehouseId != null && !inventory.getWarehouse().getId().equals(warehouseId)) {
-                return;
-            }
-
-            if (categoryId != null && !inventory.getProduct().getCategory().getId().equals(categoryId)) {
-                return;
-            }
-
-            if (lowStockOnly != null && lowStockOnly && inventory.getQuantity() > 10) { // Assuming 10 is low stock threshold
-                return;
-            }
+        // Stream typed rows with filters applied in the query; summary statistics are computed in the same pass
+        int threshold = AppConstants.LOW_STOCK_THRESHOLD;
+        int maxQuantity = lowStockOnly != null && lowStockOnly ? threshold : Integer.MAX_VALUE;
 
-            Map<String, Object> row = new HashMap<>();
-            Product product = inventory.getProduct();
-
-            row.put("Product ID", product.getId());
-            row.put("SKU", product.getSku());
-            row.put("Name", product.getName());
-            row.put("Category", product.getCategory().getName());
-            row.put("Warehouse", inventory.getWarehouse().getName());
-            row.put("Quantity", inventory.getQuantity());
-            row.put("Unit Price", product.getUnitPrice());
-
-            // Calculate total value
-            BigDecimal totalValue = product.getUnitPrice().multiply(new BigDecimal(inventory.getQuantity()));
-            row.put("Total Value", totalValue);
-
-            // Determine status
-            String status = "Normal";
-            if (inventory.getQuantity() <= 0) {
-                status = "Out of Stock";
-            } else if (inventory.getQuantity() <= 10) { // Assuming 10 is low stock threshold
-                status = "Low Stock";
-            }
-            row.put("Status", status);
+        ReportTable.RowWriter writer = table.rowWriter();
+        InventoryReportStatistics statistics = new InventoryReportStatistics(threshold);
+        ReportRowSink<InventoryReportRow> sink = statistics
+                .andThen(row -> writeInventoryReportRow(writer, row, threshold));
 
-            reportData.add(row);
-        });
+        try (Stream<InventoryReportRow> rows = inventoryRepository.streamInventoryReportRows(
+                warehouseId, categoryId, maxQuantity)) {
+            rows.forEach(sink::accept);
+        }
 
-        report.setData(reportData);
+        table.trimToSize();
+        report.setTable(table);
 
-        // Calculate summary statistics
+        // Summary statistics
         Map<String, Object> summary = new HashMap<>();
-        int totalProducts = reportData.size();
-        int outOfStock = (int) reportData.stream()
-                .filter(row -> "Out of Stock".equals(row.get("Status")))
-                .count();
-        int lowStock = (int) reportData.stream()
-                .filter(row -> "Low Stock".equals(row.get("Status")))
-                .count();
-        BigDecimal totalValue = reportData.stream()
-                .map(row -> (BigDecimal) row.get("Total Value"))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        summary.put("Total Products", totalProducts);
-        summary.put("Out of Stock", outOfStock);
-        summary.put("Low Stock", lowStock);
-        summary.put("Total Value", totalValue);
+        summary.put("Total Products", statistics.getTotalProducts());
+        summary.put("Out of Stock", statistics.getOutOfStock());
+        summary.put("Low Stock", statistics.getLowStock());
+        summary.put("Total Value", statistics.getTotalValue());
         report.setSummary(summary);
 
         // Create chart data
@@ -174,33 +212,41 @@ public class ReportServiceImpl implements ReportService {
         statusChart.setChartType("pie");
         statusChart.setTitle("Inventory Status");
 
-        List<String> labels = Arrays.asList("Normal", "Low Stock", "Out of Stock");
+        List<String> labels = Arrays.asList(InventoryReportStatistics.STATUS_NORMAL,
+                InventoryReportStatistics.STATUS_LOW_STOCK, InventoryReportStatistics.STATUS_OUT_OF_STOCK);
         statusChart.setLabels(labels);
 
         ReportDTO.DataSeries statusSeries = new ReportDTO.DataSeries();
         statusSeries.setName("Products");
         statusSeries.setData(Arrays.asList(
-                totalProducts - lowStock - outOfStock,
-                lowStock,
-                outOfStock
+                statistics.getNormal(),
+                statistics.getLowStock(),
+                statistics.getOutOfStock()
         ));
         statusChart.getSeries().add(statusSeries);
 
         report.getCharts().add(statusChart);
 
         // Store the report
-        reportStore.put(report.getId(), report);
+        reportStore.save(report);
 
         return report;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ReportDTO generateSalesReport(LocalDateTime startDate, LocalDateTime endDate,
                                          String groupBy, Long productId, Long warehouseId) {
+        // Taken before the read-only transaction opens, see ReportIdAllocator
+        long reportId = reportIdAllocator.nextId();
+        return readOnlyTransaction.execute(status ->
+                buildSalesReport(reportId, startDate, endDate, groupBy, productId, warehouseId));
+    }
+
+    private ReportDTO buildSalesReport(long reportId, LocalDateTime startDate, LocalDateTime endDate,
+                                       String groupBy, Long productId, Long warehouseId) {
         // Create the report
         ReportDTO report = new ReportDTO();
-        report.setId(getNextReportId());
+        report.setId(reportId);
         report.setTitle("Sales Report");
         report.setReportType(ReportType.SALES);
         report.setGeneratedAt(LocalDateTime.now());
@@ -214,11 +260,17 @@ public class ReportServiceImpl implements ReportService {
         report.getParameters().put("productId", productId);
         report.getParameters().put("warehouseId", warehouseId);
 
-        // Set columns
-        List<String> columns = Arrays.asList(
-                "Date", "Product", "Quantity", "Unit Price", "Total Amount"
-        );
-        report.setColumns(columns);
+        // Set columns; grouped rows carry the period label instead of the transaction timestamp
+        boolean grouped = "day".equalsIgnoreCase(groupBy) || "week".equalsIgnoreCase(groupBy)
+                || "month".equalsIgnoreCase(groupBy);
+        ReportTable table = new ReportTable(Arrays.asList(
+                ReportColumn.of("Date", grouped ? ReportColumnType.TEXT : ReportColumnType.DATE_TIME),
+                ReportColumn.of("Product", ReportColumnType.TEXT),
+                ReportColumn.of("Quantity", ReportColumnType.INTEGER),
+                ReportColumn.of("Unit Price", ReportColumnType.DECIMAL),
+                ReportColumn.of("Total Amount", ReportColumnType.DECIMAL)
+        ));
+        report.setColumns(table.getColumnNames());
 
         // Build description
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -243,56 +295,78 @@ public class ReportServiceImpl implements ReportService {
 
         report.setDescription(description.toString());
 
-        // Fetch sales data
-        List<Transaction> transactions = transactionRepository.findByDateRangeAndType(
-                startDate, endDate, TransactionType.SALE);
-
-        // Apply filters
-        if (productId != null) {
-            transactions = transactions.stream()
-                    .filter(t -> t.getProduct().getId().equals(productId))
-                    .collect(Collectors.toList());
-        }
-
-        if (warehouseId != null) {
-            transactions = transactions.stream()
-                    .filter(t -> t.getWarehouse().getId().equals(warehouseId))
-                    .collect(Collectors.toList());
-        }
-
-        // Keep only completed transactions
-        transactions = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
-                .collect(Collectors.toList());
-
         // Prepare data
-        List<Map<String, Object>> reportData = new ArrayList<>();
         Map<String, Object> aggregatedData = new HashMap<>();
-
-        // Group by timeframe if specified
-        if ("day".equalsIgnoreCase(groupBy)) {
-            aggregatedData = groupTransactionsByDay(transactions);
-        } else if ("week".equalsIgnoreCase(groupBy)) {
-            aggregatedData = groupTransactionsByWeek(transactions);
-        } else if ("month".equalsIgnoreCase(groupBy)) {
-            aggregatedData = groupTransactionsByMonth(transactions);
+        long totalTransactions = 0;
+        long totalQuantity = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        if (grouped && coversWholeDays(startDate, endDate)) {
+            // Grouped views are served from the daily rollup instead of loading every transaction
+            List<RollupPeriodTotal> periods = rollupRepository.sumByPeriod(rollupPeriodPattern(groupBy),
+                    TransactionType.SALE.name(), startDate.toLocalDate(), endDate.toLocalDate(),
+                    productId, warehouseId, null);
+            aggregatedData = toAggregatedData(periods, groupBy);
+
+            for (RollupPeriodTotal period : periods) {
+                totalTransactions += period.getTransactionCount();
+                totalQuantity += period.getTotalQuantity();
+                totalAmount = totalAmount.add(period.getTotalAmount());
+            }
         } else {
-            // No grouping, show individual transactions
-            for (Transaction transaction : transactions) {
-                Map<String, Object> row = new HashMap<>();
+            // Fetch sales data
+            List<Transaction> transactions = transactionRepository.findByDateRangeAndType(
+                    startDate, endDate, TransactionType.SALE);
 
-                row.put("Date", transaction.getTransactionDate());
-                row.put("Product", transaction.getProduct().getName());
-                row.put("Quantity", transaction.getQuantity());
-                row.put("Unit Price", transaction.getUnitPrice());
+            // Apply filters
+            if (productId != null) {
+                transactions = transactions.stream()
+                        .filter(t -> t.getProduct().getId().equals(productId))
+                        .collect(Collectors.toList());
+            }
 
-                // Calculate total amount
-                BigDecimal totalAmount = transaction.getUnitPrice()
-                        .multiply(new BigDecimal(transaction.getQuantity()));
-                row.put("Total Amount", totalAmount);
+            if (warehouseId != null) {
+                transactions = transactions.stream()
+                        .filter(t -> t.getWarehouse().getId().equals(warehouseId))
+                        .collect(Collectors.toList());
+            }
 
-                reportData.add(row);
+            // Keep only completed transactions
+            transactions = transactions.stream()
+                    .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
+                    .collect(Collectors.toList());
+
+            // Group by timeframe if specified
+            if ("day".equalsIgnoreCase(groupBy)) {
+                aggregatedData = groupTransactionsByDay(transactions);
+            } else if ("week".equalsIgnoreCase(groupBy)) {
+                aggregatedData = groupTransactionsByWeek(transactions);
+            } else if ("month".equalsIgnoreCase(groupBy)) {
+                aggregatedData = groupTransactionsByMonth(transactions);
+            } else {
+                // No grouping, show individual transactions
+                for (Transaction transaction : transactions) {
+                    // Calculate total amount
+                    BigDecimal amount = transaction.getUnitPrice()
+                            .multiply(new BigDecimal(transaction.getQuantity()));
+
+                    table.addRow(
+                            transaction.getTransactionDate(),
+                            transaction.getProduct().getName(),
+                            transaction.getQuantity(),
+                            transaction.getUnitPrice(),
+                            amount);
+                    ReportProgress.rowProcessed();
+                }
             }
+
+            totalTransactions = transactions.size();
+            totalQuantity = transactions.stream()
+                    .mapToInt(Transaction::getQuantity)
+                    .sum();
+            totalAmount = transactions.stream()
+                    .map(t -> t.getUnitPrice().multiply(new BigDecimal(t.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
         }
 
         // If grouped, transform aggregated data to report rows
@@ -301,33 +375,23 @@ public class ReportServiceImpl implements ReportService {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> groupData = (Map<String, Object>) entry.getValue();
 
-                Map<String, Object> row = new HashMap<>();
-                row.put("Date", entry.getKey());
-                row.put("Product", groupData.getOrDefault("productName", "Various"));
-                row.put("Quantity", groupData.get("totalQuantity"));
-
                 // For grouped data, we calculate average unit price
-                row.put("Unit Price", groupData.getOrDefault("averageUnitPrice", BigDecimal.ZERO));
-                row.put("Total Amount", groupData.get("totalAmount"));
-
-                reportData.add(row);
+                table.addRow(
+                        entry.getKey(),
+                        groupData.getOrDefault("productName", "Various"),
+                        groupData.get("totalQuantity"),
+                        groupData.getOrDefault("averageUnitPrice", BigDecimal.ZERO),
+                        groupData.get("totalAmount"));
+                ReportProgress.rowProcessed();
             }
         }
 
-        report.setData(reportData);
+        table.trimToSize();
+        report.setTable(table);
 
         // Calculate summary statistics
         Map<String, Object> summary = new HashMap<>();
 
-        int totalTransactions = transactions.size();
-        int totalQuantity = transactions.stream()
-                .mapToInt(Transaction::getQuantity)
-                .sum();
-
-        BigDecimal totalAmount = transactions.stream()
-                .map(t -> t.getUnitPrice().multiply(new BigDecimal(t.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         BigDecimal averageTransactionValue = totalTransactions > 0
                 ? totalAmount.divide(new BigDecimal(totalTransactions), 2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
@@ -368,18 +432,25 @@ public class ReportServiceImpl implements ReportService {
         }
 
         // Store the report
-        reportStore.put(report.getId(), report);
+        reportStore.save(report);
 
         return report;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ReportDTO generatePurchaseReport(LocalDateTime startDate, LocalDateTime endDate,
                                             String groupBy, Long productId, Long supplierId) {
+        // Taken before the read-only transaction opens, see ReportIdAllocator
+        long reportId = reportIdAllocator.nextId();
+        return readOnlyTransaction.execute(status ->
+                buildPurchaseReport(reportId, startDate, endDate, groupBy, productId, supplierId));
+    }
+
+    private ReportDTO buildPurchaseReport(long reportId, LocalDateTime startDate, LocalDateTime endDate,
+                                          String groupBy, Long productId, Long supplierId) {
         // Create the report
         ReportDTO report = new ReportDTO();
-        report.setId(getNextReportId());
+        report.setId(reportId);
         report.setTitle("Purchase Report");
         report.setReportType(ReportType.PURCHASE);
         report.setGeneratedAt(LocalDateTime.now());
@@ -393,11 +464,18 @@ public class ReportServiceImpl implements ReportService {
         report.getParameters().put("productId", productId);
         report.getParameters().put("supplierId", supplierId);
 
-        // Set columns
-        List<String> columns = Arrays.asList(
-                "Date", "Product", "Supplier", "Quantity", "Unit Price", "Total Amount"
-        );
-        report.setColumns(columns);
+        // Set columns; grouped rows carry the period label instead of the transaction timestamp
+        boolean grouped = "day".equalsIgnoreCase(groupBy) || "week".equalsIgnoreCase(groupBy)
+                || "month".equalsIgnoreCase(groupBy);
+        ReportTable table = new ReportTable(Arrays.asList(
+                ReportColumn.of("Date", grouped ? ReportColumnType.TEXT : ReportColumnType.DATE_TIME),
+                ReportColumn.of("Product", ReportColumnType.TEXT),
+                ReportColumn.of("Supplier", ReportColumnType.TEXT),
+                ReportColumn.of("Quantity", ReportColumnType.INTEGER),
+                ReportColumn.of("Unit Price", ReportColumnType.DECIMAL),
+                ReportColumn.of("Total Amount", ReportColumnType.DECIMAL)
+        ));
+        report.setColumns(table.getColumnNames());
 
         // Build description
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -422,66 +500,87 @@ public class ReportServiceImpl implements ReportService {
 
         report.setDescription(description.toString());
 
-        // Fetch purchase data
-        List<Transaction> transactions = transactionRepository.findByDateRangeAndType(
-                startDate, endDate, TransactionType.PURCHASE);
-
-        // Apply filters
-        if (productId != null) {
-            transactions = transactions.stream()
-                    .filter(t -> t.getProduct().getId().equals(productId))
-                    .collect(Collectors.toList());
-        }
-
-        // Filter by supplier - need to join with product.suppliers
-        if (supplierId != null) {
-            transactions = transactions.stream()
-                    .filter(t -> t.getProduct().getSuppliers().stream()
-                            .anyMatch(s -> s.getId().equals(supplierId)))
-                    .collect(Collectors.toList());
-        }
-
-        // Keep only completed transactions
-        transactions = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
-                .collect(Collectors.toList());
-
         // Prepare data
-        List<Map<String, Object>> reportData = new ArrayList<>();
         Map<String, Object> aggregatedData = new HashMap<>();
-
-        // Group by timeframe if specified
-        if ("day".equalsIgnoreCase(groupBy)) {
-            aggregatedData = groupTransactionsByDay(transactions);
-        } else if ("week".equalsIgnoreCase(groupBy)) {
-            aggregatedData = groupTransactionsByWeek(transactions);
-        } else if ("month".equalsIgnoreCase(groupBy)) {
-            aggregatedData = groupTransactionsByMonth(transactions);
+        long totalTransactions = 0;
+        long totalQuantity = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        if (grouped && coversWholeDays(startDate, endDate)) {
+            // Grouped views are served from the daily rollup instead of loading every transaction
+            List<RollupPeriodTotal> periods = rollupRepository.sumByPeriod(rollupPeriodPattern(groupBy),
+                    TransactionType.PURCHASE.name(), startDate.toLocalDate(), endDate.toLocalDate(),
+                    productId, null, supplierId);
+            aggregatedData = toAggregatedData(periods, groupBy);
+
+            for (RollupPeriodTotal period : periods) {
+                totalTransactions += period.getTransactionCount();
+                totalQuantity += period.getTotalQuantity();
+                totalAmount = totalAmount.add(period.getTotalAmount());
+            }
         } else {
-            // No grouping, show individual transactions
-            for (Transaction transaction : transactions) {
-                Map<String, Object> row = new HashMap<>();
-
-                row.put("Date", transaction.getTransactionDate());
-                row.put("Product", transaction.getProduct().getName());
+            // Fetch purchase data
+            List<Transaction> transactions = transactionRepository.findByDateRangeAndType(
+                    startDate, endDate, TransactionType.PURCHASE);
 
-                // Get supplier name - we'll use the first supplier for simplicity
-                String supplierName = transaction.getProduct().getSuppliers().stream()
-                        .findFirst()
-                        .map(s -> s.getName())
-                        .orElse("Unknown");
+            // Apply filters
+            if (productId != null) {
+                transactions = transactions.stream()
+                        .filter(t -> t.getProduct().getId().equals(productId))
+                        .collect(Collectors.toList());
+            }
 
-                row.put("Supplier", supplierName);
-                row.put("Quantity", transaction.getQuantity());
-                row.put("Unit Price", transaction.getUnitPrice());
+            // Filter by supplier - need to join with product.suppliers
+            if (supplierId != null) {
+                transactions = transactions.stream()
+                        .filter(t -> t.getProduct().getSuppliers().stream()
+                                .anyMatch(s -> s.getId().equals(supplierId)))
+                        .collect(Collectors.toList());
+            }
 
-                // Calculate total amount
-                BigDecimal totalAmount = transaction.getUnitPrice()
-                        .multiply(new BigDecimal(transaction.getQuantity()));
-                row.put("Total Amount", totalAmount);
+            // Keep only completed transactions
+            transactions = transactions.stream()
+                    .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
+                    .collect(Collectors.toList());
 
-                reportData.add(row);
+            // Group by timeframe if specified
+            if ("day".equalsIgnoreCase(groupBy)) {
+                aggregatedData = groupTransactionsByDay(transactions);
+            } else if ("week".equalsIgnoreCase(groupBy)) {
+                aggregatedData = groupTransactionsByWeek(transactions);
+            } else if ("month".equalsIgnoreCase(groupBy)) {
+                aggregatedData = groupTransactionsByMonth(transactions);
+            } else {
+                // No grouping, show individual transactions
+                for (Transaction transaction : transactions) {
+                    // Get supplier name - we'll use the first supplier for simplicity
+                    String supplierName = transaction.getProduct().getSuppliers().stream()
+                            .findFirst()
+                            .map(s -> s.getName())
+                            .orElse("Unknown");
+
+                    // Calculate total amount
+                    BigDecimal amount = transaction.getUnitPrice()
+                            .multiply(new BigDecimal(transaction.getQuantity()));
+
+                    table.addRow(
+                            transaction.getTransactionDate(),
+                            transaction.getProduct().getName(),
+                            supplierName,
+                            transaction.getQuantity(),
+                            transaction.getUnitPrice(),
+                            amount);
+                    ReportProgress.rowProcessed();
+                }
             }
+
+            totalTransactions = transactions.size();
+            totalQuantity = transactions.stream()
+                    .mapToInt(Transaction::getQuantity)
+                    .sum();
+            totalAmount = transactions.stream()
+                    .map(t -> t.getUnitPrice().multiply(new BigDecimal(t.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
         }
 
         // If grouped, transform aggregated data to report rows
@@ -490,34 +589,24 @@ public class ReportServiceImpl implements ReportService {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> groupData = (Map<String, Object>) entry.getValue();
 
-                Map<String, Object> row = new HashMap<>();
-                row.put("Date", entry.getKey());
-                row.put("Product", groupData.getOrDefault("productName", "Various"));
-                row.put("Supplier", groupData.getOrDefault("supplierName", "Various"));
-                row.put("Quantity", groupData.get("totalQuantity"));
-
                 // For grouped data, we calculate average unit price
-                row.put("Unit Price", groupData.getOrDefault("averageUnitPrice", BigDecimal.ZERO));
-                row.put("Total Amount", groupData.get("totalAmount"));
-
-                reportData.add(row);
+                table.addRow(
+                        entry.getKey(),
+                        groupData.getOrDefault("productName", "Various"),
+                        groupData.getOrDefault("supplierName", "Various"),
+                        groupData.get("totalQuantity"),
+                        groupData.getOrDefault("averageUnitPrice", BigDecimal.ZERO),
+                        groupData.get("totalAmount"));
+                ReportProgress.rowProcessed();
             }
         }
 
-        report.setData(reportData);
+        table.trimToSize();
+        report.setTable(table);
 
         // Calculate summary statistics
         Map<String, Object> summary = new HashMap<>();
 
-        int totalTransactions = transactions.size();
-        int totalQuantity = transactions.stream()
-                .mapToInt(Transaction::getQuantity)
-                .sum();
-
-        BigDecimal totalAmount = transactions.stream()
-                .map(t -> t.getUnitPrice().multiply(new BigDecimal(t.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         BigDecimal averageTransactionValue = totalTransactions > 0
                 ? totalAmount.divide(new BigDecimal(totalTransactions), 2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
@@ -558,18 +647,17 @@ public class ReportServiceImpl implements ReportService {
         }
 
         // Store the report
-        reportStore.put(report.getId(), report);
+        reportStore.save(report);
 
         return report;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ReportDTO generateProductPerformanceReport(LocalDateTime startDate, LocalDateTime endDate,
                                                       Long categoryId, Integer topN) {
         // Create the report
         ReportDTO report = new ReportDTO();
-        report.setId(getNextReportId());
+        report.setId(reportIdAllocator.nextId());
         report.setTitle("Product Performance Report");
         report.setReportType(ReportType.PRODUCT_PERFORMANCE);
         report.setGeneratedAt(LocalDateTime.now());
@@ -583,11 +671,8 @@ public class ReportServiceImpl implements ReportService {
         report.getParameters().put("topN", topN != null ? topN : 10);
 
         // Set columns
-        List<String> columns = Arrays.asList(
-                "Product ID", "SKU", "Name", "Category",
-                "Units Sold", "Sales Value", "Profit Margin", "Performance Score"
-        );
-        report.setColumns(columns);
+        ReportTable table = new ReportTable(PRODUCT_PERFORMANCE_COLUMNS);
+        report.setColumns(table.getColumnNames());
 
         // Build description
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -605,97 +690,59 @@ public class ReportServiceImpl implements ReportService {
 
         report.setDescription(description.toString());
 
-        // Fetch completed sales transactions in the date range
-        List<Transaction> salesTransactions = transactionRepository.findByDateRangeAndType(
-                startDate, endDate, TransactionType.SALE);
-
-        salesTransactions = salesTransactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
-                .collect(Collectors.toList());
-
-        // Group transactions by product
-        Map<Long, List<Transaction>> transactionsByProduct = salesTransactions.stream()
-                .collect(Collectors.groupingBy(t -> t.getProduct().getId()));
+        // Completed sales per product, aggregated by the database one date segment at a time. This method is
+        // not transactional, so it holds no connection while the segment workers take theirs
+        Map<Long, ProductTotals> salesByProduct = sumCompletedByProduct(TransactionType.SALE, startDate, endDate);
+        Map<Long, Product> products = findProductsWithCategory(salesByProduct.keySet());
 
         // Calculate performance metrics for each product
-        List<Map<String, Object>> productPerformance = new ArrayList<>();
-
-        for (Map.Entry<Long, List<Transaction>> entry : transactionsByProduct.entrySet()) {
-            Long productId = entry.getKey();
-            List<Transaction> productTransactions = entry.getValue();
+        List<ProductPerformance> productPerformance = new ArrayList<>();
 
-            // Get product details
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        for (Map.Entry<Long, ProductTotals> entry : salesByProduct.entrySet()) {
+            Product product = products.get(entry.getKey());
 
             // Skip products not in the specified category
-            if (categoryId != null && !product.getCategory().getId().equals(categoryId)) {
+            if (product == null || (categoryId != null && !product.getCategory().getId().equals(categoryId))) {
                 continue;
             }
 
-            Map<String, Object> performanceData = new HashMap<>();
-            performanceData.put("Product ID", productId);
-            performanceData.put("SKU", product.getSku());
-            performanceData.put("Name", product.getName());
-            performanceData.put("Category", product.getCategory().getName());
-
-            // Calculate units sold
-            int unitsSold = productTransactions.stream()
-                    .mapToInt(Transaction::getQuantity)
-                    .sum();
-            performanceData.put("Units Sold", unitsSold);
-
-            // Calculate sales value
-            BigDecimal salesValue = productTransactions.stream()
-                    .map(t -> t.getUnitPrice().multiply(new BigDecimal(t.getQuantity())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            performanceData.put("Sales Value", salesValue);
-
-            // Calculate average profit margin (simplified)
-            // Assuming cost is 70% of sale price for this example
-            BigDecimal costFactor = new BigDecimal("0.7");
-            BigDecimal totalCost = salesValue.multiply(costFactor);
-            BigDecimal profit = salesValue.subtract(totalCost);
-            BigDecimal profitMargin = salesValue.compareTo(BigDecimal.ZERO) > 0
-                    ? profit.divide(salesValue, 4, RoundingMode.HALF_UP).multiply(new BigDecimal(100))
-                    : BigDecimal.ZERO;
-
-            performanceData.put("Profit Margin", profitMargin);
-
-            // Calculate performance score (simplified)
-            // Score is based on units sold and profit margin
-            double unitsScore = Math.min(unitsSold / 10.0, 5.0); // Max 5 points for units
-            double marginScore = profitMargin.doubleValue() / 10.0; // 10% margin = 1 point
-            double performanceScore = unitsScore + marginScore;
-
-            performanceData.put("Performance Score", performanceScore);
-
-            productPerformance.add(performanceData);
+            productPerformance.add(new ProductPerformance(product, entry.getValue()));
         }
 
         // Sort by performance score (descending)
-        productPerformance.sort((a, b) ->
-                Double.compare((Double)b.get("Performance Score"), (Double)a.get("Performance Score")));
+        productPerformance.sort(Comparator.comparing((ProductPerformance p) -> p.performanceScore).reversed());
 
         // Limit to top N if specified
         if (topN != null && topN > 0 && productPerformance.size() > topN) {
             productPerformance = productPerformance.subList(0, topN);
         }
 
-        report.setData(productPerformance);
+        for (ProductPerformance performance : productPerformance) {
+            table.addRow(
+                    performance.product.getId(),
+                    performance.product.getSku(),
+                    performance.product.getName(),
+                    performance.product.getCategory().getName(),
+                    performance.unitsSold,
+                    performance.salesValue,
+                    performance.profitMargin,
+                    performance.performanceScore);
+            ReportProgress.rowProcessed();
+        }
+        report.setTable(table);
 
         // Calculate summary statistics
         Map<String, Object> summary = new HashMap<>();
 
         int totalProducts = productPerformance.size();
         BigDecimal totalSalesValue = productPerformance.stream()
-                .map(p -> (BigDecimal) p.get("Sales Value"))
+                .map(p -> p.salesValue)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        BigDecimal avgPerformanceScore = productPerformance.stream()
-                .mapToDouble(p -> (Double) p.get("Performance Score"))
+        BigDecimal avgPerformanceScore = BigDecimal.valueOf(productPerformance.stream()
+                .mapToDouble(p -> p.performanceScore.doubleValue())
                 .average()
-                .orElse(0.0);
+                .orElse(0.0));
 
         summary.put("Total Products", totalProducts);
         summary.put("Total Sales Value", totalSalesValue);
@@ -713,7 +760,7 @@ public class ReportServiceImpl implements ReportService {
             salesChart.setYAxisLabel("Sales Value");
 
             List<String> productNames = productPerformance.stream()
-                    .map(p -> (String) p.get("Name"))
+                    .map(p -> p.product.getName())
                     .collect(Collectors.toList());
             salesChart.setLabels(productNames);
 
@@ -722,7 +769,7 @@ public class ReportServiceImpl implements ReportService {
             salesSeries.setColor("#4CAF50"); // Green
 
             List<Object> salesValues = productPerformance.stream()
-                    .map(p -> p.get("Sales Value"))
+                    .map(p -> p.salesValue)
                     .collect(Collectors.toList());
             salesSeries.setData(salesValues);
 
@@ -743,7 +790,7 @@ public class ReportServiceImpl implements ReportService {
             scoreSeries.setColor("#2196F3"); // Blue
 
             List<Object> scoreValues = productPerformance.stream()
-                    .map(p -> p.get("Performance Score"))
+                    .map(p -> p.performanceScore)
                     .collect(Collectors.toList());
             scoreSeries.setData(scoreValues);
 
@@ -752,21 +799,17 @@ public class ReportServiceImpl implements ReportService {
         }
 
         // Store the report
-        reportStore.put(report.getId(), report);
+        reportStore.save(report);
 
         return report;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ReportDTO generateSupplierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate,
                                                        Long supplierId) {
-        // For this example, we'll implement a simplified version of the supplier performance report
-        // In a real application, you would have more detailed metrics and calculations
-
         // Create the report
         ReportDTO report = new ReportDTO();
-        report.setId(getNextReportId());
+        report.setId(reportIdAllocator.nextId());
         report.setTitle("Supplier Performance Report");
         report.setReportType(ReportType.SUPPLIER_PERFORMANCE);
         report.setGeneratedAt(LocalDateTime.now());
@@ -794,35 +837,82 @@ public class ReportServiceImpl implements ReportService {
 
         report.setDescription(description.toString());
 
-        // In a real implementation, this would involve complex joins and calculations
-        // For this example, we'll return a placeholder report
-        report.setColumns(Arrays.asList(
-                "Supplier ID", "Supplier Name", "Products Supplied", "On-Time Delivery",
-                "Quality Rating", "Price Competitiveness", "Overall Score"
-        ));
+        ReportTable table = new ReportTable(SUPPLIER_PERFORMANCE_COLUMNS);
+        report.setColumns(table.getColumnNames());
 
-        List<Map<String, Object>> performanceData = new ArrayList<>();
-        Map<String, Object> row = new HashMap<>();
+        // Completed purchases per product, credited to every supplier of the product. This method is not
+        // transactional, so it holds no connection while the segment workers take theirs
+        Map<Long, ProductTotals> purchasesByProduct = sumCompletedByProduct(TransactionType.PURCHASE, startDate, endDate);
 
-        row.put("Supplier ID", supplierId);
-        row.put("Supplier Name", "Example Supplier");
-        row.put("Products Supplied", 25);
-        row.put("On-Time Delivery", 92);
-        row.put("Quality Rating", 4.3);
-        row.put("Price Competitiveness", 3.8);
-        row.put("Overall Score", 4.0);
+        Map<Long, SupplierPerformance> suppliers = new HashMap<>();
+        Set<Long> suppliedProducts = new HashSet<>();
+        for (SupplierProductLink link : findSupplierLinks(purchasesByProduct.keySet())) {
+            if (supplierId != null && !supplierId.equals(link.getSupplierId())) {
+                continue;
+            }
 
-        performanceData.add(row);
-        report.setData(performanceData);
+            suppliers.computeIfAbsent(link.getSupplierId(),
+                            id -> new SupplierPerformance(id, link.getSupplierName()))
+                    .add(purchasesByProduct.get(link.getProductId()));
+            suppliedProducts.add(link.getProductId());
+        }
+
+        // Sort by purchase value (descending)
+        List<SupplierPerformance> supplierPerformance = new ArrayList<>(suppliers.values());
+        supplierPerformance.sort(Comparator.comparing((SupplierPerformance s) -> s.totals.getAmount()).reversed());
+
+        for (SupplierPerformance performance : supplierPerformance) {
+            ProductTotals totals = performance.totals;
+            BigDecimal averageUnitPrice = totals.getQuantity() > 0
+                    ? totals.getAmount().divide(BigDecimal.valueOf(totals.getQuantity()), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+
+            table.addRow(
+                    performance.supplierId,
+                    performance.supplierName,
+                    performance.productsSupplied,
+                    totals.getQuantity(),
+                    totals.getAmount(),
+                    totals.getTransactions(),
+                    averageUnitPrice);
+            ReportProgress.rowProcessed();
+        }
+        report.setTable(table);
+
+        // Products shared by several suppliers are counted once in the total
+        BigDecimal totalPurchaseValue = suppliedProducts.stream()
+                .map(purchasesByProduct::get)
+                .map(ProductTotals::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // Add a summary
         Map<String, Object> summary = new HashMap<>();
-        summary.put("Total Suppliers", 1);
-        summary.put("Average Score", 4.0);
+        summary.put("Total Suppliers", supplierPerformance.size());
+        summary.put("Total Purchase Value", totalPurchaseValue);
         report.setSummary(summary);
 
+        if (!supplierPerformance.isEmpty()) {
+            ReportDTO.ChartData valueChart = new ReportDTO.ChartData();
+            valueChart.setChartType("bar");
+            valueChart.setTitle("Suppliers by Purchase Value");
+            valueChart.setXAxisLabel("Supplier");
+            valueChart.setYAxisLabel("Purchase Value");
+            valueChart.setLabels(supplierPerformance.stream()
+                    .map(s -> s.supplierName)
+                    .collect(Collectors.toList()));
+
+            ReportDTO.DataSeries valueSeries = new ReportDTO.DataSeries();
+            valueSeries.setName("Purchase Value");
+            valueSeries.setColor("#2196F3"); // Blue color for purchases
+            valueSeries.setData(supplierPerformance.stream()
+                    .map(s -> (Object) s.totals.getAmount())
+                    .collect(Collectors.toList()));
+
+            valueChart.getSeries().add(valueSeries);
+            report.getCharts().add(valueChart);
+        }
+
         // Store the report
-        reportStore.put(report.getId(), report);
+        reportStore.save(report);
 
         return report;
     }
@@ -831,7 +921,7 @@ public class ReportServiceImpl implements ReportService {
     public Long scheduleReport(ReportType reportType, Map<String, Object> parameters,
                                String schedule, String[] emailRecipients) {
         // Generate a unique ID for the scheduled report
-        long scheduleId = getNextReportId();
+        long scheduleId = nextScheduleId.getAndIncrement();
 
         // Create a runnable task that will generate the report and send it to recipients
         Runnable reportTask = () -> {
@@ -868,8 +958,7 @@ public class ReportServiceImpl implements ReportService {
 
                 if (report != null) {
                     log.info("Generated scheduled report: {} (ID: {})", report.getTitle(), report.getId());
-                    // Email delivery to recipients should be wired here once the email service
-                    // supports batch report attachments.
+                    emailReport(report, parameters, emailRecipients);
                 }
 
             } catch (Exception e) {
@@ -918,36 +1007,137 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
-    public byte[] exportReport(Long reportId, String format) {
-        ReportDTO report = reportStore.get(reportId);
+    public Path exportReport(Long reportId, ExportFormat format) {
+        try {
+            // The stored report is only loaded when this format has not been rendered yet
+            return reportExportCache.getOrRender(reportId, format, out -> {
+                ReportDTO report = reportStore.find(reportId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Report not found with ID: " + reportId));
+                exportService.exportReport(report, format, out);
+            });
+        } catch (IOException e) {
+            log.error("Error exporting report {} as {}: {}", reportId, format, e.getMessage(), e);
+            throw new RuntimeException("Failed to export report", e);
+        }
+    }
 
-        if (report == null) {
-            throw new ResourceNotFoundException("Report not found with ID: " + reportId);
+    /**
+     * Helper method to email a generated report, rendered in the "format" parameter (PDF by default)
+     */
+    private void emailReport(ReportDTO report, Map<String, Object> parameters, String[] emailRecipients) {
+        if (emailRecipients == null || emailRecipients.length == 0) {
+            return;
         }
 
-        try {
-            // Convert report data to a list of appropriate DTOs based on report type
-            switch (format.toLowerCase()) {
-                case "excel":
-                    // This is a simplified implementation
-                    // In a real application, you would convert the report data to appropriate DTOs
-                    return new byte[0]; // Placeholder
-
-                case "pdf":
-                    // This is a simplified implementation
-                    return new byte[0]; // Placeholder
-
-                case "csv":
-                    // This is a simplified implementation
-                    return new byte[0]; // Placeholder
-
-                default:
-                    throw new IllegalArgumentException("Unsupported export format: " + format);
+        ExportFormat format = ExportFormat.fromString((String) parameters.getOrDefault("format", "pdf"));
+        Path file = exportReport(report.getId(), format);
+        emailUtils.sendEmailWithAttachment(Arrays.asList(emailRecipients), report.getTitle(),
+                "Please find attached the scheduled " + report.getTitle() + " generated on "
+                        + report.getGeneratedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) + ".",
+                file, "report-" + report.getId() + "." + format.getFileExtension());
+    }
+
+    /**
+     * Helper method to append a streamed inventory row to the report table
+     */
+    private void writeInventoryReportRow(ReportTable.RowWriter writer, InventoryReportRow row, int lowStockThreshold) {
+        writer.set(0, row.getProductId())
+                .set(1, row.getSku())
+                .set(2, row.getName())
+                .set(3, row.getCategory())
+                .set(4, row.getWarehouse())
+                .set(5, row.getQuantity())
+                .set(6, row.getUnitPrice())
+                .set(7, row.getTotalValue())
+                .set(8, row.getStatus(lowStockThreshold))
+                .commit();
+        ReportProgress.rowProcessed();
+    }
+
+    /**
+     * Completed totals per product for a transaction type, aggregated segment by segment in parallel
+     */
+    private Map<Long, ProductTotals> sumCompletedByProduct(TransactionType type, LocalDateTime startDate,
+                                                           LocalDateTime endDate) {
+        return segmentAggregator.aggregate(startDate, endDate,
+                (from, to) -> ProductTotals.byProduct(
+                        transactionRepository.sumByProduct(type, TransactionStatus.COMPLETED, from, to)),
+                ProductTotals::merge);
+    }
+
+    /**
+     * Helper method to load products with their category by ID, a chunk of IDs per query
+     */
+    private Map<Long, Product> findProductsWithCategory(Collection<Long> productIds) {
+        Map<Long, Product> products = new HashMap<>(productIds.size() * 2);
+        for (List<Long> chunk : chunks(productIds)) {
+            for (Product product : productRepository.findWithCategoryByIdIn(chunk)) {
+                products.put(product.getId(), product);
             }
-        } catch (Exception e) {
-            log.error("Error exporting report: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to export report", e);
         }
+        return products;
+    }
+
+    /**
+     * Helper method to load the suppliers of the given products, a chunk of IDs per query
+     */
+    private List<SupplierProductLink> findSupplierLinks(Collection<Long> productIds) {
+        List<SupplierProductLink> links = new ArrayList<>();
+        for (List<Long> chunk : chunks(productIds)) {
+            links.addAll(supplierRepository.findProductLinks(chunk));
+        }
+        return links;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += LOOKUP_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Whether a report range starts and ends on day boundaries, so whole rollup days match it exactly
+     */
+    private boolean coversWholeDays(LocalDateTime startDate, LocalDateTime endDate) {
+        return startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                && !endDate.toLocalTime().isBefore(END_OF_DAY);
+    }
+
+    /**
+     * PostgreSQL to_char pattern producing the same period labels as the in-memory grouping helpers
+     */
+    private String rollupPeriodPattern(String groupBy) {
+        if ("week".equalsIgnoreCase(groupBy)) {
+            return "IYYY-\"W\"IW";
+        } else if ("month".equalsIgnoreCase(groupBy)) {
+            return "YYYY-MM";
+        }
+        return "YYYY-MM-DD";
+    }
+
+    /**
+     * Helper method to convert rollup period totals to the structure built by the grouping helpers.
+     * Like those helpers, only daily groups are labelled with their product when they have a single one.
+     */
+    private Map<String, Object> toAggregatedData(List<RollupPeriodTotal> periods, String groupBy) {
+        boolean daily = !"week".equalsIgnoreCase(groupBy) && !"month".equalsIgnoreCase(groupBy);
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        for (RollupPeriodTotal period : periods) {
+            Map<String, Object> periodData = new HashMap<>();
+            periodData.put("totalQuantity", period.getTotalQuantity().intValue());
+            periodData.put("totalAmount", period.getTotalAmount());
+            periodData.put("averageUnitPrice", period.getUnitPriceTotal().divide(
+                    new BigDecimal(period.getTransactionCount()), 2, RoundingMode.HALF_UP));
+            periodData.put("productName", daily ? period.getProductName() : "Various");
+
+            result.put(period.getPeriod(), periodData);
+        }
+
+        return result;
     }
 
     /**
@@ -1115,9 +1305,50 @@ public class ReportServiceImpl implements ReportService {
     }
 
     /**
-     * Get the next report ID
+     * Performance metrics of one product over the report period
+     */
+    private static class ProductPerformance {
+        private final Product product;
+        private final long unitsSold;
+        private final BigDecimal salesValue;
+        private final BigDecimal profitMargin;
+        private final BigDecimal performanceScore;
+
+        ProductPerformance(Product product, ProductTotals sales) {
+            this.product = product;
+            this.unitsSold = sales.getQuantity();
+            this.salesValue = sales.getAmount();
+
+            // Profit margin (simplified), from the assumed cost factor
+            BigDecimal profit = salesValue.subtract(salesValue.multiply(COST_FACTOR));
+            this.profitMargin = salesValue.compareTo(BigDecimal.ZERO) > 0
+                    ? profit.divide(salesValue, 4, RoundingMode.HALF_UP).multiply(new BigDecimal(100))
+                    : BigDecimal.ZERO;
+
+            // Performance score (simplified), based on units sold and profit margin
+            double unitsScore = Math.min(unitsSold / 10.0, 5.0); // Max 5 points for units
+            double marginScore = profitMargin.doubleValue() / 10.0; // 10% margin = 1 point
+            this.performanceScore = BigDecimal.valueOf(unitsScore + marginScore);
+        }
+    }
+
+    /**
+     * Purchase totals of one supplier over the report period, summed over the products it supplies
      */
-    private synchronized long getNextReportId() {
-        return nextReportId++;
+    private static class SupplierPerformance {
+        private final Long supplierId;
+        private final String supplierName;
+        private int productsSupplied;
+        private ProductTotals totals = ProductTotals.ZERO;
+
+        SupplierPerformance(Long supplierId, String supplierName) {
+            this.supplierId = supplierId;
+            this.supplierName = supplierName;
+        }
+
+        void add(ProductTotals productTotals) {
+            productsSupplied++;
+            totals = totals.plus(productTotals);
+        }
     }
 }
\ No newline at end of file
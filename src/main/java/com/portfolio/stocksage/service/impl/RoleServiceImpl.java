@@ -7,6 +7,8 @@ import com.portfolio.stocksage.exception.ResourceNotFoundException;
 import com.portfolio.stocksage.repository.RoleRepository;
 import com.portfolio.stocksage.service.RoleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "userRoles", key = "'all'")
     public List<RoleDTO> getAllRoles() {
         return roleRepository.findAll().stream()
                 .map(this::mapToDto)
@@ -29,6 +32,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "userRoles", key = "'id:' + #id")
     public RoleDTO getRoleById(Long id) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
@@ -37,6 +41,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "userRoles", key = "'name:' + #name")
     public RoleDTO getRoleByName(String name) {
         Role role = roleRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with name: " + name));
@@ -45,6 +50,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "userRoles", allEntries = true)
     public RoleDTO createRole(String name) {
         // Check if role with this name already exists
         if (roleRepository.existsByName(name)) {
@@ -61,6 +67,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "userRoles", allEntries = true)
     public void deleteRole(Long id) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
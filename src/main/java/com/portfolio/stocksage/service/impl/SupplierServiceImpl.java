@@ -11,6 +11,8 @@ import com.portfolio.stocksage.repository.ProductRepository;
 import com.portfolio.stocksage.repository.SupplierRepository;
 import com.portfolio.stocksage.service.SupplierService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,6 +31,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public SupplierDTO createSupplier(SupplierCreateDTO supplierCreateDTO) {
         if (supplierRepository.existsByName(supplierCreateDTO.getName())) {
             throw new IllegalArgumentException("Supplier with name " + supplierCreateDTO.getName() + " already exists");
@@ -42,6 +45,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "suppliers", key = "'id:' + #id")
     public SupplierDTO getSupplierById(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with id: " + id));
@@ -51,6 +55,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "suppliers", key = "'name:' + #name")
     public SupplierDTO getSupplierByName(String name) {
         Supplier supplier = supplierRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with name: " + name));
@@ -74,6 +79,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public SupplierDTO updateSupplier(Long id, SupplierCreateDTO supplierCreateDTO) {
         Supplier existingSupplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with id: " + id));
@@ -93,6 +99,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public void deleteSupplier(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with id: " + id));
@@ -116,6 +123,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public void addProductToSupplier(Long supplierId, Long productId) {
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with id: " + supplierId));
@@ -129,6 +137,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public void removeProductFromSupplier(Long supplierId, Long productId) {
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with id: " + supplierId));
@@ -2,8 +2,9 @@ package com.portfolio.stocksage.service.impl;
 
 import com.portfolio.stocksage.dto.mapper.TransactionMapper;
 import com.portfolio.stocksage.dto.request.TransactionCreateDTO;
+import com.portfolio.stocksage.dto.response.CursorPageDTO;
+import com.portfolio.stocksage.dto.response.TransactionBatchResultDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
-import com.portfolio.stocksage.entity.Inventory;
 import com.portfolio.stocksage.entity.Product;
 import com.portfolio.stocksage.entity.Transaction;
 import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
@@ -11,36 +12,54 @@ import com.portfolio.stocksage.entity.Transaction.TransactionType;
 import com.portfolio.stocksage.entity.User;
 import com.portfolio.stocksage.entity.Warehouse;
 import com.portfolio.stocksage.exception.ResourceNotFoundException;
-import com.portfolio.stocksage.repository.InventoryRepository;
+import com.portfolio.stocksage.inventory.StockKey;
+import com.portfolio.stocksage.inventory.StockUpdater;
+import com.portfolio.stocksage.inventory.StockWriteCoalescer;
+import com.portfolio.stocksage.metrics.DashboardMetricsStore;
+import com.portfolio.stocksage.metrics.DashboardMetricsStore.TransactionSnapshot;
+import com.portfolio.stocksage.metrics.TransactionRollupRecorder;
 import com.portfolio.stocksage.repository.ProductRepository;
 import com.portfolio.stocksage.repository.TransactionRepository;
+import com.portfolio.stocksage.repository.TransactionRollupRepository;
+import com.portfolio.stocksage.repository.projection.MonthlyAmount;
 import com.portfolio.stocksage.repository.UserRepository;
 import com.portfolio.stocksage.repository.WarehouseRepository;
 import com.portfolio.stocksage.service.TransactionService;
+import com.portfolio.stocksage.transaction.TransactionNumberGenerator;
 import com.portfolio.stocksage.util.AppConstants;
+import com.portfolio.stocksage.util.KeysetCursor;
+import com.portfolio.stocksage.util.SearchTerms;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final ProductRepository productRepository;
     private final WarehouseRepository warehouseRepository;
     private final UserRepository userRepository;
-    private final InventoryRepository inventoryRepository;
     private final TransactionMapper transactionMapper;
+    private final DashboardMetricsStore dashboardMetrics;
+    private final TransactionRollupRecorder rollupRecorder;
+    private final TransactionRollupRepository rollupRepository;
+    private final StockUpdater stockUpdater;
+    private final StockWriteCoalescer writeCoalescer;
+    private final TransactionNumberGenerator transactionNumberGenerator;
 
     @Override
     @Transactional
@@ -105,6 +124,8 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Save the transaction
         Transaction savedTransaction = transactionRepository.save(transaction);
+        dashboardMetrics.recordTransactionAdded(savedTransaction);
+        rollupRecorder.recordAdded(savedTransaction);
 
         // Update inventory if transaction is COMPLETED
         if (TransactionStatus.COMPLETED.equals(transaction.getStatus())) {
@@ -114,6 +135,110 @@ public class TransactionServiceImpl implements TransactionService {
         // Return the transaction DTO
         return transactionMapper.toDto(savedTransaction);
     }
+
+    @Override
+    @Transactional
+    public TransactionBatchResultDTO createTransactions(List<TransactionCreateDTO> transactionCreateDTOs, String username) {
+        if (transactionCreateDTOs == null || transactionCreateDTOs.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction is required");
+        }
+        long startTime = System.nanoTime();
+
+        // Check transaction numbers against the batch itself and the database in one query
+        Set<String> transactionNumbers = new HashSet<>();
+        for (TransactionCreateDTO dto : transactionCreateDTOs) {
+            if (dto.getTransactionNumber() == null || dto.getTransactionNumber().isEmpty()) {
+                dto.setTransactionNumber(generateTransactionNumber(dto.getTransactionType()));
+            }
+            if (!transactionNumbers.add(dto.getTransactionNumber())) {
+                throw new IllegalArgumentException("Duplicate transaction number in batch: " + dto.getTransactionNumber());
+            }
+            if (TransactionType.TRANSFER.equals(dto.getTransactionType()) &&
+                    (dto.getSourceWarehouseId() == null || dto.getDestinationWarehouseId() == null)) {
+                throw new IllegalArgumentException("Source and destination warehouses are required for transfer transactions");
+            }
+        }
+
+        List<String> existingNumbers = transactionRepository.findExistingTransactionNumbers(transactionNumbers);
+        if (!existingNumbers.isEmpty()) {
+            throw new IllegalArgumentException("Transaction numbers already exist: " + existingNumbers);
+        }
+
+        // Resolve the user, products and warehouses once for the whole batch
+        User createdBy = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+
+        Set<Long> productIds = transactionCreateDTOs.stream()
+                .map(TransactionCreateDTO::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        if (products.size() != productIds.size()) {
+            productIds.removeAll(products.keySet());
+            throw new ResourceNotFoundException("Products not found with ids: " + productIds);
+        }
+
+        Set<Long> warehouseIds = new HashSet<>();
+        for (TransactionCreateDTO dto : transactionCreateDTOs) {
+            warehouseIds.add(dto.getWarehouseId());
+            if (TransactionType.TRANSFER.equals(dto.getTransactionType())) {
+                warehouseIds.add(dto.getSourceWarehouseId());
+                warehouseIds.add(dto.getDestinationWarehouseId());
+            }
+        }
+        Map<Long, Warehouse> warehouses = warehouseRepository.findAllById(warehouseIds).stream()
+                .collect(Collectors.toMap(Warehouse::getId, warehouse -> warehouse));
+        if (warehouses.size() != warehouseIds.size()) {
+            warehouseIds.removeAll(warehouses.keySet());
+            throw new ResourceNotFoundException("Warehouses not found with ids: " + warehouseIds);
+        }
+
+        // Create transaction entities
+        List<Transaction> transactions = new ArrayList<>(transactionCreateDTOs.size());
+        for (TransactionCreateDTO dto : transactionCreateDTOs) {
+            Transaction transaction = new Transaction();
+            transaction.setTransactionNumber(dto.getTransactionNumber());
+            transaction.setTransactionDate(dto.getTransactionDate());
+            transaction.setTransactionType(dto.getTransactionType());
+            transaction.setStatus(dto.getStatus());
+            transaction.setProduct(products.get(dto.getProductId()));
+            transaction.setQuantity(dto.getQuantity());
+            transaction.setUnitPrice(dto.getUnitPrice());
+            transaction.setWarehouse(warehouses.get(dto.getWarehouseId()));
+            transaction.setReferenceNumber(dto.getReferenceNumber());
+            transaction.setNotes(dto.getNotes());
+            transaction.setCreatedBy(createdBy);
+
+            if (TransactionType.TRANSFER.equals(dto.getTransactionType())) {
+                transaction.setSourceWarehouse(warehouses.get(dto.getSourceWarehouseId()));
+                transaction.setDestinationWarehouse(warehouses.get(dto.getDestinationWarehouseId()));
+            }
+            transactions.add(transaction);
+        }
+
+        // Sequence ids let Hibernate send these as JDBC batches on flush
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        savedTransactions.forEach(dashboardMetrics::recordTransactionAdded);
+        rollupRecorder.recordAddedAll(savedTransactions);
+
+        // Sum completed transactions into one inventory change per product and warehouse
+        Map<StockKey, Integer> inventoryChanges = new TreeMap<>();
+        for (Transaction transaction : savedTransactions) {
+            if (TransactionStatus.COMPLETED.equals(transaction.getStatus())) {
+                collectInventoryChanges(transaction, 1, inventoryChanges);
+            }
+        }
+        applyInventoryChanges(inventoryChanges);
+
+        long durationMillis = (System.nanoTime() - startTime) / 1_000_000;
+        log.info("Created {} transactions in {} ms", savedTransactions.size(), durationMillis);
+
+        return TransactionBatchResultDTO.builder()
+                .createdCount(savedTransactions.size())
+                .transactionIds(savedTransactions.stream().map(Transaction::getId).collect(Collectors.toList()))
+                .durationMillis(durationMillis)
+                .build();
+    }
     /**
      * Get a list of pending transactions older than the specified number of days
      */
@@ -205,6 +330,28 @@ public class TransactionServiceImpl implements TransactionService {
                 .map(transactionMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionDTO> scrollTransactions(String cursor, int size,
+                                                            LocalDateTime startDate, LocalDateTime endDate) {
+        if ((startDate == null) != (endDate == null)) {
+            throw new IllegalArgumentException("Both start and end dates are required to filter by date");
+        }
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+
+        // Fetch one extra row to tell whether there is a next page
+        List<Transaction> rows = startDate != null
+                ? transactionRepository.findPageBeforeInDateRange(
+                        position.getDate(), position.getId(), startDate, endDate, pageSize + 1)
+                : transactionRepository.findPageBefore(position.getDate(), position.getId(), pageSize + 1);
+
+        return CursorPageDTO.of(rows, pageSize,
+                transaction -> new KeysetCursor(transaction.getTransactionDate(), transaction.getId()),
+                transactionMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<TransactionDTO> getTransactionsByUser(Long userId, Pageable pageable) {
@@ -218,7 +365,10 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional(readOnly = true)
     public Page<TransactionDTO> searchTransactions(String keyword, Pageable pageable) {
-        return transactionRepository.search(keyword, pageable)
+        // Results come back in relevance order, so any requested sort is not applied
+        SearchTerms terms = SearchTerms.of(keyword);
+        return transactionRepository.search(terms.getTextQuery(), terms.getContainsPattern(), terms.getPrefixPattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(transactionMapper::toDto);
     }
 
@@ -242,6 +392,7 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Save old status to detect changes
         TransactionStatus oldStatus = existingTransaction.getStatus();
+        TransactionSnapshot before = TransactionSnapshot.of(existingTransaction);
 
         // Update transaction fields
         existingTransaction.setTransactionNumber(transactionCreateDTO.getTransactionNumber());
@@ -286,6 +437,8 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Save the updated transaction
         Transaction updatedTransaction = transactionRepository.save(existingTransaction);
+        dashboardMetrics.recordTransactionChanged(before, updatedTransaction);
+        rollupRecorder.recordChanged(before, updatedTransaction);
 
         // Handle inventory updates if status changed to or from COMPLETED
         if (oldStatus != TransactionStatus.COMPLETED && updatedTransaction.getStatus() == TransactionStatus.COMPLETED) {
@@ -311,12 +464,15 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Save old status to detect changes
         TransactionStatus oldStatus = transaction.getStatus();
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
 
         // Update status
         transaction.setStatus(status);
 
         // Save the updated transaction
         Transaction updatedTransaction = transactionRepository.save(transaction);
+        dashboardMetrics.recordTransactionChanged(before, updatedTransaction);
+        rollupRecorder.recordChanged(before, updatedTransaction);
 
         // Handle inventory updates if status changed to or from COMPLETED
         if (oldStatus != TransactionStatus.COMPLETED && status == TransactionStatus.COMPLETED) {
@@ -341,7 +497,10 @@ public class TransactionServiceImpl implements TransactionService {
             reverseInventoryChanges(transaction);
         }
 
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         transactionRepository.deleteById(id);
+        dashboardMetrics.recordTransactionRemoved(before);
+        rollupRecorder.recordRemoved(before);
     }
 
     @Override
@@ -380,33 +539,30 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, BigDecimal> getMonthlySales(int year) {
-        Map<String, BigDecimal> monthlySales = new LinkedHashMap<>();
-
-        for (int month = 1; month <= 12; month++) {
-            LocalDateTime startOfMonth = LocalDateTime.of(year, month, 1, 0, 0);
-            LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusNanos(1);
-
-            BigDecimal sales = getSalesTotal(startOfMonth, endOfMonth);
-            monthlySales.put(Month.of(month).toString(), sales);
-        }
-
-        return monthlySales;
+        return getMonthlyTotals(year, TransactionType.SALE);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Map<String, BigDecimal> getMonthlyPurchases(int year) {
-        Map<String, BigDecimal> monthlyPurchases = new LinkedHashMap<>();
+        return getMonthlyTotals(year, TransactionType.PURCHASE);
+    }
 
-        for (int month = 1; month <= 12; month++) {
-            LocalDateTime startOfMonth = LocalDateTime.of(year, month, 1, 0, 0);
-            LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusNanos(1);
+    /**
+     * Completed amount per month of a year, read from the daily rollup in one query
+     */
+    private Map<String, BigDecimal> getMonthlyTotals(int year, TransactionType type) {
+        Map<String, BigDecimal> monthlyTotals = new LinkedHashMap<>();
+        for (Month month : Month.values()) {
+            monthlyTotals.put(month.toString(), BigDecimal.ZERO);
+        }
 
-            BigDecimal purchases = getPurchasesTotal(startOfMonth, endOfMonth);
-            monthlyPurchases.put(Month.of(month).toString(), purchases);
+        LocalDate startOfYear = LocalDate.of(year, 1, 1);
+        for (MonthlyAmount monthly : rollupRepository.sumByMonth(type.name(), startOfYear, startOfYear.plusYears(1))) {
+            monthlyTotals.put(Month.of(monthly.getMonth()).toString(), monthly.getTotalAmount());
         }
 
-        return monthlyPurchases;
+        return monthlyTotals;
     }
 
     @Override
@@ -417,142 +573,92 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     public String generateTransactionNumber(TransactionType type) {
-        // Generate a unique transaction number based on type, date, and a random number
-        String prefix;
-        switch (type) {
-            case PURCHASE:
-                prefix = "PO";
-                break;
-            case SALE:
-                prefix = "SO";
-                break;
-            case ADJUSTMENT:
-                prefix = "ADJ";
-                break;
-            case TRANSFER:
-                prefix = "TRF";
-                break;
-            default:
-                prefix = "TRX";
-        }
-
-        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-        String randomPart = String.format("%04d", new Random().nextInt(10000));
-
-        String transactionNumber = prefix + "-" + datePart + "-" + randomPart;
-
-        // Ensure uniqueness
-        if (!isTransactionNumberUnique(transactionNumber)) {
-            return generateTransactionNumber(type); // Recursively try again if not unique
-        }
-
-        return transactionNumber;
+        return transactionNumberGenerator.next(type);
     }
 
     /**
      * Update inventory based on the transaction type and details
      */
     private void updateInventory(Transaction transaction) {
-        Product product = transaction.getProduct();
-
-        switch (transaction.getTransactionType()) {
-            case PURCHASE:
-                // Increase inventory in the destination warehouse
-                updateWarehouseInventory(product, transaction.getWarehouse(), transaction.getQuantity());
-                break;
-
-            case SALE:
-                // Decrease inventory in the source warehouse
-                updateWarehouseInventory(product, transaction.getWarehouse(), -transaction.getQuantity());
-                break;
-
-            case ADJUSTMENT:
-                // Adjust inventory (can be positive or negative)
-                updateWarehouseInventory(product, transaction.getWarehouse(), transaction.getQuantity());
-                break;
-
-            case TRANSFER:
-                if (transaction.getSourceWarehouse() != null && transaction.getDestinationWarehouse() != null) {
-                    // Decrease in source warehouse
-                    updateWarehouseInventory(product, transaction.getSourceWarehouse(), -transaction.getQuantity());
-                    // Increase in destination warehouse
-                    updateWarehouseInventory(product, transaction.getDestinationWarehouse(), transaction.getQuantity());
-                }
-                break;
-        }
+        Map<StockKey, Integer> inventoryChanges = new TreeMap<>();
+        collectInventoryChanges(transaction, 1, inventoryChanges);
+        applyInventoryChanges(inventoryChanges);
     }
 
     /**
      * Reverse inventory changes made by a completed transaction
      */
     private void reverseInventoryChanges(Transaction transaction) {
-        Product product = transaction.getProduct();
+        Map<StockKey, Integer> inventoryChanges = new TreeMap<>();
+        collectInventoryChanges(transaction, -1, inventoryChanges);
+        applyInventoryChanges(inventoryChanges);
+    }
+
+    /**
+     * Add the inventory changes of a completed transaction to the per product and warehouse totals
+     *
+     * @param sign 1 to apply the transaction, -1 to reverse it
+     */
+    private void collectInventoryChanges(Transaction transaction, int sign, Map<StockKey, Integer> inventoryChanges) {
+        Long productId = transaction.getProduct().getId();
+        int quantity = sign * transaction.getQuantity();
 
         switch (transaction.getTransactionType()) {
             case PURCHASE:
-                // Decrease inventory in the destination warehouse
-                updateWarehouseInventory(product, transaction.getWarehouse(), -transaction.getQuantity());
+                // Increase inventory in the destination warehouse
+                inventoryChanges.merge(new StockKey(productId, transaction.getWarehouse().getId()),
+                        quantity, Integer::sum);
                 break;
 
             case SALE:
-                // Increase inventory in the source warehouse
-                updateWarehouseInventory(product, transaction.getWarehouse(), transaction.getQuantity());
+                // Decrease inventory in the source warehouse
+                inventoryChanges.merge(new StockKey(productId, transaction.getWarehouse().getId()),
+                        -quantity, Integer::sum);
                 break;
 
             case ADJUSTMENT:
-                // Reverse adjustment (invert the sign)
-                updateWarehouseInventory(product, transaction.getWarehouse(), -transaction.getQuantity());
+                // Adjust inventory (can be positive or negative)
+                inventoryChanges.merge(new StockKey(productId, transaction.getWarehouse().getId()),
+                        quantity, Integer::sum);
                 break;
 
             case TRANSFER:
                 if (transaction.getSourceWarehouse() != null && transaction.getDestinationWarehouse() != null) {
-                    // Increase in source warehouse
-                    updateWarehouseInventory(product, transaction.getSourceWarehouse(), transaction.getQuantity());
-                    // Decrease in destination warehouse
-                    updateWarehouseInventory(product, transaction.getDestinationWarehouse(), -transaction.getQuantity());
+                    // Move stock from the source to the destination warehouse
+                    inventoryChanges.merge(new StockKey(productId, transaction.getSourceWarehouse().getId()),
+                            -quantity, Integer::sum);
+                    inventoryChanges.merge(new StockKey(productId, transaction.getDestinationWarehouse().getId()),
+                            quantity, Integer::sum);
                 }
                 break;
         }
     }
 
     /**
-     * Update inventory quantity for a product in a specific warehouse
+     * Apply summed inventory changes in (product, warehouse) order, then add the changes that were
+     * actually applied to each product's total stock
      */
-    private void updateWarehouseInventory(Product product, Warehouse warehouse, int quantityChange) {
-        // Find existing inventory or create a new one
-        Optional<Inventory> inventoryOptional = inventoryRepository.findByProductIdAndWarehouseId(
-                product.getId(), warehouse.getId());
-
-        Inventory inventory;
-        if (inventoryOptional.isPresent()) {
-            inventory = inventoryOptional.get();
-            // Calculate new quantity, ensuring it doesn't go below zero
-            int newQuantity = Math.max(0, inventory.getQuantity() + quantityChange);
-            inventory.setQuantity(newQuantity);
-        } else if (quantityChange > 0) {
-            // Only create new inventory record if adding stock (not for negative adjustments)
-            inventory = new Inventory();
-            inventory.setProduct(product);
-            inventory.setWarehouse(warehouse);
-            inventory.setQuantity(quantityChange);
-        } else {
-            // Cannot remove from non-existent inventory
+    private void applyInventoryChanges(Map<StockKey, Integer> inventoryChanges) {
+        if (writeCoalescer.isEnabled()) {
+            // Reserved in memory now and written to the database by the next flush
+            writeCoalescer.reserve(inventoryChanges);
             return;
         }
 
-        // Save inventory
-        inventoryRepository.save(inventory);
+        Map<Long, Integer> productChanges = new TreeMap<>();
 
-        // Update product total stock
-        updateProductStock(product);
-    }
+        inventoryChanges.forEach((key, quantityChange) -> {
+            if (quantityChange == 0) {
+                return;
+            }
 
-    /**
-     * Update the total stock count on the product entity
-     */
-    private void updateProductStock(Product product) {
-        Integer totalStock = inventoryRepository.getTotalQuantityByProductId(product.getId());
-        product.setUnitsInStock(totalStock != null ? totalStock : 0);
-        productRepository.save(product);
+            // Clamped at zero in the database, so the applied change can be smaller than requested
+            int appliedChange = stockUpdater.add(key.getProductId(), key.getWarehouseId(), quantityChange);
+            if (appliedChange != 0) {
+                productChanges.merge(key.getProductId(), appliedChange, Integer::sum);
+            }
+        });
+
+        productChanges.forEach(stockUpdater::addUnitsInStock);
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,8 @@ import com.portfolio.stocksage.exception.BadRequestException;
 import com.portfolio.stocksage.exception.ResourceNotFoundException;
 import com.portfolio.stocksage.repository.RoleRepository;
 import com.portfolio.stocksage.repository.UserRepository;
+import com.portfolio.stocksage.security.TokenRevocationList;
+import com.portfolio.stocksage.security.UserDetailsServiceImpl;
 import com.portfolio.stocksage.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,8 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     @Transactional(readOnly = true)
@@ -134,6 +138,10 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Email is already in use: " + userUpdateDTO.getEmail());
         }
 
+        String previousUsername = existingUser.getUsername();
+        boolean wasActive = existingUser.isActive();
+        Set<Long> previousRoleIds = roleIds(existingUser);
+
         // Update user fields
         existingUser.setUsername(userUpdateDTO.getUsername());
         existingUser.setEmail(userUpdateDTO.getEmail());
@@ -153,16 +161,26 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(existingUser);
+
+        // Issued tokens carry the username and roles, so changing either (or deactivating) rotates them out
+        if (!previousUsername.equals(updatedUser.getUsername()) || (wasActive && !updatedUser.isActive())
+                || !previousRoleIds.equals(roleIds(updatedUser))) {
+            revokeAccess(previousUsername);
+        } else {
+            userDetailsService.evictUser(previousUsername);
+        }
+
         return userMapper.toDto(updatedUser);
     }
 
     @Override
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
         userRepository.deleteById(id);
+        revokeAccess(user.getUsername());
     }
 
     @Override
@@ -179,6 +197,7 @@ public class UserServiceImpl implements UserService {
         // Update with new password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        revokeAccess(user.getUsername());
     }
 
     @Override
@@ -211,6 +230,7 @@ public class UserServiceImpl implements UserService {
         // Update the password
         user.setPassword(passwordEncoder.encode(passwordResetDTO.getNewPassword()));
         userRepository.save(user);
+        revokeAccess(user.getUsername());
     }
 
     @Override
@@ -221,6 +241,7 @@ public class UserServiceImpl implements UserService {
 
         user.setActive(false);
         userRepository.save(user);
+        revokeAccess(user.getUsername());
     }
 
     @Override
@@ -231,6 +252,7 @@ public class UserServiceImpl implements UserService {
 
         user.setActive(true);
         userRepository.save(user);
+        userDetailsService.evictUser(user.getUsername());
     }
 
     @Override
@@ -244,4 +266,18 @@ public class UserServiceImpl implements UserService {
     public boolean isEmailUnique(String email) {
         return !userRepository.existsByEmail(email);
     }
-}
\ No newline at end of file
+
+    private static Set<Long> roleIds(User user) {
+        return user.getRoles().stream()
+                .map(Role::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Reject the user's issued tokens and drop their cached security details
+     */
+    private void revokeAccess(String username) {
+        tokenRevocationList.revokeTokens(username);
+        userDetailsService.evictUser(username);
+    }
+}
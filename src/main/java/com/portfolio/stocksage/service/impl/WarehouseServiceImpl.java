@@ -10,6 +10,8 @@ import com.portfolio.stocksage.repository.InventoryRepository;
 import com.portfolio.stocksage.repository.WarehouseRepository;
 import com.portfolio.stocksage.service.WarehouseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public WarehouseDTO createWarehouse(WarehouseCreateDTO warehouseCreateDTO) {
         if (warehouseRepository.existsByName(warehouseCreateDTO.getName())) {
             throw new IllegalArgumentException("Warehouse with name " + warehouseCreateDTO.getName() + " already exists");
@@ -41,6 +44,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "warehouses", key = "'id:' + #id")
     public WarehouseDTO getWarehouseById(Long id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
@@ -53,6 +57,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "warehouses", key = "'name:' + #name")
     public WarehouseDTO getWarehouseByName(String name) {
         Warehouse warehouse = warehouseRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with name: " + name));
@@ -87,6 +92,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public WarehouseDTO updateWarehouse(Long id, WarehouseCreateDTO warehouseCreateDTO) {
         Warehouse existingWarehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
@@ -110,6 +116,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public void deleteWarehouse(Long id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
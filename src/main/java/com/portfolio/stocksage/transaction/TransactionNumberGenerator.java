@@ -0,0 +1,128 @@
+package com.portfolio.stocksage.transaction;
+
+import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates transaction numbers of the form {@code PREFIX-yyMMdd-NNNNNN}, counting up per type.
+ * <p>
+ * Numbers are reserved in blocks of {@link #BLOCK_SIZE} from one database sequence per prefix. Sequence
+ * values are never rolled back, so the block is read on the caller's own connection: a rolled back caller
+ * cannot return a block another instance may then reuse, and a refill never waits for a second pooled
+ * connection while other callers queue on the block. Callers must therefore not be in a read-only
+ * transaction. Within a block, numbers are handed out with a single atomic increment, so no uniqueness
+ * check is needed. The counter runs on across days and the unused rest of a block is skipped on restart;
+ * a new block is also taken when the day changes. The six-digit counter keeps generated numbers apart
+ * from the four-digit random numbers issued before this generator existed.
+ */
+@Component
+@Slf4j
+public class TransactionNumberGenerator {
+
+    static final int BLOCK_SIZE = 100;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyMMdd");
+    private static final int COUNTER_DIGITS = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<TransactionType, AtomicReference<Block>> current = new EnumMap<>(TransactionType.class);
+
+    public TransactionNumberGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        for (TransactionType type : TransactionType.values()) {
+            current.put(type, new AtomicReference<>(Block.EXHAUSTED));
+        }
+    }
+
+    /**
+     * Generate the next transaction number for a transaction type
+     */
+    public String next(TransactionType type) {
+        AtomicReference<Block> reference = current.get(type);
+        LocalDate today = LocalDate.now();
+
+        while (true) {
+            Block block = reference.get();
+            if (block.day.equals(today)) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) {
+                    return format(block.head, value);
+                }
+            }
+
+            // Block used up or from a previous day; only one thread reserves the next one
+            synchronized (reference) {
+                if (reference.get() == block) {
+                    reference.set(reserveBlock(type, today));
+                }
+            }
+        }
+    }
+
+    private Block reserveBlock(TransactionType type, LocalDate day) {
+        String prefix = prefix(type);
+        // The sequence name comes from the fixed prefixes below, never from user input
+        Long first = jdbcTemplate.queryForObject(
+                "SELECT nextval('transaction_number_" + prefix.toLowerCase(Locale.ROOT) + "_seq')", Long.class);
+        if (first == null) {
+            throw new IllegalStateException("No transaction number block reserved for " + prefix);
+        }
+
+        log.debug("Reserved {} transaction numbers {} to {} for {}", prefix, first, first + BLOCK_SIZE - 1, day);
+        return new Block(day, prefix + "-" + day.format(DATE_FORMAT) + "-", first, first + BLOCK_SIZE - 1);
+    }
+
+    private static String format(String head, long value) {
+        String digits = Long.toString(value);
+        StringBuilder number = new StringBuilder(head.length() + Math.max(COUNTER_DIGITS, digits.length()));
+        number.append(head);
+        for (int i = digits.length(); i < COUNTER_DIGITS; i++) {
+            number.append('0');
+        }
+        return number.append(digits).toString();
+    }
+
+    private static String prefix(TransactionType type) {
+        switch (type) {
+            case PURCHASE:
+                return "PO";
+            case SALE:
+                return "SO";
+            case ADJUSTMENT:
+                return "ADJ";
+            case TRANSFER:
+                return "TRF";
+            default:
+                return "TRX";
+        }
+    }
+
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(LocalDate.MIN, "", 0, -1);
+
+        final LocalDate day;
+        final String head;
+        final AtomicLong next;
+        final long last;
+
+        Block(LocalDate day, String head, long first, long last) {
+            this.day = day;
+            this.head = head;
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
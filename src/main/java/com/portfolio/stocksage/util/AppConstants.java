@@ -13,6 +13,7 @@ public final class AppConstants {
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEFAULT_SORT_DIRECTION = "asc";
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     // Date format patterns
     public static final String DATE_FORMAT = "yyyy-MM-dd";
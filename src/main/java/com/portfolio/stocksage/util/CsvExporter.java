@@ -5,14 +5,17 @@ import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
+import com.portfolio.stocksage.report.ReportTable;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StreamUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Utility for exporting data to CSV format
@@ -30,20 +33,21 @@ public class CsvExporter {
     /**
      * Export products to CSV
      *
-     * @param products List of products to export
-     * @return CSV data as byte array
+     * @param products Products to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportProducts(List<ProductDTO> products) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    public static long exportProducts(Stream<ProductDTO> products, OutputStream out) {
+        try (OutputStreamWriter writer = new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8);
              CSVWriter csvWriter = new CSVWriter(writer)) {
 
             // Write header
             String[] header = {"ID", "SKU", "Name", "Description", "Unit Price", "Category", "Stock", "Status", "Created At", "Updated At"};
             csvWriter.writeNext(header);
 
-            // Write data rows
-            for (ProductDTO product : products) {
+            // Write data rows as they are pulled from the source
+            long count = 0;
+            for (ProductDTO product : (Iterable<ProductDTO>) products::iterator) {
                 String[] row = {
                         product.getId().toString(),
                         product.getSku(),
@@ -57,10 +61,11 @@ public class CsvExporter {
                         product.getUpdatedAt() != null ? product.getUpdatedAt().format(DATE_FORMATTER) : ""
                 };
                 csvWriter.writeNext(row);
+                count++;
             }
 
             csvWriter.flush();
-            return outputStream.toByteArray();
+            return count;
 
         } catch (IOException e) {
             log.error("Error generating CSV for products", e);
@@ -71,20 +76,21 @@ public class CsvExporter {
     /**
      * Export inventory to CSV
      *
-     * @param inventory List of inventory items to export
-     * @return CSV data as byte array
+     * @param inventory Inventory items to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportInventory(List<InventoryDTO> inventory) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    public static long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) {
+        try (OutputStreamWriter writer = new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8);
              CSVWriter csvWriter = new CSVWriter(writer)) {
 
             // Write header
             String[] header = {"ID", "Product SKU", "Product Name", "Warehouse", "Quantity", "Unit Price", "Total Value", "Created At", "Updated At"};
             csvWriter.writeNext(header);
 
-            // Write data rows
-            for (InventoryDTO item : inventory) {
+            // Write data rows as they are pulled from the source
+            long count = 0;
+            for (InventoryDTO item : (Iterable<InventoryDTO>) inventory::iterator) {
                 String[] row = {
                         item.getId().toString(),
                         item.getProduct().getSku(),
@@ -97,10 +103,11 @@ public class CsvExporter {
                         item.getUpdatedAt() != null ? item.getUpdatedAt().format(DATE_FORMATTER) : ""
                 };
                 csvWriter.writeNext(row);
+                count++;
             }
 
             csvWriter.flush();
-            return outputStream.toByteArray();
+            return count;
 
         } catch (IOException e) {
             log.error("Error generating CSV for inventory", e);
@@ -111,12 +118,12 @@ public class CsvExporter {
     /**
      * Export transactions to CSV
      *
-     * @param transactions List of transactions to export
-     * @return CSV data as byte array
+     * @param transactions Transactions to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportTransactions(List<TransactionDTO> transactions) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    public static long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) {
+        try (OutputStreamWriter writer = new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8);
              CSVWriter csvWriter = new CSVWriter(writer)) {
 
             // Write header
@@ -127,8 +134,9 @@ public class CsvExporter {
             };
             csvWriter.writeNext(header);
 
-            // Write data rows
-            for (TransactionDTO transaction : transactions) {
+            // Write data rows as they are pulled from the source
+            long count = 0;
+            for (TransactionDTO transaction : (Iterable<TransactionDTO>) transactions::iterator) {
                 String[] row = {
                         transaction.getId().toString(),
                         transaction.getTransactionNumber(),
@@ -147,10 +155,11 @@ public class CsvExporter {
                         transaction.getUpdatedAt() != null ? transaction.getUpdatedAt().format(DATE_FORMATTER) : ""
                 };
                 csvWriter.writeNext(row);
+                count++;
             }
 
             csvWriter.flush();
-            return outputStream.toByteArray();
+            return count;
 
         } catch (IOException e) {
             log.error("Error generating CSV for transactions", e);
@@ -161,12 +170,12 @@ public class CsvExporter {
     /**
      * Export suppliers to CSV
      *
-     * @param suppliers List of suppliers to export
-     * @return CSV data as byte array
+     * @param suppliers Suppliers to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportSuppliers(List<SupplierDTO> suppliers) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    public static long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) {
+        try (OutputStreamWriter writer = new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8);
              CSVWriter csvWriter = new CSVWriter(writer)) {
 
             // Write header
@@ -176,8 +185,9 @@ public class CsvExporter {
             };
             csvWriter.writeNext(header);
 
-            // Write data rows
-            for (SupplierDTO supplier : suppliers) {
+            // Write data rows as they are pulled from the source
+            long count = 0;
+            for (SupplierDTO supplier : (Iterable<SupplierDTO>) suppliers::iterator) {
                 String[] row = {
                         supplier.getId().toString(),
                         supplier.getName(),
@@ -193,14 +203,55 @@ public class CsvExporter {
                         supplier.getUpdatedAt() != null ? supplier.getUpdatedAt().format(DATE_FORMATTER) : ""
                 };
                 csvWriter.writeNext(row);
+                count++;
             }
 
             csvWriter.flush();
-            return outputStream.toByteArray();
+            return count;
 
         } catch (IOException e) {
             log.error("Error generating CSV for suppliers", e);
             throw new RuntimeException("Failed to generate CSV for suppliers", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Export a columnar report table to CSV, reading cells straight from the column storage
+     *
+     * @param table Report rows to export
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
+     */
+    public static long exportReportTable(ReportTable table, OutputStream out) {
+        try (OutputStreamWriter writer = new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8);
+             CSVWriter csvWriter = new CSVWriter(writer)) {
+
+            // Write header
+            csvWriter.writeNext(table.getColumnNames().toArray(new String[0]));
+
+            // Write data rows, reusing one buffer since the writer consumes each row immediately
+            int columnCount = table.getColumnCount();
+            String[] row = new String[columnCount];
+            for (int rowIndex = 0; rowIndex < table.getRowCount(); rowIndex++) {
+                for (int column = 0; column < columnCount; column++) {
+                    Object value = table.getValue(rowIndex, column);
+                    if (value == null) {
+                        row[column] = "";
+                    } else if (value instanceof LocalDateTime) {
+                        row[column] = ((LocalDateTime) value).format(DATE_FORMATTER);
+                    } else {
+                        row[column] = value.toString();
+                    }
+                }
+                csvWriter.writeNext(row);
+            }
+
+            csvWriter.flush();
+            return table.getRowCount();
+
+        } catch (IOException e) {
+            log.error("Error generating CSV for report table", e);
+            throw new RuntimeException("Failed to generate CSV for report table", e);
+        }
+    }
+}
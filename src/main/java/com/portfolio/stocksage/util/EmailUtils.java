@@ -2,6 +2,8 @@ package com.portfolio.stocksage.util;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -11,6 +13,10 @@ import org.thymeleaf.context.Context;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -128,6 +134,95 @@ public class EmailUtils {
         }
     }
 
+    /**
+     * Send the same simple text email to many recipients over a single mail server connection
+     *
+     * @param recipients Recipient email addresses, one message each
+     * @param subject Email subject
+     * @param text Email text content
+     * @return CompletableFuture indicating whether every email was sent successfully
+     */
+    @Async
+    public CompletableFuture<Boolean> sendBulkEmail(Collection<String> recipients, String subject, String text) {
+        if (recipients.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!isEmailFunctionalityAvailable()) {
+            log.info("Email sending is disabled. Would have sent {} emails with subject: {}", recipients.size(), subject);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        try {
+            List<MimeMessage> messages = new ArrayList<>(recipients.size());
+            for (String to : recipients) {
+                MimeMessage message = emailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+
+                helper.setFrom(emailFrom);
+                helper.setTo(to);
+                helper.setSubject(subject);
+                helper.setText(text, false);
+                messages.add(message);
+            }
+
+            // JavaMailSender reuses one transport connection for the whole array
+            emailSender.send(messages.toArray(new MimeMessage[0]));
+            log.info("Sent {} emails with subject: {}", messages.size(), subject);
+
+            return CompletableFuture.completedFuture(true);
+        } catch (MessagingException | MailException e) {
+            log.error("Failed to send bulk email with subject: {}", subject, e);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * Send the same email with a file attachment to many recipients over a single mail server connection
+     *
+     * @param recipients Recipient email addresses, one message each
+     * @param subject Email subject
+     * @param text Email text content
+     * @param attachment File to attach; read when the messages are sent
+     * @param attachmentName File name shown to recipients
+     * @return CompletableFuture indicating whether every email was sent successfully
+     */
+    @Async
+    public CompletableFuture<Boolean> sendEmailWithAttachment(Collection<String> recipients, String subject, String text,
+                                                              Path attachment, String attachmentName) {
+        if (recipients.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!isEmailFunctionalityAvailable()) {
+            log.info("Email sending is disabled. Would have sent {} with {} attached to {} recipients",
+                    subject, attachmentName, recipients.size());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        try {
+            FileSystemResource file = new FileSystemResource(attachment);
+            List<MimeMessage> messages = new ArrayList<>(recipients.size());
+            for (String to : recipients) {
+                MimeMessage message = emailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+                helper.setFrom(emailFrom);
+                helper.setTo(to);
+                helper.setSubject(subject);
+                helper.setText(text, false);
+                helper.addAttachment(attachmentName, file);
+                messages.add(message);
+            }
+
+            emailSender.send(messages.toArray(new MimeMessage[0]));
+            log.info("Sent {} emails with attachment {}", messages.size(), attachmentName);
+
+            return CompletableFuture.completedFuture(true);
+        } catch (MessagingException | MailException e) {
+            log.error("Failed to send email with attachment {}", attachmentName, e);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
     /**
      * Send a password reset email
      *
@@ -4,15 +4,17 @@ import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import com.portfolio.stocksage.dto.response.InventoryDTO;
 import com.portfolio.stocksage.dto.response.ProductDTO;
+import com.portfolio.stocksage.dto.response.ReportDTO;
 import com.portfolio.stocksage.dto.response.SupplierDTO;
 import com.portfolio.stocksage.dto.response.TransactionDTO;
+import com.portfolio.stocksage.report.ReportTable;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Utility for exporting data to PDF format
@@ -27,6 +29,9 @@ public class PdfExporter {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    // Rows buffered in a table before they are laid out and written to the document
+    private static final int FLUSH_ROWS = 500;
+
     private PdfExporter() {
         // Private constructor to prevent instantiation
         throw new AssertionError("PdfExporter is a utility class and should not be instantiated");
@@ -35,13 +40,15 @@ public class PdfExporter {
     /**
      * Export products to PDF
      *
-     * @param products List of products to export
-     * @return PDF document as byte array
+     * @param products Products to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportProducts(List<ProductDTO> products) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    public static long exportProducts(Stream<ProductDTO> products, OutputStream out) {
+        try {
             Document document = new Document(PageSize.A4);
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             // Add title
@@ -66,11 +73,15 @@ public class PdfExporter {
             float[] columnWidths = {0.5f, 1.5f, 2f, 2f, 1f, 1.5f, 1f};
             table.setWidths(columnWidths);
 
+            // Rows are handed to the document in chunks instead of after the whole table is built
+            table.setComplete(false);
+
             // Add table headers
             addTableHeader(table, new String[]{"ID", "SKU", "Name", "Category", "Price", "Stock", "Status"});
 
             // Add table rows
-            for (ProductDTO product : products) {
+            long count = 0;
+            for (ProductDTO product : (Iterable<ProductDTO>) products::iterator) {
                 table.addCell(new Phrase(product.getId().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(product.getSku(), NORMAL_FONT));
                 table.addCell(new Phrase(product.getName(), NORMAL_FONT));
@@ -78,13 +89,18 @@ public class PdfExporter {
                 table.addCell(new Phrase(product.getUnitPrice().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(product.getUnitsInStock().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(product.isActive() ? "Active" : "Inactive", NORMAL_FONT));
+
+                if (++count % FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
             }
 
+            table.setComplete(true);
             document.add(table);
             document.close();
 
-            return outputStream.toByteArray();
-        } catch (DocumentException | IOException e) {
+            return count;
+        } catch (DocumentException e) {
             log.error("Error generating PDF for products", e);
             throw new RuntimeException("Failed to generate PDF for products", e);
         }
@@ -93,13 +109,15 @@ public class PdfExporter {
     /**
      * Export inventory to PDF
      *
-     * @param inventory List of inventory items to export
-     * @return PDF document as byte array
+     * @param inventory Inventory items to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportInventory(List<InventoryDTO> inventory) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    public static long exportInventory(Stream<InventoryDTO> inventory, OutputStream out) {
+        try {
             Document document = new Document(PageSize.A4);
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             // Add title
@@ -124,24 +142,33 @@ public class PdfExporter {
             float[] columnWidths = {0.5f, 1.5f, 2f, 2f, 1f, 1.5f};
             table.setWidths(columnWidths);
 
+            // Rows are handed to the document in chunks instead of after the whole table is built
+            table.setComplete(false);
+
             // Add table headers
             addTableHeader(table, new String[]{"ID", "Product SKU", "Product Name", "Warehouse", "Quantity", "Total Value"});
 
             // Add table rows
-            for (InventoryDTO item : inventory) {
+            long count = 0;
+            for (InventoryDTO item : (Iterable<InventoryDTO>) inventory::iterator) {
                 table.addCell(new Phrase(item.getId().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(item.getProduct().getSku(), NORMAL_FONT));
                 table.addCell(new Phrase(item.getProduct().getName(), NORMAL_FONT));
                 table.addCell(new Phrase(item.getWarehouse().getName(), NORMAL_FONT));
                 table.addCell(new Phrase(item.getQuantity().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(item.getTotalValue().toString(), NORMAL_FONT));
+
+                if (++count % FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
             }
 
+            table.setComplete(true);
             document.add(table);
             document.close();
 
-            return outputStream.toByteArray();
-        } catch (DocumentException | IOException e) {
+            return count;
+        } catch (DocumentException e) {
             log.error("Error generating PDF for inventory", e);
             throw new RuntimeException("Failed to generate PDF for inventory", e);
         }
@@ -150,13 +177,15 @@ public class PdfExporter {
     /**
      * Export transactions to PDF
      *
-     * @param transactions List of transactions to export
-     * @return PDF document as byte array
+     * @param transactions Transactions to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportTransactions(List<TransactionDTO> transactions) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    public static long exportTransactions(Stream<TransactionDTO> transactions, OutputStream out) {
+        try {
             Document document = new Document(PageSize.A4.rotate()); // Landscape for more columns
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             // Add title
@@ -181,6 +210,9 @@ public class PdfExporter {
             float[] columnWidths = {0.5f, 1.5f, 1.5f, 1f, 1f, 1.5f, 1f, 1f, 1.5f, 1.5f};
             table.setWidths(columnWidths);
 
+            // Rows are handed to the document in chunks instead of after the whole table is built
+            table.setComplete(false);
+
             // Add table headers
             addTableHeader(table, new String[]{
                     "ID", "Transaction #", "Date", "Type", "Status", "Product",
@@ -188,7 +220,8 @@ public class PdfExporter {
             });
 
             // Add table rows
-            for (TransactionDTO transaction : transactions) {
+            long count = 0;
+            for (TransactionDTO transaction : (Iterable<TransactionDTO>) transactions::iterator) {
                 table.addCell(new Phrase(transaction.getId().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(transaction.getTransactionNumber(), NORMAL_FONT));
                 table.addCell(new Phrase(transaction.getTransactionDate().format(DATE_FORMATTER), NORMAL_FONT));
@@ -199,13 +232,18 @@ public class PdfExporter {
                 table.addCell(new Phrase(transaction.getUnitPrice().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(transaction.getTotalAmount().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(transaction.getCreatedBy().getFullName(), NORMAL_FONT));
+
+                if (++count % FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
             }
 
+            table.setComplete(true);
             document.add(table);
             document.close();
 
-            return outputStream.toByteArray();
-        } catch (DocumentException | IOException e) {
+            return count;
+        } catch (DocumentException e) {
             log.error("Error generating PDF for transactions", e);
             throw new RuntimeException("Failed to generate PDF for transactions", e);
         }
@@ -214,13 +252,15 @@ public class PdfExporter {
     /**
      * Export suppliers to PDF
      *
-     * @param suppliers List of suppliers to export
-     * @return PDF document as byte array
+     * @param suppliers Suppliers to export, consumed one row at a time
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
      */
-    public static byte[] exportSuppliers(List<SupplierDTO> suppliers) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    public static long exportSuppliers(Stream<SupplierDTO> suppliers, OutputStream out) {
+        try {
             Document document = new Document(PageSize.A4);
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             // Add title
@@ -245,13 +285,17 @@ public class PdfExporter {
             float[] columnWidths = {0.5f, 1.5f, 1.5f, 1.5f, 1.5f, 0.8f, 1f};
             table.setWidths(columnWidths);
 
+            // Rows are handed to the document in chunks instead of after the whole table is built
+            table.setComplete(false);
+
             // Add table headers
             addTableHeader(table, new String[]{
                     "ID", "Name", "Contact Name", "Email", "Phone", "Status", "Products"
             });
 
             // Add table rows
-            for (SupplierDTO supplier : suppliers) {
+            long count = 0;
+            for (SupplierDTO supplier : (Iterable<SupplierDTO>) suppliers::iterator) {
                 table.addCell(new Phrase(supplier.getId().toString(), NORMAL_FONT));
                 table.addCell(new Phrase(supplier.getName(), NORMAL_FONT));
                 table.addCell(new Phrase(supplier.getContactName() != null ? supplier.getContactName() : "", NORMAL_FONT));
@@ -259,18 +303,127 @@ public class PdfExporter {
                 table.addCell(new Phrase(supplier.getPhone() != null ? supplier.getPhone() : "", NORMAL_FONT));
                 table.addCell(new Phrase(supplier.isActive() ? "Active" : "Inactive", NORMAL_FONT));
                 table.addCell(new Phrase(String.valueOf(supplier.getProductCount()), NORMAL_FONT));
+
+                if (++count % FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
             }
 
+            table.setComplete(true);
             document.add(table);
             document.close();
 
-            return outputStream.toByteArray();
-        } catch (DocumentException | IOException e) {
+            return count;
+        } catch (DocumentException e) {
             log.error("Error generating PDF for suppliers", e);
             throw new RuntimeException("Failed to generate PDF for suppliers", e);
         }
     }
 
+    /**
+     * Export a generated report to PDF, reading cells straight from its column storage
+     *
+     * @param report Report to export
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of rows written
+     */
+    public static long exportReport(ReportDTO report, OutputStream out) {
+        ReportTable data = report.getTable();
+        int columnCount = data.getColumnCount();
+
+        try {
+            // Landscape for wide reports
+            Document document = new Document(columnCount > 7 ? PageSize.A4.rotate() : PageSize.A4);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+
+            // Add title
+            Paragraph title = new Paragraph(report.getTitle() != null ? report.getTitle() : "Report", TITLE_FONT);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(20);
+            document.add(title);
+
+            // Add description and period
+            if (report.getDescription() != null) {
+                document.add(new Paragraph(report.getDescription(), NORMAL_FONT));
+            }
+            if (report.getStartDate() != null && report.getEndDate() != null) {
+                document.add(new Paragraph("Period: " + report.getStartDate().format(DATE_FORMATTER)
+                        + " - " + report.getEndDate().format(DATE_FORMATTER), NORMAL_FONT));
+            }
+
+            // Add generation date
+            LocalDateTime generatedAt = report.getGeneratedAt() != null ? report.getGeneratedAt() : LocalDateTime.now();
+            Paragraph date = new Paragraph("Generated on: " + generatedAt.format(DATE_FORMATTER), SMALL_FONT);
+            date.setAlignment(Element.ALIGN_RIGHT);
+            date.setSpacingAfter(20);
+            document.add(date);
+
+            long count = 0;
+            if (columnCount > 0) {
+                PdfPTable table = new PdfPTable(columnCount);
+                table.setWidthPercentage(100);
+                table.setSpacingBefore(10f);
+                table.setSpacingAfter(10f);
+                table.setHeaderRows(1);
+
+                // Rows are handed to the document in chunks instead of after the whole table is built
+                table.setComplete(false);
+
+                // Add table headers
+                addTableHeader(table, data.getColumnNames().toArray(new String[0]));
+
+                // Add table rows
+                for (int row = 0; row < data.getRowCount(); row++) {
+                    for (int column = 0; column < columnCount; column++) {
+                        table.addCell(new Phrase(formatValue(data.getValue(row, column)), NORMAL_FONT));
+                    }
+
+                    if (++count % FLUSH_ROWS == 0) {
+                        document.add(table);
+                    }
+                }
+
+                table.setComplete(true);
+                document.add(table);
+            }
+
+            // Add summary
+            if (report.getSummary() != null && !report.getSummary().isEmpty()) {
+                PdfPTable summary = new PdfPTable(2);
+                summary.setWidthPercentage(60);
+                summary.setHorizontalAlignment(Element.ALIGN_LEFT);
+                summary.setSpacingBefore(10f);
+                addTableHeader(summary, new String[]{"Summary", "Value"});
+
+                for (Map.Entry<String, Object> entry : report.getSummary().entrySet()) {
+                    summary.addCell(new Phrase(entry.getKey(), NORMAL_FONT));
+                    summary.addCell(new Phrase(formatValue(entry.getValue()), NORMAL_FONT));
+                }
+                document.add(summary);
+            }
+
+            document.close();
+            return count;
+        } catch (DocumentException e) {
+            log.error("Error generating PDF for report {}", report.getId(), e);
+            throw new RuntimeException("Failed to generate PDF for report", e);
+        }
+    }
+
+    /**
+     * Helper method to format a report cell
+     */
+    private static String formatValue(Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).format(DATE_FORMATTER);
+        }
+        return value.toString();
+    }
+
     /**
      * Helper method to add table headers
      *
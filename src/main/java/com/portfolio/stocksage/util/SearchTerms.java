@@ -0,0 +1,45 @@
+package com.portfolio.stocksage.util;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * A search keyword prepared for the indexed search queries.
+ * <p>
+ * Words become a prefix-matching full-text query ({@code word:* & other:*}) for the tsvector indexes,
+ * and the whole keyword becomes escaped ILIKE patterns for the trigram-indexed identifier columns such as
+ * SKUs and transaction numbers. Only letters and digits reach the tsquery, so user input can never
+ * produce a malformed query.
+ */
+@Value
+public class SearchTerms {
+
+    private static final int MAX_WORDS = 8;
+
+    // Full-text query text for to_tsquery('simple', ...); empty if the keyword has no words
+    String textQuery;
+    // ILIKE pattern matching the keyword anywhere
+    String containsPattern;
+    // ILIKE pattern matching values that start with the keyword
+    String prefixPattern;
+
+    public static SearchTerms of(String keyword) {
+        String trimmed = keyword == null ? "" : keyword.trim();
+
+        String textQuery = Arrays.stream(trimmed.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_WORDS)
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+
+        String escaped = escapeLike(trimmed);
+        return new SearchTerms(textQuery, "%" + escaped + "%", escaped + "%");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,4 @@
+-- V10__products_units_in_stock_index.sql
+
+-- Low and out-of-stock reconciliation scans read only the products below a threshold
+CREATE INDEX IF NOT EXISTS idx_products_units_in_stock ON products (units_in_stock);
@@ -0,0 +1,4 @@
+-- V2__report_id_sequence.sql
+
+-- Report IDs are handed out in blocks of 50; the increment must match ReportIdAllocator.BLOCK_SIZE
+CREATE SEQUENCE IF NOT EXISTS report_id_seq START 1 INCREMENT 50;
@@ -0,0 +1,28 @@
+-- V3__transaction_daily_rollup.sql
+
+-- Completed transaction totals per day, product, warehouse and type; maintained by TransactionRollupRecorder
+CREATE TABLE transaction_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    quantity BIGINT NOT NULL DEFAULT 0,
+    amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    unit_price_total DECIMAL(19,2) NOT NULL DEFAULT 0,
+    transaction_count INTEGER NOT NULL DEFAULT 0,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    FOREIGN KEY (warehouse_id) REFERENCES warehouses(id) ON DELETE CASCADE,
+    CONSTRAINT uk_transaction_daily_rollup UNIQUE (rollup_date, product_id, warehouse_id, transaction_type)
+);
+
+CREATE INDEX idx_transaction_daily_rollups_type_date ON transaction_daily_rollups (transaction_type, rollup_date);
+
+-- Backfill from existing completed transactions
+INSERT INTO transaction_daily_rollups (rollup_date, product_id, warehouse_id, transaction_type,
+                                       quantity, amount, unit_price_total, transaction_count)
+SELECT CAST(t.transaction_date AS DATE), t.product_id, t.warehouse_id, t.transaction_type,
+       SUM(t.quantity), SUM(t.quantity * t.unit_price), SUM(t.unit_price), COUNT(*)
+FROM transactions t
+WHERE t.status = 'COMPLETED'
+GROUP BY CAST(t.transaction_date AS DATE), t.product_id, t.warehouse_id, t.transaction_type;
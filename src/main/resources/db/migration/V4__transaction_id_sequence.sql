@@ -0,0 +1,7 @@
+-- V4__transaction_id_sequence.sql
+
+-- Transaction IDs are handed out in blocks of 50 so Hibernate can batch inserts;
+-- the increment must match the allocationSize on Transaction.id
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+
+SELECT setval('transactions_id_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM transactions;
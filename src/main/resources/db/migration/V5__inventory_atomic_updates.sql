@@ -0,0 +1,8 @@
+-- V5__inventory_atomic_updates.sql
+
+-- One inventory row per product and warehouse; StockUpdater relies on this for its upsert
+CREATE UNIQUE INDEX IF NOT EXISTS uk_inventory_product_warehouse ON inventory (product_id, warehouse_id);
+
+-- units_in_stock is maintained by deltas from now on, so start from the exact sum
+UPDATE products p
+SET units_in_stock = COALESCE((SELECT SUM(i.quantity) FROM inventory i WHERE i.product_id = p.id), 0);
@@ -0,0 +1,10 @@
+-- V6__transaction_number_sequences.sql
+
+-- Transaction numbers are reserved in blocks of 100 per prefix; the increment must match
+-- TransactionNumberGenerator.BLOCK_SIZE. Numbers issued before these sequences have four random
+-- digits and generated ones have six, so counting from 1 never repeats an existing number.
+CREATE SEQUENCE IF NOT EXISTS transaction_number_po_seq START 1 INCREMENT 100;
+CREATE SEQUENCE IF NOT EXISTS transaction_number_so_seq START 1 INCREMENT 100;
+CREATE SEQUENCE IF NOT EXISTS transaction_number_adj_seq START 1 INCREMENT 100;
+CREATE SEQUENCE IF NOT EXISTS transaction_number_trf_seq START 1 INCREMENT 100;
+CREATE SEQUENCE IF NOT EXISTS transaction_number_trx_seq START 1 INCREMENT 100;
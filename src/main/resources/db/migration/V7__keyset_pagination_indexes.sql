@@ -0,0 +1,6 @@
+-- V7__keyset_pagination_indexes.sql
+
+-- Composite indexes matching the (date, id) descending order used by cursor-based listings
+CREATE INDEX IF NOT EXISTS idx_transactions_date_id ON transactions (transaction_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_id ON audit_logs (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_id ON notifications (user_id, created_at DESC, id DESC);
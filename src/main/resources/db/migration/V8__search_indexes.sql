@@ -0,0 +1,27 @@
+-- V8__search_indexes.sql
+
+-- Indexed search: tsvector columns with GIN indexes for words, trigram indexes for identifier substrings
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(sku, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_products_sku_trgm ON products USING gin (sku gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_number_trgm ON transactions USING gin (transaction_number gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_transactions_reference_trgm ON transactions USING gin (reference_number gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_transactions_product_id ON transactions (product_id);
+
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(username, '') || ' ' || coalesce(action, '') || ' ' ||
+                                        coalesce(entity_type, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(details, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_search_vector ON audit_logs USING gin (search_vector);
@@ -0,0 +1,7 @@
+-- V9__token_revocations.sql
+
+-- Tokens issued to a user before revoked_before are rejected; TokenRevocationList keeps these rows in memory
+CREATE TABLE IF NOT EXISTS token_revocations (
+    username VARCHAR(50) PRIMARY KEY,
+    revoked_before TIMESTAMP NOT NULL
+);
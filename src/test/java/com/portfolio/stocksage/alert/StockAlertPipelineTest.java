@@ -0,0 +1,118 @@
+package com.portfolio.stocksage.alert;
+
+import com.portfolio.stocksage.repository.NotificationRepository;
+import com.portfolio.stocksage.repository.UserRepository;
+import com.portfolio.stocksage.util.EmailUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StockAlertPipelineTest {
+
+    private static final Long MANAGER = 1L;
+    private static final Long ADMIN = 2L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final EmailUtils emailUtils = mock(EmailUtils.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StockAlertPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findAlertRecipients(anyCollection())).thenReturn(List.of(
+                new AlertRecipient(MANAGER, "manager@example.com", "INVENTORY_MANAGER"),
+                new AlertRecipient(ADMIN, "admin@example.com", "ADMIN")));
+        pipeline = pipeline(10);
+    }
+
+    private StockAlertPipeline pipeline(int bucketCapacity) {
+        // Deliveries run on the calling thread
+        return new StockAlertPipeline(userRepository, notificationRepository, emailUtils, Runnable::run,
+                meterRegistry, true, 240, bucketCapacity, 1);
+    }
+
+    @Test
+    void acceptsAnAlertOncePerWindowUntilItIsReset() {
+        assertThat(pipeline.submit(StockAlert.outOfStock(7L, "Widget"))).isTrue();
+        assertThat(pipeline.submit(StockAlert.outOfStock(7L, "Widget"))).isFalse();
+        assertThat(pipeline.submit(StockAlert.lowStock(7L, "Widget", 2, 5))).isTrue();
+
+        pipeline.reset(7L, StockAlertType.OUT_OF_STOCK);
+
+        assertThat(pipeline.submit(StockAlert.outOfStock(7L, "Widget"))).isTrue();
+        assertThat(meterRegistry.counter("stock.alerts.suppressed", "reason", "duplicate").count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsEachRecipientOneDigestOfTheTypesTheyReceive() {
+        pipeline.submit(StockAlert.outOfStock(7L, "Widget"));
+        pipeline.submit(StockAlert.lowStock(8L, "Gadget", 2, 5));
+
+        pipeline.flush();
+
+        verify(notificationRepository).insertForUsers(eq("Stock alerts: 1 out of stock, 1 low on stock"),
+                contains("'Gadget' (ID: 8) is low on stock: 2 left (threshold: 5)"), eq("INVENTORY_ALERT"),
+                eq(List.of(MANAGER)), any());
+        verify(notificationRepository).insertForUsers(eq("STOCK OUT ALERT"),
+                eq("Product 'Widget' (ID: 7) is out of stock."), eq("INVENTORY_ALERT"), eq(List.of(ADMIN)), any());
+        verify(emailUtils).sendBulkEmail(eq(List.of("admin@example.com")), eq("STOCK OUT ALERT"), anyString());
+        assertThat(meterRegistry.counter("stock.alerts.digests").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("stock.alerts.delivered").count()).isEqualTo(3);
+
+        // The queue was drained
+        pipeline.flush();
+        verify(notificationRepository, times(2)).insertForUsers(anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void holdsBackDigestsOnceARecipientRunsOutOfTokens() {
+        pipeline = pipeline(1);
+
+        pipeline.submit(StockAlert.outOfStock(7L, "Widget"));
+        pipeline.flush();
+        pipeline.submit(StockAlert.outOfStock(8L, "Gadget"));
+        pipeline.flush();
+
+        verify(notificationRepository).insertForUsers(anyString(), anyString(), anyString(),
+                eq(List.of(MANAGER, ADMIN)), any());
+        verify(notificationRepository, times(1)).insertForUsers(anyString(), anyString(), anyString(), any(), any());
+        assertThat(meterRegistry.counter("stock.alerts.suppressed", "reason", "rate_limited").count()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsAlertsAgainAfterAFailedDelivery() {
+        when(notificationRepository.insertForUsers(anyString(), anyString(), anyString(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        pipeline.submit(StockAlert.outOfStock(7L, "Widget"));
+        pipeline.flush();
+
+        assertThat(pipeline.submit(StockAlert.outOfStock(7L, "Widget"))).isTrue();
+    }
+
+    @Test
+    void skipsTheRecipientQueryWhenNothingIsQueued() {
+        pipeline.flush();
+
+        verifyNoInteractions(userRepository);
+        verify(notificationRepository, never()).insertForUsers(anyString(), anyString(), anyString(), any(), any());
+    }
+}
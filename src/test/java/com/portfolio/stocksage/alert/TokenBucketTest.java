@@ -0,0 +1,40 @@
+package com.portfolio.stocksage.alert;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsABurstUpToItsCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        // One token every 100 ms
+        TokenBucket bucket = new TokenBucket(1, 36_000);
+        assertThat(bucket.tryAcquire()).isTrue();
+
+        Thread.sleep(150);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void neverHoldsMoreThanItsCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(2, 36_000);
+
+        Thread.sleep(300);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+}
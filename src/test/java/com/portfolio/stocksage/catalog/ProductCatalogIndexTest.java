@@ -0,0 +1,96 @@
+package com.portfolio.stocksage.catalog;
+
+import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductCatalogIndexTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private ProductCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductCatalogIndex(productRepository);
+    }
+
+    @Test
+    void keepsChangesPublishedWhileTheRebuildReads() {
+        CatalogEntry widget = entry(1L, "WID-001", "Blue widget");
+        CatalogEntry gadget = entry(2L, "GAD-001", "Red gadget");
+        CatalogEntry renamed = entry(2L, "GAD-001", "Green gadget");
+        CatalogEntry gizmo = entry(3L, "GIZ-001", "Gizmo");
+
+        when(productRepository.findCatalogEntries()).thenAnswer(invocation -> {
+            // The read has already seen these products when the changes commit
+            List<CatalogEntry> read = new ArrayList<>(List.of(widget, gadget));
+            index.onProductChanged(ProductChangedEvent.deleted(1L));
+            index.onProductChanged(ProductChangedEvent.saved(product(renamed)));
+            index.onProductChanged(ProductChangedEvent.saved(product(gizmo)));
+            return read;
+        });
+
+        index.rebuild();
+
+        assertThat(index.find(1L)).isEmpty();
+        assertThat(index.find(2L)).contains(renamed);
+        assertThat(index.find(3L)).contains(gizmo);
+        assertThat(index.suggest("red", 10, true)).isEmpty();
+        assertThat(index.suggest("green", 10, true)).containsExactly(renamed);
+    }
+
+    @Test
+    void appliesChangesAfterTheRebuild() {
+        when(productRepository.findCatalogEntries()).thenReturn(List.of(entry(1L, "WID-001", "Blue widget")));
+        index.rebuild();
+
+        CatalogEntry gadget = entry(2L, "GAD-001", "Blue gadget");
+        index.onProductChanged(ProductChangedEvent.saved(product(gadget)));
+
+        assertThat(index.suggest("blue", 10, true)).extracting(CatalogEntry::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void suggestsExactSkuFirstThenSkuAndNamePrefixes() {
+        CatalogEntry exact = entry(1L, "BLU", "Plain box");
+        CatalogEntry skuPrefix = entry(2L, "BLU-2", "Other box");
+        CatalogEntry namePrefix = entry(3L, "ZZZ-1", "Blue gadget");
+        CatalogEntry inactive = entry(4L, "ZZZ-2", "Blue widget", false);
+        when(productRepository.findCatalogEntries()).thenReturn(List.of(namePrefix, skuPrefix, exact, inactive));
+        index.rebuild();
+
+        assertThat(index.suggest("blu", 10, false)).containsExactly(exact, skuPrefix, namePrefix);
+        assertThat(index.suggest("blu", 10, true)).contains(inactive);
+        assertThat(index.suggest("blu", 2, false)).containsExactly(exact, skuPrefix);
+        assertThat(index.suggest("blue gad", 10, false)).containsExactly(namePrefix);
+        assertThat(index.suggest("-blue", 10, false)).containsExactly(namePrefix);
+        assertThat(index.suggest("!!", 10, false)).isEmpty();
+    }
+
+    private static CatalogEntry entry(Long id, String sku, String name) {
+        return entry(id, sku, name, true);
+    }
+
+    private static CatalogEntry entry(Long id, String sku, String name, boolean active) {
+        return new CatalogEntry(id, sku, name, new BigDecimal("9.99"), active);
+    }
+
+    private static Product product(CatalogEntry entry) {
+        return Product.builder()
+                .id(entry.getId())
+                .sku(entry.getSku())
+                .name(entry.getName())
+                .unitPrice(entry.getUnitPrice())
+                .active(entry.isActive())
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.portfolio.stocksage.inventory;
+
+import com.portfolio.stocksage.entity.Category;
+import com.portfolio.stocksage.entity.Inventory;
+import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.entity.Warehouse;
+import com.portfolio.stocksage.repository.CategoryRepository;
+import com.portfolio.stocksage.repository.InventoryRepository;
+import com.portfolio.stocksage.repository.ProductRepository;
+import com.portfolio.stocksage.repository.WarehouseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs many concurrent writers through {@link StockUpdater} against one inventory record and checks that no
+ * change is lost, the quantity never goes below zero and the product total stays equal to the inventory.
+ * <p>
+ * The atomic updates use PostgreSQL-only SQL, so the test needs a PostgreSQL database with the Flyway
+ * migrations applied and runs only when {@code STOCKSAGE_TEST_DB_URL} is set, for example:
+ * {@code STOCKSAGE_TEST_DB_URL=jdbc:postgresql://localhost:5432/stocksage_test mvn test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=${STOCKSAGE_TEST_DB_URL}",
+        "spring.datasource.username=${STOCKSAGE_TEST_DB_USERNAME:postgres}",
+        "spring.datasource.password=${STOCKSAGE_TEST_DB_PASSWORD:}",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@EnabledIfEnvironmentVariable(named = "STOCKSAGE_TEST_DB_URL", matches = ".+")
+class StockUpdaterConcurrencyTest {
+
+    private static final int WRITERS = 64;
+    private static final int CHANGES_PER_WRITER = 50;
+    private static final int INITIAL_QUANTITY = 100;
+
+    @Autowired
+    private StockUpdater stockUpdater;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long categoryId;
+    private Long productId;
+    private Long warehouseId;
+
+    @BeforeEach
+    void createStock() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = categoryRepository.save(Category.builder()
+                    .name("Concurrency test " + suffix)
+                    .active(true)
+                    .build());
+            Product product = productRepository.save(Product.builder()
+                    .sku("CT-" + suffix)
+                    .name("Concurrency test product")
+                    .unitPrice(new BigDecimal("2.50"))
+                    .category(category)
+                    .active(true)
+                    .unitsInStock(INITIAL_QUANTITY)
+                    .build());
+            Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                    .name("Concurrency test " + suffix)
+                    .location("Test")
+                    .active(true)
+                    .build());
+            inventoryRepository.save(Inventory.builder()
+                    .product(product)
+                    .warehouse(warehouse)
+                    .quantity(INITIAL_QUANTITY)
+                    .build());
+
+            categoryId = category.getId();
+            productId = product.getId();
+            warehouseId = warehouse.getId();
+        });
+    }
+
+    @AfterEach
+    void deleteStock() {
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+                    .ifPresent(inventoryRepository::delete);
+            productRepository.deleteById(productId);
+            warehouseRepository.deleteById(warehouseId);
+            categoryRepository.deleteById(categoryId);
+        });
+    }
+
+    @Test
+    void concurrentWritersLoseNoChanges() throws Exception {
+        AtomicLong totalApplied = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int writer = 0; writer < WRITERS; writer++) {
+                Random random = new Random(writer);
+                results.add(writers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CHANGES_PER_WRITER; i++) {
+                        // Removals slightly outweigh additions, so the quantity regularly hits the zero clamp
+                        int change = random.nextInt(21) - 11;
+                        Integer applied = transactionTemplate.execute(status -> {
+                            int appliedChange = stockUpdater.add(productId, warehouseId, change);
+                            stockUpdater.addUnitsInStock(productId, appliedChange);
+                            return appliedChange;
+                        });
+                        assertThat(applied).isBetween(Math.min(change, 0), Math.max(change, 0));
+                        totalApplied.addAndGet(applied);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        int quantity = inventoryRepository.findQuantity(productId, warehouseId).orElseThrow();
+        int unitsInStock = transactionTemplate.execute(status ->
+                productRepository.findById(productId).orElseThrow().getUnitsInStock());
+
+        assertThat(quantity).isEqualTo(INITIAL_QUANTITY + totalApplied.get());
+        assertThat(quantity).isGreaterThanOrEqualTo(0);
+        assertThat(unitsInStock).isEqualTo(quantity);
+    }
+
+    @Test
+    void loadedEntitiesSeeTheAppliedChange() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+                    .orElseThrow();
+            Product product = productRepository.findById(productId).orElseThrow();
+
+            int appliedChange = stockUpdater.add(productId, warehouseId, -(INITIAL_QUANTITY + 5));
+            stockUpdater.addUnitsInStock(productId, appliedChange);
+
+            assertThat(appliedChange).isEqualTo(-INITIAL_QUANTITY);
+            assertThat(inventory.getQuantity()).isZero();
+            assertThat(product.getUnitsInStock()).isZero();
+        });
+    }
+}
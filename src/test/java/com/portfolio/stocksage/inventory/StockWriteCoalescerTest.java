@@ -0,0 +1,128 @@
+package com.portfolio.stocksage.inventory;
+
+import com.portfolio.stocksage.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockWriteCoalescerTest {
+
+    private static final StockKey GOOD = new StockKey(1L, 1L);
+    private static final StockKey BAD = new StockKey(2L, 1L);
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final StockUpdater stockUpdater = mock(StockUpdater.class);
+    private StockWriteCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryRepository.findQuantity(GOOD.getProductId(), GOOD.getWarehouseId())).thenReturn(Optional.of(10));
+        when(inventoryRepository.findQuantity(BAD.getProductId(), BAD.getWarehouseId())).thenReturn(Optional.of(3));
+        when(stockUpdater.add(eq(GOOD.getProductId()), eq(GOOD.getWarehouseId()), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        // Behaves like a product that was deleted after its changes were reserved
+        when(stockUpdater.add(eq(BAD.getProductId()), eq(BAD.getWarehouseId()), anyInt()))
+                .thenThrow(new DataIntegrityViolationException("inventory_product_id_fkey"));
+
+        // Without an active transaction, reservations commit straight away
+        coalescer = new StockWriteCoalescer(inventoryRepository, stockUpdater,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rejectsOversellsAndReleasesTheWholeReservation() {
+        assertThatThrownBy(() -> coalescer.reserve(Map.of(GOOD, -5, BAD, -4)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient stock for product id: 2 in warehouse id: 1");
+
+        // The removal from GOOD was released, so its whole balance is still available
+        assertThatCode(() -> coalescer.reserve(Map.of(GOOD, -10))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> coalescer.reserve(Map.of(GOOD, -1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentRemovalsNeverOversell() throws Exception {
+        int threads = 32;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        try {
+                            coalescer.reserve(Map.of(GOOD, -1));
+                            accepted.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            // Out of stock
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(accepted).hasValue(10);
+    }
+
+    @Test
+    void parksAKeyThatKeepsFailingWithoutHoldingBackOthers() {
+        coalescer.reserve(Map.of(GOOD, 1, BAD, 1));
+        for (int i = 0; i < 10; i++) {
+            coalescer.flush();
+        }
+
+        // The first chunk failed on BAD, then GOOD was written on its own
+        verify(stockUpdater).addUnitsInStock(GOOD.getProductId(), 1);
+        // One chunk attempt and one single attempt in the first flush, then one per flush until it is parked
+        verify(stockUpdater, times(6)).add(BAD.getProductId(), BAD.getWarehouseId(), 1);
+
+        // A parked key stays out of the flushes
+        coalescer.reserve(Map.of(GOOD, 2, BAD, 1));
+        coalescer.flush();
+        verify(stockUpdater).addUnitsInStock(GOOD.getProductId(), 2);
+        verify(stockUpdater, times(6)).add(eq(BAD.getProductId()), eq(BAD.getWarehouseId()), anyInt());
+
+        coalescer.reconcile();
+        coalescer.flush();
+        coalescer.flush();
+        // Reconciliation gives it one more attempt with both pending changes, after which it is parked again
+        verify(stockUpdater).add(BAD.getProductId(), BAD.getWarehouseId(), 2);
+        verify(stockUpdater, times(0)).addUnitsInStock(eq(BAD.getProductId()), anyInt());
+        verify(inventoryRepository, times(2)).findQuantityForShare(anyLong(), anyLong());
+    }
+}
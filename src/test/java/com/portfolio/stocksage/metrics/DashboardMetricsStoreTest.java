@@ -0,0 +1,103 @@
+package com.portfolio.stocksage.metrics;
+
+import com.portfolio.stocksage.entity.Product;
+import com.portfolio.stocksage.entity.Transaction;
+import com.portfolio.stocksage.entity.Transaction.TransactionStatus;
+import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import com.portfolio.stocksage.entity.Warehouse;
+import com.portfolio.stocksage.repository.InventoryRepository;
+import com.portfolio.stocksage.repository.TransactionRepository;
+import com.portfolio.stocksage.repository.projection.TransactionStatusCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardMetricsStoreTest {
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private DashboardMetricsStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionRepository.sumByDayAndTypeSince(any())).thenReturn(List.of());
+        when(transactionRepository.sumByTypeInDateRange(any(), any(), any())).thenReturn(List.of());
+        when(inventoryRepository.getWarehouseStockSummaries()).thenReturn(List.of());
+        store = new DashboardMetricsStore(transactionRepository, inventoryRepository);
+    }
+
+    @Test
+    void updateCommittedDuringRebuildIsCountedOnce() {
+        AtomicInteger reads = new AtomicInteger();
+        when(transactionRepository.countByStatus()).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == 1) {
+                // Commits while the first read runs, so the read may or may not have seen it
+                store.recordTransactionAdded(pendingTransaction());
+                return List.of(statusCount(TransactionStatus.PENDING, 1));
+            }
+            return List.of(statusCount(TransactionStatus.PENDING, 2));
+        });
+
+        store.rebuild();
+
+        assertThat(reads).hasValue(2);
+        assertThat(store.getStatusCount(TransactionStatus.PENDING)).isEqualTo(2);
+    }
+
+    @Test
+    void updateCommittedAfterRebuildIsApplied() {
+        when(transactionRepository.countByStatus()).thenReturn(List.of(statusCount(TransactionStatus.PENDING, 1)));
+        store.rebuild();
+
+        store.recordTransactionAdded(pendingTransaction());
+
+        assertThat(store.getStatusCount(TransactionStatus.PENDING)).isEqualTo(2);
+    }
+
+    @Test
+    void reconcileResetsStatusesThatNoLongerHaveRows() {
+        when(transactionRepository.countByStatus()).thenReturn(List.of(statusCount(TransactionStatus.PENDING, 3)));
+        store.rebuild();
+
+        when(transactionRepository.countByStatus()).thenReturn(List.of());
+        store.reconcile();
+
+        assertThat(store.getStatusCount(TransactionStatus.PENDING)).isZero();
+        assertThat(store.getTotalCount()).isZero();
+    }
+
+    private static Transaction pendingTransaction() {
+        return Transaction.builder()
+                .transactionDate(LocalDateTime.now())
+                .transactionType(TransactionType.SALE)
+                .status(TransactionStatus.PENDING)
+                .product(Product.builder().id(1L).build())
+                .warehouse(Warehouse.builder().id(1L).build())
+                .quantity(2)
+                .unitPrice(new BigDecimal("9.99"))
+                .build();
+    }
+
+    private static TransactionStatusCount statusCount(TransactionStatus status, long count) {
+        return new TransactionStatusCount() {
+            @Override
+            public TransactionStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTransactionCount() {
+                return count;
+            }
+        };
+    }
+}
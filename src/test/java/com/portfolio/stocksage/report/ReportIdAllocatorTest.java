@@ -0,0 +1,101 @@
+package com.portfolio.stocksage.report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportIdAllocatorTest {
+
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private ReportIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        // Behaves like report_id_seq: START 1 INCREMENT 50
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenAnswer(invocation -> {
+            fetches.incrementAndGet();
+            return sequence.getAndAdd(ReportIdAllocator.BLOCK_SIZE);
+        });
+        allocator = new ReportIdAllocator(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void handsOutABlockBeforeFetchingTheNext() {
+        for (long expected = 1; expected <= ReportIdAllocator.BLOCK_SIZE; expected++) {
+            assertThat(allocator.nextId()).isEqualTo(expected);
+        }
+        assertThat(fetches).hasValue(1);
+
+        assertThat(allocator.nextId()).isEqualTo(ReportIdAllocator.BLOCK_SIZE + 1);
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void rejectsCallersInReadOnlyTransactions() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThatThrownBy(allocator::nextId).isInstanceOf(IllegalStateException.class);
+        assertThat(fetches).hasValue(0);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIds() throws Exception {
+        int threads = 32;
+        int idsPerThread = 10_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(allocator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = threads * idsPerThread;
+        assertThat(ids).hasSize(total);
+        // A block is only ever fetched once its predecessor is used up
+        assertThat(fetches.get()).isEqualTo(total / ReportIdAllocator.BLOCK_SIZE);
+    }
+}
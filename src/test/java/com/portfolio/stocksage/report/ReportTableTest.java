@@ -0,0 +1,133 @@
+package com.portfolio.stocksage.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportTableTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 5, 14, 30, 15, 123_000_000);
+
+    private static ReportTable sampleTable() {
+        ReportTable table = emptySampleTable();
+        table.addRow(1L, "Widget", 5, new BigDecimal("19.99"), DATE);
+        table.addRow(2L, "Gadget", null, new BigDecimal("-0.5"), null);
+        table.addRow(3L, "Widget", -7, new BigDecimal("1234.5678"), DATE.plusDays(1));
+        return table;
+    }
+
+    private static ReportTable emptySampleTable() {
+        return new ReportTable(Arrays.asList(
+                ReportColumn.of("id", ReportColumnType.LONG),
+                ReportColumn.of("name", ReportColumnType.TEXT),
+                ReportColumn.of("quantity", ReportColumnType.INTEGER),
+                ReportColumn.of("price", ReportColumnType.DECIMAL),
+                ReportColumn.of("date", ReportColumnType.DATE_TIME)));
+    }
+
+    @Test
+    void readsBackWhatWasWritten() {
+        ReportTable table = sampleTable();
+
+        assertThat(table.getRowCount()).isEqualTo(3);
+        assertThat(table.getValue(0, 0)).isEqualTo(1L);
+        assertThat(table.getValue(0, 1)).isEqualTo("Widget");
+        assertThat(table.getValue(0, 2)).isEqualTo(5);
+        assertThat(table.getDecimal(0, 3)).isEqualTo(new BigDecimal("19.99"));
+        assertThat(table.getValue(0, 4)).isEqualTo(DATE);
+
+        assertThat(table.isNull(1, 2)).isTrue();
+        assertThat(table.getValue(1, 2)).isNull();
+        assertThat(table.getDecimal(1, 3)).isEqualTo(new BigDecimal("-0.5"));
+        assertThat(table.isNull(1, 4)).isTrue();
+
+        assertThat(table.getValue(2, 1)).isEqualTo("Widget");
+        assertThat(table.getLong(2, 2)).isEqualTo(-7);
+        assertThat(table.getDecimal(2, 3)).isEqualTo(new BigDecimal("1234.5678"));
+        assertThat(table.getValue(2, 4)).isEqualTo(DATE.plusDays(1));
+        assertThat(table.getColumnTypes()).isEqualTo(emptySampleTable().getColumnTypes());
+    }
+
+    @Test
+    void roundTripsThroughMapRows() {
+        ReportTable table = sampleTable();
+        List<Map<String, Object>> rows = table.asRows();
+
+        assertThat(rows.get(0)).containsEntry("name", "Widget").containsEntry("quantity", 5);
+        assertThat(rows.get(1)).containsEntry("quantity", null);
+
+        ReportTable copy = ReportTable.fromRows(rows, table.getColumnTypes());
+
+        assertThat(copy.getColumnTypes()).isEqualTo(table.getColumnTypes());
+        assertThat(copy.asRows()).isEqualTo(rows);
+    }
+
+    @Test
+    void restoresTypesLostInAJsonRoundTrip() {
+        // What a JSON parser hands back for the first sample row
+        Map<String, Object> parsed = new HashMap<>();
+        parsed.put("id", 1);
+        parsed.put("name", "Widget");
+        parsed.put("quantity", 5L);
+        parsed.put("price", 19.99);
+        parsed.put("date", DATE.toString());
+
+        ReportTable table = ReportTable.fromRows(List.of(parsed), sampleTable().getColumnTypes());
+
+        assertThat(table.asRows()).containsExactly(sampleTable().asRows().get(0));
+    }
+
+    @Test
+    void promotesAColumnToObjectWhenAValueDoesNotFit() {
+        ReportTable table = new ReportTable(List.of(ReportColumn.of("value", ReportColumnType.INTEGER)));
+        table.addRow(1);
+        table.addRow((Object) null);
+        table.addRow("n/a");
+        table.addRow(4);
+
+        assertThat(table.getColumns().get(0).getType()).isEqualTo(ReportColumnType.OBJECT);
+        assertThat(table.asRows()).extracting(row -> row.get("value")).containsExactly(1, null, "n/a", 4);
+        assertThat(table.isNull(1, 0)).isTrue();
+    }
+
+    @Test
+    void promotesADecimalColumnWhoseUnscaledValueOverflows() {
+        ReportTable table = sampleTable();
+        table.addRow(4L, "Gizmo", 1, new BigDecimal("12345678901234567890.12"), DATE);
+
+        assertThat(table.getColumns().get(3).getType()).isEqualTo(ReportColumnType.OBJECT);
+        assertThat(table.getDecimal(0, 3)).isEqualTo(new BigDecimal("19.99"));
+        assertThat(table.getDecimal(3, 3)).isEqualTo(new BigDecimal("12345678901234567890.12"));
+    }
+
+    @Test
+    void promotesAnIntegerColumnThatOverflows() {
+        ReportTable table = new ReportTable(List.of(ReportColumn.of("value", ReportColumnType.INTEGER)));
+        table.addRow(1);
+        table.rowWriter().set(0, Long.MAX_VALUE).commit();
+
+        assertThat(table.getColumns().get(0).getType()).isEqualTo(ReportColumnType.OBJECT);
+        assertThat(table.getValue(0, 0)).isEqualTo(1);
+        assertThat(table.getValue(1, 0)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void storesUnsetCellsAsNull() {
+        ReportTable table = new ReportTable(List.of(
+                ReportColumn.of("a", ReportColumnType.TEXT),
+                ReportColumn.of("b", ReportColumnType.LONG)));
+        table.rowWriter().set(1, 7L).commit();
+        table.rowWriter().set(0, "x").commit();
+
+        assertThat(table.isNull(0, 0)).isTrue();
+        assertThat(table.getLong(0, 1)).isEqualTo(7);
+        assertThat(table.isNull(1, 1)).isTrue();
+    }
+}
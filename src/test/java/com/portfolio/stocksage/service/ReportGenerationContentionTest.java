@@ -0,0 +1,97 @@
+package com.portfolio.stocksage.service;
+
+import com.portfolio.stocksage.dto.response.ReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark: 32 threads generate reports at once against a connection pool of the default size.
+ * <p>
+ * Checks that every report gets a distinct ID and that no report waits on the pool until it times out, which
+ * is what happened while report ID blocks were refilled on a second connection. Throughput is logged. Needs a
+ * PostgreSQL database with the Flyway migrations applied, see {@code StockUpdaterConcurrencyTest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=${STOCKSAGE_TEST_DB_URL}",
+        "spring.datasource.username=${STOCKSAGE_TEST_DB_USERNAME:postgres}",
+        "spring.datasource.password=${STOCKSAGE_TEST_DB_PASSWORD:}",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "spring.datasource.hikari.connection-timeout=10000"
+})
+@EnabledIfEnvironmentVariable(named = "STOCKSAGE_TEST_DB_URL", matches = ".+")
+@Slf4j
+class ReportGenerationContentionTest {
+
+    private static final int THREADS = 32;
+    private static final int REPORTS_PER_THREAD = 20;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Test
+    void concurrentReportsGetDistinctIdsWithoutExhaustingThePool() throws Exception {
+        LocalDateTime endDate = LocalDateTime.now();
+        LocalDateTime startDate = endDate.minusDays(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        long started;
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int variant = thread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REPORTS_PER_THREAD; i++) {
+                        // Mix the read-only generators with the segmented performance report
+                        ReportDTO report;
+                        switch ((variant + i) % 3) {
+                            case 0:
+                                report = reportService.generateSalesReport(startDate, endDate, "day", null, null);
+                                break;
+                            case 1:
+                                report = reportService.generateInventoryReport(null, null, false);
+                                break;
+                            default:
+                                report = reportService.generateProductPerformanceReport(startDate, endDate, null, 10);
+                        }
+                        ids.add(report.getId());
+                    }
+                    return null;
+                }));
+            }
+
+            started = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        int total = THREADS * REPORTS_PER_THREAD;
+        log.info("Generated {} reports on {} threads in {} ms ({} reports/s)",
+                total, THREADS, elapsedMs, elapsedMs > 0 ? total * 1000L / elapsedMs : total);
+
+        assertThat(ids).hasSize(total);
+    }
+}
@@ -0,0 +1,72 @@
+package com.portfolio.stocksage.transaction;
+
+import com.portfolio.stocksage.entity.Transaction.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionNumberGeneratorTest {
+
+    // One sequence per name, like transaction_number_<prefix>_seq: START 1 INCREMENT 100
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private TransactionNumberGenerator generator;
+    private String today;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenAnswer(invocation ->
+                sequences.computeIfAbsent(invocation.<String>getArgument(0), sql -> new AtomicLong(1))
+                        .getAndAdd(TransactionNumberGenerator.BLOCK_SIZE));
+        generator = new TransactionNumberGenerator(jdbcTemplate);
+        today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
+    }
+
+    @Test
+    void formatsPrefixDateAndSixDigitCounter() {
+        assertThat(generator.next(TransactionType.SALE)).isEqualTo("SO-" + today + "-000001");
+        assertThat(generator.next(TransactionType.SALE)).isEqualTo("SO-" + today + "-000002");
+        assertThat(generator.next(TransactionType.PURCHASE)).isEqualTo("PO-" + today + "-000001");
+        assertThat(generator.next(TransactionType.ADJUSTMENT)).isEqualTo("ADJ-" + today + "-000001");
+        assertThat(generator.next(TransactionType.TRANSFER)).isEqualTo("TRF-" + today + "-000001");
+    }
+
+    @Test
+    void continuesWithTheNextBlockWhenOneIsUsedUp() {
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < TransactionNumberGenerator.BLOCK_SIZE + 1; i++) {
+            numbers.add(generator.next(TransactionType.SALE));
+        }
+
+        assertThat(numbers.get(TransactionNumberGenerator.BLOCK_SIZE - 1)).isEqualTo("SO-" + today + "-000100");
+        assertThat(numbers.get(TransactionNumberGenerator.BLOCK_SIZE)).isEqualTo("SO-" + today + "-000101");
+        assertThat(sequences).hasSize(1);
+    }
+
+    @Test
+    void widensTheCounterPastSixDigits() {
+        assertThat(generator.next(TransactionType.SALE)).endsWith("-000001");
+
+        // The next block starts past six digits
+        sequences.put("SELECT nextval('transaction_number_so_seq')", new AtomicLong(1_234_567));
+        for (int i = 1; i < TransactionNumberGenerator.BLOCK_SIZE; i++) {
+            generator.next(TransactionType.SALE);
+        }
+
+        assertThat(generator.next(TransactionType.SALE)).isEqualTo("SO-" + today + "-1234567");
+    }
+}
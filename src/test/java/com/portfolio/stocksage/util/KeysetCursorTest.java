@@ -0,0 +1,54 @@
+package com.portfolio.stocksage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 5, 14, 30, 15, 123_456_789), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsDatesWithoutSecondsAndLargeIds() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(KeysetCursor.decode(KeysetCursor.START.encode())).isEqualTo(KeysetCursor.START);
+    }
+
+    @Test
+    void startsAtTheFirstPageWithoutAToken() {
+        assertThat(KeysetCursor.decode(null)).isSameAs(KeysetCursor.START);
+        assertThat(KeysetCursor.decode("")).isSameAs(KeysetCursor.START);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: not base64!");
+        assertThatThrownBy(() -> KeysetCursor.decode(token("2024-03-05T14:30")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("yesterday|42")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("2024-03-05T14:30|forty-two")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String token(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
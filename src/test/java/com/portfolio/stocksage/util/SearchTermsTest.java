@@ -0,0 +1,48 @@
+package com.portfolio.stocksage.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTermsTest {
+
+    @Test
+    void turnsWordsIntoAPrefixTextQuery() {
+        SearchTerms terms = SearchTerms.of("  Blue Widget ");
+
+        assertThat(terms.getTextQuery()).isEqualTo("blue:* & widget:*");
+        assertThat(terms.getContainsPattern()).isEqualTo("%Blue Widget%");
+        assertThat(terms.getPrefixPattern()).isEqualTo("Blue Widget%");
+    }
+
+    @Test
+    void keepsOnlyLettersAndDigitsInTheTextQuery() {
+        assertThat(SearchTerms.of("SO-240305-000042").getTextQuery()).isEqualTo("so:* & 240305:* & 000042:*");
+        assertThat(SearchTerms.of("-blue").getTextQuery()).isEqualTo("blue:*");
+        assertThat(SearchTerms.of("it's & (red) | !green:*").getTextQuery())
+                .isEqualTo("it:* & s:* & red:* & green:*");
+        assertThat(SearchTerms.of("Crème brûlée").getTextQuery()).isEqualTo("crème:* & brûlée:*");
+    }
+
+    @Test
+    void limitsTheNumberOfWords() {
+        assertThat(SearchTerms.of("a b c d e f g h i j").getTextQuery())
+                .isEqualTo("a:* & b:* & c:* & d:* & e:* & f:* & g:* & h:*");
+    }
+
+    @Test
+    void leavesTheTextQueryEmptyWithoutWords() {
+        assertThat(SearchTerms.of("!!").getTextQuery()).isEmpty();
+        assertThat(SearchTerms.of("   ").getTextQuery()).isEmpty();
+        assertThat(SearchTerms.of(null).getTextQuery()).isEmpty();
+        assertThat(SearchTerms.of(null).getContainsPattern()).isEqualTo("%%");
+    }
+
+    @Test
+    void escapesLikeWildcards() {
+        SearchTerms terms = SearchTerms.of("100%_off\\");
+
+        assertThat(terms.getContainsPattern()).isEqualTo("%100\\%\\_off\\\\%");
+        assertThat(terms.getPrefixPattern()).isEqualTo("100\\%\\_off\\\\%");
+    }
+}